@@ -0,0 +1,87 @@
+package com.sistema.examenes;
+
+import com.sistema.examenes.admision.AdmisionConfig;
+import com.sistema.examenes.perfilado.PerfiladoSqlConfig;
+import com.sistema.examenes.sharding.ShardingConfig;
+import org.springframework.aot.AotDetector;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodIntrospector;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuración para el arranque con inicialización perezosa de beans.
+ *
+ * Con {@code spring.main.lazy-initialization=true} (perfil {@code produccion}) los beans se crean
+ * en su primer uso, lo que saca de la ruta de arranque a los controladores y servicios. Las tareas
+ * {@link Scheduled} solo se registran cuando su bean existe, así que esos beans se excluyen de la
+ * inicialización perezosa: de lo contrario el relay del outbox y las instantáneas de estadísticas no
+ * correrían hasta que alguna solicitud los necesitara.
+ *
+ * Con Spring AOT ({@code -Dspring.aot.enabled=true}) las condiciones {@code @ConditionalOnProperty}
+ * se evalúan al empaquetar con {@code mvn package -Pproduccion}, con las propiedades del perfil
+ * {@code produccion} en ese momento: {@code sistema.sharding.habilitado},
+ * {@code sistema.admision.habilitado} y {@code sistema.perfilado-sql.habilitado} quedan fijas en el
+ * artefacto y cambiarlas al ejecutar no agrega ni quita su configuración. Para no arrancar con una
+ * configuración distinta de la pedida, el arranque falla si alguna difiere de lo empaquetado.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+@Configuration
+public class ArranqueRapidoConfig {
+
+    /**
+     * Excluye de la inicialización perezosa los beans con métodos {@link Scheduled}.
+     *
+     * @return El filtro de exclusión.
+     */
+    @Bean
+    public static LazyInitializationExcludeFilter tareasProgramadasSinInicializacionPerezosa() {
+        return (beanName, beanDefinition, beanType) -> beanType != null
+                && !MethodIntrospector.selectMethods(beanType, (MethodIntrospector.MetadataLookup<Scheduled>) metodo ->
+                        AnnotatedElementUtils.findMergedAnnotation(metodo, Scheduled.class)).isEmpty();
+    }
+
+    /**
+     * Con los artefactos de Spring AOT, verifica que las propiedades que activan configuraciones
+     * condicionales tengan el valor con el que se empaquetó la aplicación.
+     *
+     * @param entorno Las propiedades con las que se ejecuta la aplicación.
+     * @param contexto El contexto, cuyas configuraciones reflejan lo empaquetado.
+     * @return La verificación, que se ejecuta al terminar el arranque.
+     */
+    @Bean
+    public ApplicationRunner verificarCondicionesEmpaquetadas(Environment entorno, ApplicationContext contexto) {
+        return argumentos -> {
+            if (!AotDetector.useGeneratedArtifacts()) {
+                return;
+            }
+            Map<String, Class<?>> condiciones = Map.of(
+                    "sistema.sharding.habilitado", ShardingConfig.class,
+                    "sistema.admision.habilitado", AdmisionConfig.class,
+                    "sistema.perfilado-sql.habilitado", PerfiladoSqlConfig.class);
+            List<String> diferentes = new ArrayList<>();
+            condiciones.forEach((propiedad, configuracion) -> {
+                boolean pedida = entorno.getProperty(propiedad, Boolean.class, false);
+                boolean empaquetada = contexto.getBeanNamesForType(configuracion).length > 0;
+                if (pedida != empaquetada) {
+                    diferentes.add(propiedad + "=" + pedida + " (empaquetada con " + empaquetada + ")");
+                }
+            });
+            if (!diferentes.isEmpty()) {
+                throw new IllegalStateException("Con Spring AOT estas propiedades se fijan al empaquetar: " + diferentes
+                        + ". Vuelva a empaquetar con mvn package -Pproduccion o ejecute sin -Dspring.aot.enabled.");
+            }
+        };
+    }
+}
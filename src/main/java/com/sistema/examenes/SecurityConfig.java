@@ -1,18 +1,26 @@
 package com.sistema.examenes;
 
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.authorization.AuthorizationDecision;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.web.SecurityFilterChain;
 
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.List;
+
 /**
  * Configuración de seguridad para la aplicación.
  *
  * Esta clase configura la seguridad de la aplicación usando Spring Security,
  * permitiendo todas las solicitudes sin autenticación y deshabilitando CSRF.
  * Esto es común en aplicaciones REST donde no se requiere autenticación para
- * acceder a las rutas y no se utiliza protección CSRF.
+ * acceder a las rutas y no se utiliza protección CSRF. La única excepción son los
+ * endpoints de perfilado SQL, que solo se atienden desde la propia máquina.
  *
  * @author Jairo Bastidas
  * @since 17/03/2025
@@ -21,6 +29,14 @@ import org.springframework.security.web.SecurityFilterChain;
 @EnableWebSecurity
 public class SecurityConfig {
 
+    /**
+     * Cabeceras que agregan los proxies al reenviar una solicitud.
+     */
+    private static final List<String> CABECERAS_REENVIO = List.of("Forwarded", "X-Forwarded-For", "X-Real-IP");
+
+    @Value("${sistema.perfilado-sql.habilitado:false}")
+    private boolean perfiladoHabilitado;
+
     /**
      * Configuración del filtro de seguridad.
      *
@@ -29,6 +45,13 @@ public class SecurityConfig {
      * que no utilizan sesiones ni cookies, y donde las solicitudes suelen ser enviadas
      * desde clientes (como aplicaciones frontend o herramientas como Postman).
      *
+     * Los endpoints {@code /perfilado/**} exponen sentencias SQL y tiempos de la aplicación. Solo
+     * se atienden con {@code sistema.perfilado-sql.habilitado=true}, desde una dirección de
+     * loopback y sin cabeceras de reenvío ({@code Forwarded}, {@code X-Forwarded-For},
+     * {@code X-Real-IP}). La dirección remota no distingue a un cliente local de un proxy inverso
+     * o sidecar en la misma máquina: un proxy que reenvíe {@code /perfilado/**} sin agregar esas
+     * cabeceras expone el perfilado a sus clientes, así que no debe enrutar esa ruta.
+     *
      * @param http Configuración de seguridad de Spring Security.
      * @return SecurityFilterChain configurado.
      * @throws Exception Si ocurre algún error en la configuración.
@@ -41,12 +64,35 @@ public class SecurityConfig {
 
                 // Configura el acceso a las rutas de la aplicación
                 .authorizeHttpRequests(authorizeRequests ->
-                        // Permite todas las solicitudes sin necesidad de autenticación
                         authorizeRequests
+                                // El perfilado SQL solo se consulta, si está habilitado, desde la propia máquina
+                                .requestMatchers("/perfilado/**").access((autenticacion, contexto) ->
+                                        new AuthorizationDecision(perfiladoHabilitado && esLocalSinProxy(contexto.getRequest())))
+                                // Permite todas las demás solicitudes sin necesidad de autenticación
                                 .anyRequest().permitAll()
                 );
 
         return http.build();
     }
-}
 
+    /**
+     * Indica si la solicitud llega directamente desde una dirección de loopback, sin pasar por un
+     * proxy que agregue cabeceras de reenvío.
+     *
+     * @param request La solicitud.
+     * @return {@code true} si la dirección remota es de loopback y no hay cabeceras de reenvío.
+     */
+    private static boolean esLocalSinProxy(HttpServletRequest request) {
+        for (String cabecera : CABECERAS_REENVIO) {
+            if (request.getHeader(cabecera) != null) {
+                return false;
+            }
+        }
+        try {
+            // La dirección remota es una IP literal, así que no se resuelve por DNS
+            return InetAddress.getByName(request.getRemoteAddr()).isLoopbackAddress();
+        } catch (UnknownHostException e) {
+            return false;
+        }
+    }
+}
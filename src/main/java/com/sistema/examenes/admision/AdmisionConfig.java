@@ -0,0 +1,52 @@
+package com.sistema.examenes.admision;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+
+/**
+ * Configuración del control de admisión de {@code /usuarios}.
+ *
+ * Con {@code sistema.admision.habilitado=true} registra {@link FiltroAdmision} como primer filtro
+ * de la cadena, de modo que una solicitud rechazada no pasa por seguridad ni por el perfilado.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+@Configuration
+@EnableConfigurationProperties(PropiedadesAdmision.class)
+@ConditionalOnProperty(prefix = "sistema.admision", name = "habilitado", havingValue = "true")
+public class AdmisionConfig {
+
+    /**
+     * @param propiedades Las propiedades {@code sistema.admision.*}.
+     * @param entorno Las propiedades de la aplicación, para el tamaño del pool de conexiones.
+     * @return El control de admisión con un límite por clase de solicitud.
+     */
+    @Bean
+    public ControlAdmision controlAdmision(PropiedadesAdmision propiedades, Environment entorno) {
+        if (propiedades.getConexiones() == null) {
+            propiedades.setConexiones(entorno.getProperty("spring.datasource.hikari.maximum-pool-size",
+                    Integer.class, PropiedadesAdmision.CONEXIONES_POR_DEFECTO));
+        }
+        return new ControlAdmision(propiedades);
+    }
+
+    /**
+     * @param controlAdmision El control de admisión.
+     * @param propiedades Las propiedades {@code sistema.admision.*}.
+     * @return El filtro, aplicado solo a {@code /usuarios}.
+     */
+    @Bean
+    public FilterRegistrationBean<FiltroAdmision> filtroAdmision(ControlAdmision controlAdmision, PropiedadesAdmision propiedades) {
+        FilterRegistrationBean<FiltroAdmision> registro =
+                new FilterRegistrationBean<>(new FiltroAdmision(controlAdmision, propiedades.getRetryAfterSegundos()));
+        registro.addUrlPatterns("/usuarios/*");
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registro;
+    }
+}
@@ -0,0 +1,36 @@
+package com.sistema.examenes.admision;
+
+/**
+ * Clases de solicitudes a {@code /usuarios}, cada una con su propio límite de concurrencia.
+ *
+ * Las lecturas tienen prioridad: cuando su límite está casi lleno, las demás clases se reducen a su
+ * concurrencia mínima garantizada.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+public enum ClaseSolicitud {
+
+    /** {@code GET /usuarios/{username}}. */
+    LECTURA,
+
+    /** {@code POST /usuarios/}. */
+    REGISTRO,
+
+    /** {@code DELETE}, {@code PUT} y {@code PATCH} sobre {@code /usuarios/{username}}. */
+    MODIFICACION;
+
+    /**
+     * @param metodo El método HTTP.
+     * @return La clase de la solicitud, o {@code null} si el método no se controla (por ejemplo
+     *         {@code OPTIONS}).
+     */
+    public static ClaseSolicitud de(String metodo) {
+        return switch (metodo) {
+            case "GET" -> LECTURA;
+            case "POST" -> REGISTRO;
+            case "DELETE", "PUT", "PATCH" -> MODIFICACION;
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,63 @@
+package com.sistema.examenes.admision;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Decide si se admite una solicitud según el límite adaptativo de su clase.
+ *
+ * Cada {@link ClaseSolicitud} tiene su propio {@link LimiteAdaptativo}, así que las clases no
+ * comparten estado mutable. Las lecturas solo dependen de su límite; los registros y las
+ * modificaciones, mientras las lecturas usan al menos {@code umbralPrioridad} de su límite, quedan
+ * reducidos a la concurrencia garantizada. Los límites no configurados se reparten las conexiones
+ * del pool.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+public class ControlAdmision {
+
+    private final Map<ClaseSolicitud, LimiteAdaptativo> limites = new EnumMap<>(ClaseSolicitud.class);
+    private final LimiteAdaptativo lecturas;
+    private final double umbralPrioridad;
+    private final int concurrenciaGarantizada;
+
+    public ControlAdmision(PropiedadesAdmision propiedades) {
+        // Repartir las conexiones: una quinta parte a cada clase de escritura y el resto a las lecturas
+        int conexiones = propiedades.getConexiones() != null
+                ? propiedades.getConexiones() : PropiedadesAdmision.CONEXIONES_POR_DEFECTO;
+        int escrituras = Math.max(1, conexiones / 5);
+        int lecturas = Math.max(1, conexiones - 2 * escrituras);
+
+        limites.put(ClaseSolicitud.LECTURA, propiedades.getLectura().crear(lecturas));
+        limites.put(ClaseSolicitud.REGISTRO, propiedades.getRegistro().crear(escrituras));
+        limites.put(ClaseSolicitud.MODIFICACION, propiedades.getModificacion().crear(escrituras));
+        this.lecturas = limites.get(ClaseSolicitud.LECTURA);
+        this.umbralPrioridad = propiedades.getUmbralPrioridad();
+        this.concurrenciaGarantizada = propiedades.getConcurrenciaGarantizada();
+    }
+
+    /**
+     * Intenta admitir una solicitud.
+     *
+     * @param clase La clase de la solicitud.
+     * @return El límite que la admitió, al que debe liberarse al terminar, o {@code null} si se
+     *         rechaza.
+     */
+    public LimiteAdaptativo adquirir(ClaseSolicitud clase) {
+        LimiteAdaptativo limite = limites.get(clase);
+        int limiteEfectivo = limite.getLimite();
+        if (clase != ClaseSolicitud.LECTURA && lecturas.getUtilizacion() >= umbralPrioridad) {
+            limiteEfectivo = Math.min(limiteEfectivo, concurrenciaGarantizada);
+        }
+        return limite.intentarAdquirir(limiteEfectivo) ? limite : null;
+    }
+
+    /**
+     * @param clase La clase de solicitudes.
+     * @return Su límite adaptativo, para consultar el estado.
+     */
+    public LimiteAdaptativo getLimite(ClaseSolicitud clase) {
+        return limites.get(clase);
+    }
+}
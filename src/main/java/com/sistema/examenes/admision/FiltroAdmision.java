@@ -0,0 +1,65 @@
+package com.sistema.examenes.admision;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Filtro de control de admisión para {@code /usuarios}.
+ *
+ * Antes de llegar al controlador, la solicitud debe obtener un lugar en el límite de su clase. Si no
+ * lo obtiene, responde de inmediato 503 (Service Unavailable) con {@code Retry-After}, en lugar de
+ * esperar en la cola del pool de conexiones. Al terminar, la latencia y el código de estado
+ * ajustan el límite.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+public class FiltroAdmision extends OncePerRequestFilter {
+
+    private final ControlAdmision controlAdmision;
+    private final String retryAfter;
+
+    public FiltroAdmision(ControlAdmision controlAdmision, int retryAfterSegundos) {
+        this.controlAdmision = controlAdmision;
+        this.retryAfter = Integer.toString(retryAfterSegundos);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        ClaseSolicitud clase = ClaseSolicitud.de(request.getMethod());
+        if (clase == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        LimiteAdaptativo limite = controlAdmision.adquirir(clase);
+        if (limite == null) {
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfter);
+            // El filtro se ejecuta antes de CharacterEncodingFilter: la codificación se indica aquí
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"error\":\"Servicio saturado, intente de nuevo más tarde\"}");
+            return;
+        }
+
+        long inicio = System.nanoTime();
+        boolean error = true;
+        try {
+            filterChain.doFilter(request, response);
+            error = response.getStatus() >= 500;
+        } finally {
+            limite.liberar(System.nanoTime() - inicio, error);
+        }
+    }
+}
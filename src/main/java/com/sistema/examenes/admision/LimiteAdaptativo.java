@@ -0,0 +1,138 @@
+package com.sistema.examenes.admision;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.DoubleUnaryOperator;
+
+/**
+ * Límite de concurrencia que se ajusta según la latencia observada (AIMD).
+ *
+ * Cada solicitud que termina por debajo de la latencia objetivo, con el límite en uso, lo aumenta
+ * en {@code 1 / limite}, es decir, en aproximadamente una unidad por cada ronda completa de
+ * solicitudes. Una solicitud más lenta que el objetivo, o que terminó con error del servidor, lo
+ * multiplica por {@value #FACTOR_REDUCCION}, como mucho una vez por intervalo de latencia objetivo
+ * para que una ráfaga de respuestas lentas no lo desplome de golpe.
+ *
+ * No usa bloqueos: las solicitudes en curso son un {@link AtomicInteger} que se reserva con CAS y
+ * el límite es un {@code double} guardado en un {@link AtomicLong}.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+public class LimiteAdaptativo {
+
+    static final double FACTOR_REDUCCION = 0.9;
+
+    private final int limiteMinimo;
+    private final int limiteMaximo;
+    private final long latenciaObjetivoNanos;
+
+    private final AtomicInteger enVuelo = new AtomicInteger();
+    private final AtomicLong limite;
+    private final AtomicLong ultimaReduccion;
+    private final LongAdder admitidas = new LongAdder();
+    private final LongAdder rechazadas = new LongAdder();
+
+    /**
+     * @param limiteInicial El límite al arrancar.
+     * @param limiteMinimo El límite nunca baja de este valor.
+     * @param limiteMaximo El límite nunca sube de este valor.
+     * @param latenciaObjetivoNanos La latencia a partir de la cual se reduce el límite.
+     */
+    public LimiteAdaptativo(int limiteInicial, int limiteMinimo, int limiteMaximo, long latenciaObjetivoNanos) {
+        if (limiteMinimo < 1 || limiteMaximo < limiteMinimo) {
+            throw new IllegalArgumentException("Se requiere 1 <= limiteMinimo <= limiteMaximo");
+        }
+        this.limiteMinimo = limiteMinimo;
+        this.limiteMaximo = limiteMaximo;
+        this.latenciaObjetivoNanos = latenciaObjetivoNanos;
+        this.limite = new AtomicLong(Double.doubleToLongBits(Math.max(limiteMinimo, Math.min(limiteMaximo, limiteInicial))));
+        this.ultimaReduccion = new AtomicLong(System.nanoTime() - latenciaObjetivoNanos);
+    }
+
+    /**
+     * Reserva un lugar si hay menos solicitudes en curso que el límite indicado.
+     *
+     * @param limiteEfectivo El límite a aplicar, normalmente {@link #getLimite()}.
+     * @return {@code true} si la solicitud fue admitida; en ese caso debe llamarse a
+     *         {@link #liberar(long, boolean)} al terminar.
+     */
+    public boolean intentarAdquirir(int limiteEfectivo) {
+        while (true) {
+            int actual = enVuelo.get();
+            if (actual >= limiteEfectivo) {
+                rechazadas.increment();
+                return false;
+            }
+            if (enVuelo.compareAndSet(actual, actual + 1)) {
+                admitidas.increment();
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Libera el lugar de una solicitud admitida y ajusta el límite con su resultado.
+     *
+     * @param latenciaNanos La latencia de la solicitud.
+     * @param error Si la solicitud terminó con un error del servidor.
+     */
+    public void liberar(long latenciaNanos, boolean error) {
+        int enVueloAntes = enVuelo.getAndDecrement();
+        if (error || latenciaNanos > latenciaObjetivoNanos) {
+            reducir();
+        } else if (enVueloAntes * 2 >= getLimite()) {
+            // Solo crece si el límite se está usando; un servicio ocioso no acumula margen
+            ajustar(actual -> actual + 1 / actual);
+        }
+    }
+
+    private void reducir() {
+        long ahora = System.nanoTime();
+        long ultima = ultimaReduccion.get();
+        if (ahora - ultima < latenciaObjetivoNanos || !ultimaReduccion.compareAndSet(ultima, ahora)) {
+            return;
+        }
+        ajustar(actual -> actual * FACTOR_REDUCCION);
+    }
+
+    private void ajustar(DoubleUnaryOperator funcion) {
+        while (true) {
+            long bits = limite.get();
+            double nuevo = Math.max(limiteMinimo, Math.min(limiteMaximo, funcion.applyAsDouble(Double.longBitsToDouble(bits))));
+            if (limite.compareAndSet(bits, Double.doubleToLongBits(nuevo))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return El límite actual de solicitudes concurrentes.
+     */
+    public int getLimite() {
+        return (int) Double.longBitsToDouble(limite.get());
+    }
+
+    /**
+     * @return La cantidad de solicitudes en curso.
+     */
+    public int getEnVuelo() {
+        return enVuelo.get();
+    }
+
+    /**
+     * @return La fracción del límite en uso, entre 0 y 1 (o más si el límite acaba de reducirse).
+     */
+    public double getUtilizacion() {
+        return (double) enVuelo.get() / getLimite();
+    }
+
+    public long getAdmitidas() {
+        return admitidas.sum();
+    }
+
+    public long getRechazadas() {
+        return rechazadas.sum();
+    }
+}
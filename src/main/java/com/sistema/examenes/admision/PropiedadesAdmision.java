@@ -0,0 +1,99 @@
+package com.sistema.examenes.admision;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Propiedades {@code sistema.admision.*} del control de admisión de {@code /usuarios}.
+ *
+ * Ejemplo:
+ * <pre>
+ * sistema.admision.habilitado=true
+ * sistema.admision.lectura.latencia-objetivo-ms=50
+ * sistema.admision.registro.limite-maximo=32
+ * </pre>
+ *
+ * Los límites que no se configuran se derivan de las conexiones del pool: registros y
+ * modificaciones reciben cada uno una quinta parte y las lecturas el resto, de modo que la suma de
+ * los límites máximos no supera el pool y una solicitud admitida no queda esperando una conexión.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+@Data
+@ConfigurationProperties(prefix = "sistema.admision")
+public class PropiedadesAdmision {
+
+    /**
+     * Tamaño por defecto del pool de Hikari.
+     */
+    public static final int CONEXIONES_POR_DEFECTO = 10;
+
+    /**
+     * Si el control de admisión está habilitado.
+     */
+    private boolean habilitado = false;
+
+    /**
+     * Valor de la cabecera {@code Retry-After} de las respuestas 503.
+     */
+    private int retryAfterSegundos = 1;
+
+    /**
+     * Utilización del límite de lecturas a partir de la cual las demás clases se reducen a
+     * {@link #concurrenciaGarantizada}.
+     */
+    private double umbralPrioridad = 0.8;
+
+    /**
+     * Solicitudes concurrentes que registros y modificaciones conservan aunque las lecturas tengan
+     * prioridad, para que no queden bloqueadas por completo.
+     */
+    private int concurrenciaGarantizada = 1;
+
+    /**
+     * Conexiones de base de datos que se reparten entre los límites no configurados. Si no se
+     * indica, se usa {@code spring.datasource.hikari.maximum-pool-size}.
+     */
+    private Integer conexiones;
+
+    private Limite lectura = new Limite(null, null, null, 50);
+    private Limite registro = new Limite(null, null, null, 200);
+    private Limite modificacion = new Limite(null, null, null, 200);
+
+    /**
+     * Parámetros del límite adaptativo de una clase de solicitudes.
+     */
+    @Data
+    public static class Limite {
+
+        private Integer limiteInicial;
+        private Integer limiteMinimo;
+        private Integer limiteMaximo;
+        private long latenciaObjetivoMs;
+
+        public Limite() {
+        }
+
+        public Limite(Integer limiteInicial, Integer limiteMinimo, Integer limiteMaximo, long latenciaObjetivoMs) {
+            this.limiteInicial = limiteInicial;
+            this.limiteMinimo = limiteMinimo;
+            this.limiteMaximo = limiteMaximo;
+            this.latenciaObjetivoMs = latenciaObjetivoMs;
+        }
+
+        /**
+         * Crea el límite adaptativo. Sin valores explícitos, el límite máximo es el indicado, el
+         * inicial es igual al máximo y el mínimo es la cuarta parte del máximo.
+         *
+         * @param maximoPorDefecto El límite máximo si no se configuró.
+         * @return El límite adaptativo.
+         */
+        LimiteAdaptativo crear(int maximoPorDefecto) {
+            int maximo = limiteMaximo != null ? limiteMaximo : maximoPorDefecto;
+            int minimo = limiteMinimo != null ? limiteMinimo : Math.max(1, maximo / 4);
+            int inicial = limiteInicial != null ? limiteInicial : maximo;
+            return new LimiteAdaptativo(inicial, minimo, maximo, latenciaObjetivoMs * 1_000_000);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.sistema.examenes.auditoria;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Buffer circular acotado de eventos de auditoría, con muchos productores y un único consumidor.
+ *
+ * Los hilos de las solicitudes reservan una posición con un CAS sobre {@link #cursor}, copian los
+ * campos del evento a arreglos preasignados y publican la posición escribiendo su número de
+ * secuencia en {@link #secuencias}; no toman bloqueos ni hacen E/S. El hilo escritor lee las
+ * posiciones en orden y las devuelve al productor sumándoles la capacidad. Si el anillo está lleno,
+ * porque el disco no da abasto, el productor espera a que se libere una posición durante un tiempo
+ * acotado; si sigue lleno, descarta el evento y lo cuenta en {@link #getDescartados()}. Mientras el
+ * consumidor está detenido ({@link #setConsumidorDetenido(boolean)}), porque el disco falla o el
+ * escritor terminó, el productor descarta sin esperar, de modo que una falla del disco no detiene
+ * las solicitudes.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+class AnilloAuditoria {
+
+    /**
+     * Recibe los eventos que drena el consumidor.
+     */
+    @FunctionalInterface
+    interface Consumidor {
+
+        void aceptar(long marcaTiempoMs, OperacionAuditoria operacion, boolean exito, String username);
+    }
+
+    private final int mascara;
+    private final AtomicLongArray secuencias;
+    private final long[] marcasTiempo;
+    private final OperacionAuditoria[] operaciones;
+    private final boolean[] exitos;
+    private final String[] usernames;
+
+    private final AtomicLong cursor = new AtomicLong();
+    private final LongAdder esperasPorLleno = new LongAdder();
+    private final LongAdder descartados = new LongAdder();
+
+    /**
+     * Solo lo modifica el consumidor; es volátil para que otros hilos puedan consultar el avance.
+     */
+    private volatile long leido;
+
+    /**
+     * Si es {@code true}, el consumidor no está liberando posiciones y los productores no esperan.
+     */
+    private volatile boolean consumidorDetenido;
+
+    /**
+     * @param capacidad La cantidad de posiciones; se redondea a la siguiente potencia de dos.
+     */
+    AnilloAuditoria(int capacidad) {
+        int tamano = Integer.highestOneBit(Math.max(2, capacidad - 1)) << 1;
+        this.mascara = tamano - 1;
+        this.secuencias = new AtomicLongArray(tamano);
+        this.marcasTiempo = new long[tamano];
+        this.operaciones = new OperacionAuditoria[tamano];
+        this.exitos = new boolean[tamano];
+        this.usernames = new String[tamano];
+        for (int i = 0; i < tamano; i++) {
+            secuencias.set(i, i);
+        }
+    }
+
+    /**
+     * Publica un evento. Solo espera si el anillo está lleno y el consumidor no está detenido, y
+     * como máximo el tiempo indicado.
+     *
+     * @param esperaMaximaNanos El tiempo máximo de espera con el anillo lleno.
+     * @return {@code true} si el evento se publicó; {@code false} si se descartó porque el anillo
+     *         siguió lleno.
+     */
+    boolean publicar(long marcaTiempoMs, OperacionAuditoria operacion, boolean exito, String username,
+                     long esperaMaximaNanos) {
+        long posicion = cursor.get();
+        int intentos = 0;
+        long limite = 0;
+        while (true) {
+            int indice = (int) (posicion & mascara);
+            long diferencia = secuencias.get(indice) - posicion;
+            if (diferencia == 0) {
+                if (cursor.compareAndSet(posicion, posicion + 1)) {
+                    break;
+                }
+            } else if (diferencia < 0) {
+                // El consumidor todavía no liberó esta posición de la vuelta anterior
+                if (intentos++ == 0) {
+                    esperasPorLleno.increment();
+                    limite = System.nanoTime() + esperaMaximaNanos;
+                }
+                if (consumidorDetenido || System.nanoTime() - limite > 0) {
+                    descartados.increment();
+                    return false;
+                }
+                if (intentos < 100) {
+                    Thread.onSpinWait();
+                } else {
+                    LockSupport.parkNanos(10_000);
+                }
+            }
+            posicion = cursor.get();
+        }
+
+        int indice = (int) (posicion & mascara);
+        marcasTiempo[indice] = marcaTiempoMs;
+        operaciones[indice] = operacion;
+        exitos[indice] = exito;
+        usernames[indice] = username;
+        secuencias.set(indice, posicion + 1);
+        return true;
+    }
+
+    /**
+     * Entrega al consumidor los eventos publicados, en orden. Solo debe llamarlo un hilo.
+     *
+     * @param consumidor El destino de los eventos.
+     * @param maximo La cantidad máxima de eventos a entregar.
+     * @return La cantidad de eventos entregados.
+     */
+    int drenar(Consumidor consumidor, int maximo) {
+        long posicion = leido;
+        int entregados = 0;
+        while (entregados < maximo) {
+            int indice = (int) (posicion & mascara);
+            if (secuencias.get(indice) != posicion + 1) {
+                break;
+            }
+            // Si el consumidor falla, la posición queda intacta para volver a entregarla
+            consumidor.aceptar(marcasTiempo[indice], operaciones[indice], exitos[indice], usernames[indice]);
+            usernames[indice] = null;
+            secuencias.set(indice, posicion + mascara + 1);
+            leido = ++posicion;
+            entregados++;
+        }
+        return entregados;
+    }
+
+    /**
+     * Indica si el consumidor dejó de liberar posiciones, para que los productores descarten sin
+     * esperar mientras el anillo esté lleno.
+     *
+     * @param detenido {@code true} mientras el consumidor no pueda avanzar.
+     */
+    void setConsumidorDetenido(boolean detenido) {
+        consumidorDetenido = detenido;
+    }
+
+    /**
+     * @return Los eventos reservados por los productores que el consumidor aún no entregó.
+     */
+    long pendientes() {
+        return cursor.get() - leido;
+    }
+
+    /**
+     * @return La cantidad de eventos que el consumidor ya entregó.
+     */
+    long getLeidos() {
+        return leido;
+    }
+
+    /**
+     * @return Las veces que un productor encontró el anillo lleno.
+     */
+    long getEsperasPorLleno() {
+        return esperasPorLleno.sum();
+    }
+
+    /**
+     * @return La cantidad de eventos descartados porque el anillo siguió lleno.
+     */
+    long getDescartados() {
+        return descartados.sum();
+    }
+
+    int getCapacidad() {
+        return mascara + 1;
+    }
+}
@@ -0,0 +1,247 @@
+package com.sistema.examenes.auditoria;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Auditoría de las llamadas a {@code guardarUsuario}, {@code obtenerUsuario} y
+ * {@code eliminarUsuario}.
+ *
+ * {@link #registrar(OperacionAuditoria, String, boolean)} solo copia el evento a un
+ * {@link AnilloAuditoria}; un único hilo escritor lo drena en orden hacia segmentos mapeados en
+ * memoria ({@link EscritorSegmentos}) y los sincroniza con el disco cada
+ * {@code sistema.auditoria.forzar-intervalo-ms}. Así la solicitud no espera ni a la base de datos
+ * ni al disco. Los segmentos se leen con {@link LectorAuditoria} o {@link LectorAuditoriaCli}.
+ *
+ * Si el anillo se llena porque el disco no da abasto, una solicitud espera a lo sumo
+ * {@code sistema.auditoria.espera-maxima-ms} y, si no se libera lugar, su evento se descarta y se
+ * cuenta en {@link #getDescartados()}. Si el disco falla, el escritor reintenta sin perder el
+ * evento en curso; una escritura fallida en la página mapeada ({@link InternalError}) se recupera
+ * releyendo el último segmento. Mientras falla, o si el escritor termina por otro error, las
+ * solicitudes no esperan y sus eventos se descartan directamente. La auditoría prefiere perder
+ * eventos a detener las solicitudes. El directorio queda bloqueado mientras la auditoría está
+ * activa, así que dos instancias no pueden compartirlo.
+ *
+ * Con {@code sistema.auditoria.habilitado=false}, registrar no hace nada.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+@Component
+public class AuditoriaUsuarios {
+
+    private static final Logger log = LoggerFactory.getLogger(AuditoriaUsuarios.class);
+
+    private static final int LOTE = 4096;
+    private static final long ESPERA_MAXIMA_NANOS = 1_000_000;
+
+    @Value("${sistema.auditoria.habilitado:false}")
+    private boolean habilitado;
+
+    @Value("${sistema.auditoria.directorio:auditoria}")
+    private String directorio;
+
+    @Value("${sistema.auditoria.tamano-segmento-mb:64}")
+    private int tamanoSegmentoMb;
+
+    @Value("${sistema.auditoria.capacidad-anillo:65536}")
+    private int capacidadAnillo;
+
+    @Value("${sistema.auditoria.forzar-intervalo-ms:1000}")
+    private long forzarIntervaloMs;
+
+    @Value("${sistema.auditoria.espera-maxima-ms:1}")
+    private long esperaMaximaMs = 1;
+
+    @Value("${sistema.auditoria.espera-detener-ms:5000}")
+    private long esperaDetenerMs = 5000;
+
+    private AnilloAuditoria anillo;
+    private EscritorSegmentos escritor;
+    private Thread hiloEscritor;
+    private volatile boolean activo;
+    private final AtomicLong ultimoAvisoDescarte = new AtomicLong();
+
+    @PostConstruct
+    void iniciar() {
+        if (!habilitado) {
+            return;
+        }
+        escritor = new EscritorSegmentos(Path.of(directorio), tamanoSegmentoMb * 1024 * 1024);
+        anillo = new AnilloAuditoria(capacidadAnillo);
+        activo = true;
+        hiloEscritor = new Thread(this::escribirPendientes, "auditoria-escritor");
+        hiloEscritor.setDaemon(true);
+        hiloEscritor.start();
+        log.info("Auditoría de usuarios en {}, próxima secuencia {}", Path.of(directorio).toAbsolutePath(),
+                escritor.getSiguienteSecuencia());
+    }
+
+    /**
+     * Registra la llamada a una operación. Solo encola el evento; si el anillo sigue lleno tras
+     * {@code sistema.auditoria.espera-maxima-ms}, lo descarta.
+     *
+     * @param operacion La operación llamada.
+     * @param username El nombre de usuario sobre el que se llamó.
+     * @param exito Si la operación terminó bien.
+     */
+    public void registrar(OperacionAuditoria operacion, String username, boolean exito) {
+        AnilloAuditoria actual = anillo;
+        if (actual != null
+                && !actual.publicar(System.currentTimeMillis(), operacion, exito, username, esperaMaximaMs * 1_000_000)) {
+            avisarDescarte(actual);
+        }
+    }
+
+    /**
+     * Avisa de los eventos descartados, como máximo una vez cada diez segundos.
+     */
+    private void avisarDescarte(AnilloAuditoria actual) {
+        long ahora = System.currentTimeMillis();
+        long ultimo = ultimoAvisoDescarte.get();
+        if (ahora - ultimo >= 10_000 && ultimoAvisoDescarte.compareAndSet(ultimo, ahora)) {
+            log.warn("La auditoría está llena y descarta eventos: {} descartados desde el inicio", actual.getDescartados());
+        }
+    }
+
+    /**
+     * Bucle del hilo escritor: drena el anillo por lotes y, sin eventos, espera con una pausa
+     * creciente hasta {@value #ESPERA_MAXIMA_NANOS} ns para no ocupar un núcleo. Mientras la
+     * escritura falla, marca el consumidor del anillo como detenido; si el hilo termina por un
+     * error no recuperable, lo deja marcado.
+     */
+    private void escribirPendientes() {
+        try {
+            escribirHastaDetener();
+        } catch (Throwable e) {
+            anillo.setConsumidorDetenido(true);
+            log.error("El escritor de auditoría terminó; los eventos siguientes se descartan", e);
+            throw e;
+        }
+    }
+
+    private void escribirHastaDetener() {
+        long ultimoForzado = System.nanoTime();
+        long espera = 1_000;
+        boolean fallando = false;
+        boolean recuperar = false;
+        while ((activo || anillo.pendientes() > 0) && !Thread.currentThread().isInterrupted()) {
+            int escritos;
+            try {
+                if (recuperar) {
+                    // La escritura anterior en la página pudo quedar a medias
+                    escritor.recuperar();
+                    recuperar = false;
+                }
+                escritos = anillo.drenar(escritor::escribir, LOTE);
+                boolean forzado = false;
+                if (System.nanoTime() - ultimoForzado >= forzarIntervaloMs * 1_000_000) {
+                    escritor.forzar();
+                    ultimoForzado = System.nanoTime();
+                    forzado = true;
+                }
+                if (fallando && (escritos > 0 || forzado)) {
+                    log.info("La escritura de la auditoría se recuperó");
+                    anillo.setConsumidorDetenido(false);
+                    fallando = false;
+                }
+            } catch (RuntimeException | InternalError e) {
+                // InternalError: fallo de E/S al escribir en una página mapeada
+                if (!fallando) {
+                    log.error("No se pudo escribir la auditoría; se reintentará", e);
+                    anillo.setConsumidorDetenido(true);
+                    fallando = true;
+                }
+                recuperar = recuperar || e instanceof InternalError;
+                escritos = 0;
+                espera = ESPERA_MAXIMA_NANOS;
+            }
+
+            if (escritos == 0) {
+                LockSupport.parkNanos(espera);
+                espera = Math.min(espera * 2, ESPERA_MAXIMA_NANOS);
+            } else {
+                espera = 1_000;
+            }
+        }
+        try {
+            escritor.forzar();
+        } catch (RuntimeException | InternalError e) {
+            log.error("No se pudo sincronizar la auditoría con el disco al detener", e);
+        }
+    }
+
+    /**
+     * Espera a que el escritor haya escrito todos los eventos registrados hasta ahora.
+     *
+     * @param tiempoMaximo El tiempo máximo de espera.
+     * @return {@code true} si se escribieron todos a tiempo.
+     */
+    public boolean esperarEscritura(Duration tiempoMaximo) {
+        if (anillo == null) {
+            return true;
+        }
+        long limite = System.nanoTime() + tiempoMaximo.toNanos();
+        while (anillo.pendientes() > 0) {
+            if (System.nanoTime() > limite) {
+                return false;
+            }
+            LockSupport.parkNanos(100_000);
+        }
+        return true;
+    }
+
+    /**
+     * Detiene el hilo escritor después de escribir los eventos pendientes, esperando como máximo
+     * {@code sistema.auditoria.espera-detener-ms}. Si el escritor no termina a tiempo, por ejemplo
+     * porque el disco falla, se interrumpe y los eventos pendientes se pierden. Al final libera el
+     * bloqueo del directorio.
+     */
+    @PreDestroy
+    void detener() throws InterruptedException {
+        if (hiloEscritor == null) {
+            return;
+        }
+        activo = false;
+        hiloEscritor.join(esperaDetenerMs);
+        if (hiloEscritor.isAlive()) {
+            log.warn("El escritor de auditoría no terminó en {} ms; se descartan {} eventos pendientes",
+                    esperaDetenerMs, anillo.pendientes());
+            hiloEscritor.interrupt();
+            hiloEscritor.join(esperaDetenerMs);
+        }
+        hiloEscritor = null;
+        anillo = null;
+        escritor.cerrar();
+    }
+
+    /**
+     * @return La cantidad de eventos escritos desde el inicio.
+     */
+    public long getEscritos() {
+        return anillo == null ? 0 : anillo.getLeidos();
+    }
+
+    /**
+     * @return La cantidad de eventos descartados porque el anillo siguió lleno.
+     */
+    public long getDescartados() {
+        return anillo == null ? 0 : anillo.getDescartados();
+    }
+
+    /**
+     * @return Las veces que una solicitud encontró el anillo lleno y tuvo que esperar.
+     */
+    public long getEsperasPorAnilloLleno() {
+        return anillo == null ? 0 : anillo.getEsperasPorLleno();
+    }
+}
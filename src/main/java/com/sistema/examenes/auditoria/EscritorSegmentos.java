@@ -0,0 +1,198 @@
+package com.sistema.examenes.auditoria;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Escribe registros de auditoría al final del último segmento, mapeado en memoria, y abre uno nuevo
+ * cuando se llena.
+ *
+ * Escribir es copiar bytes a la página mapeada; el sistema operativo los lleva al disco aunque el
+ * proceso termine de forma abrupta, y {@link #forzar()} los sincroniza para sobrevivir también a una
+ * caída del sistema. Los segmentos se crean con todos sus bloques reservados
+ * ({@link SegmentosAuditoria#mapearEscritura}), así que un disco lleno se detecta al abrir un
+ * segmento y no al escribir en la página. Al abrir, recorre el último segmento para continuar tras
+ * su último registro válido; un registro dañado (por ejemplo, escrito a medias antes de una caída)
+ * se descarta junto con todo lo que le sigue en el segmento, que se borra con ceros antes de
+ * continuar. {@link #recuperar()} repite ese recorrido si una escritura en la página falla.
+ *
+ * Mientras está abierto mantiene un bloqueo de archivo sobre {@value #ARCHIVO_BLOQUEO} en el
+ * directorio, para que dos procesos (o dos instancias en el mismo proceso) no escriban los mismos
+ * segmentos. Se libera con {@link #cerrar()}.
+ *
+ * No es seguro para varios hilos: solo lo usa el hilo escritor de {@link AuditoriaUsuarios}.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+class EscritorSegmentos {
+
+    static final String ARCHIVO_BLOQUEO = "auditoria.lock";
+
+    private final Path directorio;
+    private final int tamanoSegmento;
+    private final FileChannel canalBloqueo;
+
+    private MappedByteBuffer segmento;
+    private long siguienteSecuencia;
+    private boolean sinForzar;
+
+    /**
+     * @param directorio El directorio de los segmentos; se crea si no existe.
+     * @param tamanoSegmento El tamaño de cada segmento en bytes.
+     * @throws IllegalStateException Si otro escritor ya tiene abierto el directorio.
+     */
+    EscritorSegmentos(Path directorio, int tamanoSegmento) {
+        if (tamanoSegmento < FormatoRegistro.CABECERA + FormatoRegistro.MAXIMO_USERNAME) {
+            throw new IllegalArgumentException("El segmento debe admitir al menos un registro de tamaño máximo");
+        }
+        this.directorio = directorio;
+        this.tamanoSegmento = tamanoSegmento;
+        try {
+            Files.createDirectories(directorio);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        canalBloqueo = bloquear(directorio);
+        try {
+            recuperar();
+        } catch (RuntimeException e) {
+            liberar();
+            throw e;
+        }
+    }
+
+    /**
+     * Toma el bloqueo exclusivo del directorio.
+     */
+    private static FileChannel bloquear(Path directorio) {
+        FileChannel canal;
+        try {
+            canal = FileChannel.open(directorio.resolve(ARCHIVO_BLOQUEO), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        FileLock bloqueo;
+        try {
+            bloqueo = canal.tryLock();
+        } catch (OverlappingFileLockException | IOException e) {
+            bloqueo = null;
+        }
+        if (bloqueo == null) {
+            try {
+                canal.close();
+            } catch (IOException e) {
+                // El canal no llegó a bloquear nada
+            }
+            throw new IllegalStateException("Otro proceso ya escribe la auditoría en " + directorio.toAbsolutePath());
+        }
+        return canal;
+    }
+
+    /**
+     * Continúa tras el último registro válido del último segmento. Se llama al abrir y después de
+     * que una escritura en la página mapeada falle, ya que el registro pudo quedar a medias.
+     */
+    void recuperar() {
+        List<Path> segmentos = SegmentosAuditoria.listar(directorio);
+        if (segmentos.isEmpty()) {
+            abrir(1);
+            return;
+        }
+
+        Path ultimo = segmentos.get(segmentos.size() - 1);
+        MappedByteBuffer buffer = SegmentosAuditoria.mapearEscritura(ultimo, tamanoSegmento);
+        long secuencia = SegmentosAuditoria.primeraSecuencia(ultimo);
+        RegistroAuditoria registro;
+        while ((registro = FormatoRegistro.leer(buffer)) != null) {
+            secuencia = registro.getSecuencia() + 1;
+        }
+
+        if (buffer.remaining() >= 4 && buffer.getInt(buffer.position()) != 0) {
+            limpiarResto(buffer);
+        }
+        segmento = buffer;
+        siguienteSecuencia = secuencia;
+    }
+
+    /**
+     * Borra con ceros lo que sigue al último registro válido, para que los registros nuevos no
+     * queden mezclados con restos de uno dañado.
+     */
+    private static void limpiarResto(MappedByteBuffer buffer) {
+        int posicion = buffer.position();
+        byte[] ceros = new byte[64 * 1024];
+        while (buffer.hasRemaining()) {
+            buffer.put(ceros, 0, Math.min(ceros.length, buffer.remaining()));
+        }
+        buffer.force();
+        buffer.position(posicion);
+    }
+
+    private void abrir(long primeraSecuencia) {
+        segmento = SegmentosAuditoria.mapearEscritura(SegmentosAuditoria.ruta(directorio, primeraSecuencia), tamanoSegmento);
+        siguienteSecuencia = primeraSecuencia;
+    }
+
+    /**
+     * Agrega un registro.
+     *
+     * @return La secuencia asignada al registro.
+     */
+    long escribir(long marcaTiempoMs, OperacionAuditoria operacion, boolean exito, String username) {
+        byte[] bytes = FormatoRegistro.codificarUsername(username);
+        if (segmento.remaining() < FormatoRegistro.CABECERA + bytes.length) {
+            forzar();
+            abrir(siguienteSecuencia);
+        }
+        long secuencia = siguienteSecuencia;
+        FormatoRegistro.escribir(segmento, secuencia, marcaTiempoMs, operacion, exito, bytes);
+        siguienteSecuencia++;
+        sinForzar = true;
+        return secuencia;
+    }
+
+    /**
+     * Sincroniza con el disco lo escrito en el segmento actual.
+     */
+    void forzar() {
+        if (sinForzar) {
+            segmento.force();
+            sinForzar = false;
+        }
+    }
+
+    /**
+     * Sincroniza lo escrito y libera el bloqueo del directorio.
+     */
+    void cerrar() {
+        try {
+            forzar();
+        } finally {
+            liberar();
+        }
+    }
+
+    private void liberar() {
+        try {
+            canalBloqueo.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return La secuencia que recibirá el próximo registro.
+     */
+    long getSiguienteSecuencia() {
+        return siguienteSecuencia;
+    }
+}
@@ -0,0 +1,45 @@
+package com.sistema.examenes.auditoria;
+
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Criterios para leer la auditoría. Los campos nulos no filtran.
+ *
+ * {@link LectorAuditoria} usa {@code desdeSecuencia} y {@code desdeMs}/{@code hastaMs} también para
+ * saltar segmentos completos sin leerlos.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+@Getter
+@Builder
+public class FiltroAuditoria {
+
+    private final Long desdeSecuencia;
+    private final Long desdeMs;
+    private final Long hastaMs;
+    private final OperacionAuditoria operacion;
+    private final String username;
+    private final Boolean exito;
+
+    /**
+     * @return Un filtro que acepta todos los registros.
+     */
+    public static FiltroAuditoria todos() {
+        return FiltroAuditoria.builder().build();
+    }
+
+    /**
+     * @param registro Un registro leído.
+     * @return Si el registro cumple todos los criterios.
+     */
+    public boolean acepta(RegistroAuditoria registro) {
+        return (desdeSecuencia == null || registro.getSecuencia() >= desdeSecuencia)
+                && (desdeMs == null || registro.getMarcaTiempoMs() >= desdeMs)
+                && (hastaMs == null || registro.getMarcaTiempoMs() < hastaMs)
+                && (operacion == null || registro.getOperacion() == operacion)
+                && (username == null || username.equals(registro.getUsername()))
+                && (exito == null || registro.isExito() == exito);
+    }
+}
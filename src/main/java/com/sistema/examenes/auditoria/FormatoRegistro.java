@@ -0,0 +1,116 @@
+package com.sistema.examenes.auditoria;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32C;
+
+/**
+ * Formato binario de los registros de auditoría.
+ *
+ * <pre>
+ * int    longitud total del registro, cabecera incluida (0 = fin de los datos del segmento)
+ * int    CRC32C de los bytes que siguen al CRC
+ * long   secuencia
+ * long   marca de tiempo, en milisegundos desde la época
+ * byte   código de {@link OperacionAuditoria}
+ * byte   1 si la operación terminó bien, 0 si no
+ * short  longitud del username en bytes
+ * byte[] username en UTF-8
+ * </pre>
+ *
+ * Un registro ocupa {@value #CABECERA} bytes más el username. La longitud se escribe al final, de
+ * modo que un registro a medio escribir se ve como fin de datos; si quedó escrita pero los datos
+ * no, el CRC lo delata.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+final class FormatoRegistro {
+
+    static final int CABECERA = 28;
+
+    /**
+     * Los usernames son {@code VARCHAR(255)}; el límite solo protege el formato.
+     */
+    static final int MAXIMO_USERNAME = 1024;
+
+    private FormatoRegistro() {
+    }
+
+    static byte[] codificarUsername(String username) {
+        byte[] bytes = username == null ? new byte[0] : username.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAXIMO_USERNAME) {
+            byte[] truncado = new byte[MAXIMO_USERNAME];
+            System.arraycopy(bytes, 0, truncado, 0, MAXIMO_USERNAME);
+            return truncado;
+        }
+        return bytes;
+    }
+
+    /**
+     * Escribe un registro en la posición actual del buffer y la avanza. El llamador debe comprobar
+     * antes que quedan {@code CABECERA + username.length} bytes.
+     */
+    static void escribir(ByteBuffer destino, long secuencia, long marcaTiempoMs, OperacionAuditoria operacion,
+                         boolean exito, byte[] username) {
+        int inicio = destino.position();
+        int longitud = CABECERA + username.length;
+        destino.position(inicio + 8);
+        destino.putLong(secuencia);
+        destino.putLong(marcaTiempoMs);
+        destino.put(operacion.getCodigo());
+        destino.put(exito ? (byte) 1 : (byte) 0);
+        destino.putShort((short) username.length);
+        destino.put(username);
+
+        destino.putInt(inicio + 4, crc(destino, inicio + 8, longitud - 8));
+        destino.putInt(inicio, longitud);
+    }
+
+    /**
+     * Lee el registro en la posición actual del buffer y la avanza.
+     *
+     * @return El registro, o {@code null} si se llegó al fin de los datos o el registro está
+     *         incompleto o dañado; en ese caso la posición no cambia.
+     */
+    static RegistroAuditoria leer(ByteBuffer origen) {
+        int inicio = origen.position();
+        if (origen.remaining() < CABECERA) {
+            return null;
+        }
+        int longitud = origen.getInt(inicio);
+        if (longitud < CABECERA || longitud > CABECERA + MAXIMO_USERNAME || longitud > origen.remaining()) {
+            return null;
+        }
+        if (origen.getInt(inicio + 4) != crc(origen, inicio + 8, longitud - 8)) {
+            return null;
+        }
+
+        OperacionAuditoria operacion = OperacionAuditoria.deCodigo(origen.get(inicio + 24));
+        int longitudUsername = origen.getShort(inicio + 26);
+        if (operacion == null || longitudUsername != longitud - CABECERA) {
+            return null;
+        }
+        byte[] username = new byte[longitudUsername];
+        origen.get(inicio + CABECERA, username);
+        origen.position(inicio + longitud);
+        return new RegistroAuditoria(origen.getLong(inicio + 8), origen.getLong(inicio + 16), operacion,
+                origen.get(inicio + 25) == 1, new String(username, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return La marca de tiempo del registro en la posición actual, sin validarlo, o -1 si no hay
+     *         uno. Sirve para descartar segmentos enteros por fecha.
+     */
+    static long marcaTiempoEn(ByteBuffer origen) {
+        return origen.remaining() >= CABECERA && origen.getInt(origen.position()) != 0
+                ? origen.getLong(origen.position() + 16)
+                : -1;
+    }
+
+    private static int crc(ByteBuffer buffer, int desde, int longitud) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(desde, longitud));
+        return (int) crc.getValue();
+    }
+}
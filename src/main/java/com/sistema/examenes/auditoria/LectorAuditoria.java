@@ -0,0 +1,123 @@
+package com.sistema.examenes.auditoria;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Lee los segmentos de auditoría como un stream de registros, en orden de secuencia.
+ *
+ * Los segmentos se mapean uno a uno a medida que se consume el stream, así que leer un rango no
+ * carga el resto. Antes de abrir un segmento se descarta si todos sus registros quedan fuera del
+ * filtro: por secuencia, según el nombre del segmento siguiente, y por fecha, según la marca de
+ * tiempo del primer registro del siguiente o del propio segmento. Puede leerse mientras la
+ * aplicación escribe; la lectura termina en el último registro completo.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+public final class LectorAuditoria {
+
+    /**
+     * Cada hilo toma la marca de tiempo antes de encolar, así que registros consecutivos pueden
+     * tener marcas levemente desordenadas; al saltar segmentos por fecha se deja este margen.
+     */
+    private static final long MARGEN_ORDEN_MS = 1000;
+
+    private LectorAuditoria() {
+    }
+
+    /**
+     * @param directorio El directorio de los segmentos.
+     * @param filtro Los criterios de los registros a devolver.
+     * @return Los registros que cumplen el filtro, en orden de secuencia.
+     */
+    public static Stream<RegistroAuditoria> leer(Path directorio, FiltroAuditoria filtro) {
+        Iterator<RegistroAuditoria> registros = new IteradorRegistros(SegmentosAuditoria.listar(directorio), filtro);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(registros,
+                Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .filter(filtro::acepta);
+    }
+
+    private static class IteradorRegistros implements Iterator<RegistroAuditoria> {
+
+        private final List<Path> segmentos;
+        private final FiltroAuditoria filtro;
+        private int indice;
+        private ByteBuffer actual;
+        private RegistroAuditoria siguiente;
+
+        private IteradorRegistros(List<Path> segmentos, FiltroAuditoria filtro) {
+            this.segmentos = segmentos;
+            this.filtro = filtro;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (siguiente == null) {
+                if (actual != null) {
+                    siguiente = FormatoRegistro.leer(actual);
+                    if (siguiente != null) {
+                        break;
+                    }
+                    actual = null;
+                }
+                if (!abrirSiguienteSegmento()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public RegistroAuditoria next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            RegistroAuditoria registro = siguiente;
+            siguiente = null;
+            return registro;
+        }
+
+        /**
+         * Abre el próximo segmento que puede tener registros del filtro.
+         *
+         * @return {@code false} si no quedan segmentos por leer.
+         */
+        private boolean abrirSiguienteSegmento() {
+            while (indice < segmentos.size()) {
+                Path segmento = segmentos.get(indice++);
+                boolean hayOtro = indice < segmentos.size();
+
+                // Todos los registros de este segmento son anteriores al primero del siguiente
+                if (hayOtro && filtro.getDesdeSecuencia() != null
+                        && SegmentosAuditoria.primeraSecuencia(segmentos.get(indice)) <= filtro.getDesdeSecuencia()) {
+                    continue;
+                }
+                if (hayOtro && filtro.getDesdeMs() != null) {
+                    long inicioSiguiente = FormatoRegistro.marcaTiempoEn(SegmentosAuditoria.mapearLectura(segmentos.get(indice)));
+                    if (inicioSiguiente >= 0 && inicioSiguiente < filtro.getDesdeMs() - MARGEN_ORDEN_MS) {
+                        continue;
+                    }
+                }
+
+                ByteBuffer buffer = SegmentosAuditoria.mapearLectura(segmento);
+                long inicio = FormatoRegistro.marcaTiempoEn(buffer);
+                if (filtro.getHastaMs() != null && inicio >= filtro.getHastaMs() + MARGEN_ORDEN_MS) {
+                    // Este y los siguientes empiezan después del rango
+                    indice = segmentos.size();
+                    return false;
+                }
+                actual = buffer;
+                return true;
+            }
+            return false;
+        }
+    }
+}
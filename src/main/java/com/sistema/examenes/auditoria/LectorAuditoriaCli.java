@@ -0,0 +1,93 @@
+package com.sistema.examenes.auditoria;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Línea de comandos para leer y filtrar la auditoría de usuarios.
+ *
+ * Desde el jar empaquetado:
+ * <pre>
+ * java -cp sistema-examenes-backend.jar -Dloader.main=com.sistema.examenes.auditoria.LectorAuditoriaCli \
+ *      org.springframework.boot.loader.launch.PropertiesLauncher \
+ *      --directorio=auditoria --operacion=ELIMINAR --desde=2026-10-19T08:00 --csv
+ * </pre>
+ *
+ * Opciones: {@code --directorio} (por defecto {@code auditoria}), {@code --operacion},
+ * {@code --username}, {@code --exito=true|false}, {@code --desde} y {@code --hasta} (fecha y hora
+ * local o instante ISO-8601; {@code hasta} es exclusivo), {@code --desde-secuencia},
+ * {@code --limite} y {@code --csv}. Escribe un registro por línea; la cantidad leída va a la
+ * salida de errores.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+public final class LectorAuditoriaCli {
+
+    private LectorAuditoriaCli() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path directorio = Path.of("auditoria");
+        FiltroAuditoria.FiltroAuditoriaBuilder filtro = FiltroAuditoria.builder();
+        long limite = Long.MAX_VALUE;
+        boolean csv = false;
+
+        for (String argumento : args) {
+            int igual = argumento.indexOf('=');
+            String nombre = igual < 0 ? argumento : argumento.substring(0, igual);
+            String valor = igual < 0 ? null : argumento.substring(igual + 1);
+            switch (nombre) {
+                case "--directorio" -> directorio = Path.of(valor);
+                case "--operacion" -> filtro.operacion(OperacionAuditoria.valueOf(valor.toUpperCase()));
+                case "--username" -> filtro.username(valor);
+                case "--exito" -> filtro.exito(Boolean.parseBoolean(valor));
+                case "--desde" -> filtro.desdeMs(milisegundos(valor));
+                case "--hasta" -> filtro.hastaMs(milisegundos(valor));
+                case "--desde-secuencia" -> filtro.desdeSecuencia(Long.parseLong(valor));
+                case "--limite" -> limite = Long.parseLong(valor);
+                case "--csv" -> csv = true;
+                default -> {
+                    System.err.println("Opción desconocida: " + argumento);
+                    System.exit(2);
+                }
+            }
+        }
+
+        long leidos = 0;
+        PrintWriter salida = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8), 1 << 16));
+        if (csv) {
+            salida.println("secuencia,fecha,operacion,exito,username");
+        }
+        try (Stream<RegistroAuditoria> registros = LectorAuditoria.leer(directorio, filtro.build()).limit(limite)) {
+            for (Iterator<RegistroAuditoria> it = registros.iterator(); it.hasNext(); ) {
+                RegistroAuditoria registro = it.next();
+                if (csv) {
+                    salida.println(registro.getSecuencia() + "," + Instant.ofEpochMilli(registro.getMarcaTiempoMs()) + ","
+                            + registro.getOperacion() + "," + registro.isExito() + "," + registro.getUsername());
+                } else {
+                    salida.println(registro);
+                }
+                leidos++;
+            }
+        }
+        salida.flush();
+        System.err.println(leidos + " registros");
+    }
+
+    private static long milisegundos(String fecha) {
+        if (fecha.endsWith("Z") || fecha.contains("+")) {
+            return Instant.parse(fecha).toEpochMilli();
+        }
+        return LocalDateTime.parse(fecha).atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
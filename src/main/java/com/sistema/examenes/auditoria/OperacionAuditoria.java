@@ -0,0 +1,42 @@
+package com.sistema.examenes.auditoria;
+
+/**
+ * Operaciones de {@code UsuarioService} que quedan en la auditoría, con el código de un byte con
+ * que se guardan en cada registro.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+public enum OperacionAuditoria {
+
+    GUARDAR((byte) 1),
+    OBTENER((byte) 2),
+    ELIMINAR((byte) 3),
+    ACTUALIZAR((byte) 4);
+
+    private static final OperacionAuditoria[] POR_CODIGO = new OperacionAuditoria[5];
+
+    static {
+        for (OperacionAuditoria operacion : values()) {
+            POR_CODIGO[operacion.codigo] = operacion;
+        }
+    }
+
+    private final byte codigo;
+
+    OperacionAuditoria(byte codigo) {
+        this.codigo = codigo;
+    }
+
+    public byte getCodigo() {
+        return codigo;
+    }
+
+    /**
+     * @param codigo El código guardado en un registro.
+     * @return La operación, o {@code null} si el código no es válido.
+     */
+    public static OperacionAuditoria deCodigo(byte codigo) {
+        return codigo > 0 && codigo < POR_CODIGO.length ? POR_CODIGO[codigo] : null;
+    }
+}
@@ -0,0 +1,61 @@
+package com.sistema.examenes.auditoria;
+
+import java.time.Instant;
+
+/**
+ * Un registro de auditoría leído de un segmento.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+public final class RegistroAuditoria {
+
+    private final long secuencia;
+    private final long marcaTiempoMs;
+    private final OperacionAuditoria operacion;
+    private final boolean exito;
+    private final String username;
+
+    public RegistroAuditoria(long secuencia, long marcaTiempoMs, OperacionAuditoria operacion, boolean exito, String username) {
+        this.secuencia = secuencia;
+        this.marcaTiempoMs = marcaTiempoMs;
+        this.operacion = operacion;
+        this.exito = exito;
+        this.username = username;
+    }
+
+    /**
+     * @return El número de secuencia, consecutivo desde 1 a lo largo de todos los segmentos.
+     */
+    public long getSecuencia() {
+        return secuencia;
+    }
+
+    /**
+     * @return El momento de la llamada, en milisegundos desde la época.
+     */
+    public long getMarcaTiempoMs() {
+        return marcaTiempoMs;
+    }
+
+    public OperacionAuditoria getOperacion() {
+        return operacion;
+    }
+
+    /**
+     * @return Si la operación terminó bien: usuario guardado, encontrado o eliminado.
+     */
+    public boolean isExito() {
+        return exito;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public String toString() {
+        return secuencia + " " + Instant.ofEpochMilli(marcaTiempoMs) + " " + operacion + " "
+                + (exito ? "OK" : "FALLO") + " " + username;
+    }
+}
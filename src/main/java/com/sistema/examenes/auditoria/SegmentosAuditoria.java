@@ -0,0 +1,100 @@
+package com.sistema.examenes.auditoria;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Nombres y apertura de los segmentos de auditoría.
+ *
+ * Cada segmento es un archivo {@code auditoria-<secuencia>.seg} de tamaño fijo, donde la secuencia
+ * (con ceros a la izquierda) es la de su primer registro. Así el orden alfabético de los archivos
+ * es el orden de los registros, y un lector puede saltar segmentos sin abrirlos.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+final class SegmentosAuditoria {
+
+    private static final Pattern NOMBRE = Pattern.compile("auditoria-(\\d{20})\\.seg");
+
+    private SegmentosAuditoria() {
+    }
+
+    static Path ruta(Path directorio, long primeraSecuencia) {
+        return directorio.resolve(String.format("auditoria-%020d.seg", primeraSecuencia));
+    }
+
+    /**
+     * @return La secuencia del primer registro del segmento, o -1 si el archivo no es un segmento.
+     */
+    static long primeraSecuencia(Path segmento) {
+        Matcher matcher = NOMBRE.matcher(segmento.getFileName().toString());
+        return matcher.matches() ? Long.parseLong(matcher.group(1)) : -1;
+    }
+
+    /**
+     * @return Los segmentos del directorio, en orden de secuencia.
+     */
+    static List<Path> listar(Path directorio) {
+        if (!Files.isDirectory(directorio)) {
+            return List.of();
+        }
+        try (Stream<Path> archivos = Files.list(directorio)) {
+            return archivos.filter(archivo -> primeraSecuencia(archivo) >= 0).sorted().toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Mapea un segmento para escritura, creándolo con el tamaño indicado si no existe.
+     *
+     * Antes de mapearlo escribe ceros hasta el tamaño indicado, para que el sistema de archivos
+     * reserve todos sus bloques. Un archivo disperso solo los reserva al escribir en cada página
+     * mapeada, y si entonces el disco está lleno la escritura lanza {@link InternalError}; así la
+     * falta de espacio aparece aquí, como una {@link UncheckedIOException} al abrir el segmento.
+     */
+    static MappedByteBuffer mapearEscritura(Path segmento, int tamano) {
+        try (FileChannel canal = FileChannel.open(segmento, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            preasignar(canal, tamano);
+            return canal.map(FileChannel.MapMode.READ_WRITE, 0, Math.max(tamano, canal.size()));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Escribe ceros desde el final del archivo hasta el tamaño indicado. Si falla a mitad de camino,
+     * la próxima apertura continúa desde donde quedó.
+     */
+    private static void preasignar(FileChannel canal, int tamano) throws IOException {
+        long posicion = canal.size();
+        ByteBuffer ceros = ByteBuffer.allocate(64 * 1024);
+        while (posicion < tamano) {
+            ceros.clear().limit((int) Math.min(ceros.capacity(), tamano - posicion));
+            posicion += canal.write(ceros, posicion);
+        }
+    }
+
+    /**
+     * Mapea un segmento completo para lectura.
+     */
+    static MappedByteBuffer mapearLectura(Path segmento) {
+        try (FileChannel canal = FileChannel.open(segmento, StandardOpenOption.READ)) {
+            return canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
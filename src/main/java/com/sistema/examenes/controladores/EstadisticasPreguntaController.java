@@ -0,0 +1,51 @@
+package com.sistema.examenes.controladores;
+
+import com.sistema.examenes.modelos.EstadisticaPregunta;
+import com.sistema.examenes.servicios.EstadisticasPreguntaService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controlador REST que expone las estadísticas de análisis de ítems de las preguntas.
+ *
+ * Las estadísticas se leen de los contadores en memoria de {@link EstadisticasPreguntaService},
+ * por lo que reflejan los envíos calificados hasta el momento sin consultar la base de datos.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+@RestController
+@RequestMapping("/estadisticas/preguntas")
+public class EstadisticasPreguntaController {
+
+    @Autowired
+    private EstadisticasPreguntaService estadisticasPreguntaService;
+
+    /**
+     * Obtiene las estadísticas actuales de todas las preguntas respondidas.
+     *
+     * @return La lista de estadísticas por pregunta.
+     */
+    @GetMapping("/")
+    public List<EstadisticaPregunta> listarEstadisticas() {
+        return estadisticasPreguntaService.listarEstadisticas();
+    }
+
+    /**
+     * Obtiene las estadísticas actuales de una pregunta.
+     *
+     * @param preguntaId El identificador de la pregunta.
+     * @return Las estadísticas de la pregunta, o 404 (Not Found) si todavía no ha sido respondida.
+     */
+    @GetMapping("/{preguntaId}")
+    public ResponseEntity<EstadisticaPregunta> obtenerEstadisticas(@PathVariable("preguntaId") Long preguntaId) {
+        EstadisticaPregunta estadistica = estadisticasPreguntaService.obtenerEstadisticas(preguntaId);
+        if (estadistica == null) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(estadistica);
+    }
+}
@@ -0,0 +1,65 @@
+package com.sistema.examenes.controladores;
+
+import com.sistema.examenes.perfilado.EstadisticaSentencia;
+import com.sistema.examenes.perfilado.PerfilSolicitud;
+import com.sistema.examenes.perfilado.PerfiladorSql;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Controlador REST que expone el perfilado de sentencias SQL de {@link PerfiladorSql}.
+ *
+ * Si {@code sistema.perfilado-sql.habilitado} no está activo, como ocurre por defecto,
+ * {@code SecurityConfig} rechaza estos endpoints; si lo está, solo los atiende desde la propia
+ * máquina y sin pasar por un proxy.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+@RestController
+@RequestMapping("/perfilado/sql")
+public class PerfiladoSqlController {
+
+    @Autowired
+    private PerfiladorSql perfiladorSql;
+
+    /**
+     * Obtiene los perfiles de las solicitudes recientes: sentencias, tiempos, posibles N+1 y
+     * sentencias lentas.
+     *
+     * @param soloAnomalias Si es {@code true}, solo devuelve las solicitudes con N+1 o sentencias lentas.
+     * @return Los perfiles, del más reciente al más antiguo.
+     */
+    @GetMapping("/solicitudes")
+    public List<PerfilSolicitud> listarSolicitudes(@RequestParam(name = "soloAnomalias", defaultValue = "false") boolean soloAnomalias) {
+        List<PerfilSolicitud> perfiles = perfiladorSql.getRecientes();
+        if (soloAnomalias) {
+            perfiles.removeIf(perfil -> !perfil.isNMasUno() && perfil.getSentenciasLentas().isEmpty());
+        }
+        return perfiles;
+    }
+
+    /**
+     * Obtiene la estadística acumulada de cada huella SQL.
+     *
+     * @return Las huellas, de mayor a menor tiempo total.
+     */
+    @GetMapping("/sentencias")
+    public List<EstadisticaSentencia> listarSentencias() {
+        return perfiladorSql.getEstadisticas();
+    }
+
+    /**
+     * Descarta el historial y las estadísticas acumuladas.
+     *
+     * @return 204 (No Content).
+     */
+    @DeleteMapping("/")
+    public ResponseEntity<Void> limpiar() {
+        perfiladorSql.limpiar();
+        return ResponseEntity.noContent().build();
+    }
+}
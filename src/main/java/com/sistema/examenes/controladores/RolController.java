@@ -0,0 +1,92 @@
+package com.sistema.examenes.controladores;
+
+import com.sistema.examenes.modelos.SolicitudAsignacionRol;
+import com.sistema.examenes.servicios.AsignacionRolService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * Controlador REST para la asignación y revocación masiva de roles.
+ *
+ * Los usuarios se seleccionan por una lista de nombres de usuario o por un filtro sobre
+ * {@code perfil} y {@code enable}, según {@link SolicitudAsignacionRol}. Las operaciones se
+ * delegan a {@link AsignacionRolService}. Una solicitud sin usuarios ni criterio de filtro, o con
+ * ambos, responde 400 (Bad Request) en lugar de aplicarse a todos los usuarios; una lista de
+ * usuarios vacía no afecta a ningún usuario.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+@RestController
+@RequestMapping("/roles")
+public class RolController {
+
+    @Autowired
+    private AsignacionRolService asignacionRolService;
+
+    /**
+     * Asigna un rol a un conjunto de usuarios.
+     *
+     * @param rolId El identificador del rol.
+     * @param solicitud Los usuarios a los que se asigna el rol.
+     * @return La cantidad de asignaciones creadas, o 400 (Bad Request) si el rol no existe o la
+     *         solicitud no selecciona usuarios.
+     */
+    @PostMapping("/{rolId}/usuarios")
+    public ResponseEntity<Map<String, Integer>> asignarRol(@PathVariable("rolId") Long rolId,
+                                                          @RequestBody SolicitudAsignacionRol solicitud) {
+        if (!esValida(solicitud)) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (solicitud.getUsernames() != null && solicitud.getUsernames().isEmpty()) {
+            return ResponseEntity.ok(Map.of("usuariosAfectados", 0));
+        }
+        try {
+            int afectados = solicitud.getUsernames() != null
+                    ? asignacionRolService.asignarRol(rolId, solicitud.getUsernames())
+                    : asignacionRolService.asignarRol(rolId, solicitud.getPerfil(), solicitud.getEnable());
+            return ResponseEntity.ok(Map.of("usuariosAfectados", afectados));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Revoca un rol a un conjunto de usuarios.
+     *
+     * @param rolId El identificador del rol.
+     * @param solicitud Los usuarios a los que se revoca el rol.
+     * @return La cantidad de asignaciones eliminadas, o 400 (Bad Request) si el rol no existe o la
+     *         solicitud no selecciona usuarios.
+     */
+    @PostMapping("/{rolId}/usuarios/revocar")
+    public ResponseEntity<Map<String, Integer>> revocarRol(@PathVariable("rolId") Long rolId,
+                                                          @RequestBody SolicitudAsignacionRol solicitud) {
+        if (!esValida(solicitud)) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (solicitud.getUsernames() != null && solicitud.getUsernames().isEmpty()) {
+            return ResponseEntity.ok(Map.of("usuariosAfectados", 0));
+        }
+        try {
+            int afectados = solicitud.getUsernames() != null
+                    ? asignacionRolService.revocarRol(rolId, solicitud.getUsernames())
+                    : asignacionRolService.revocarRol(rolId, solicitud.getPerfil(), solicitud.getEnable());
+            return ResponseEntity.ok(Map.of("usuariosAfectados", afectados));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Indica si la solicitud selecciona usuarios de una sola forma: por lista de nombres de usuario
+     * o por al menos un criterio de filtro.
+     */
+    private static boolean esValida(SolicitudAsignacionRol solicitud) {
+        boolean tieneFiltro = solicitud.getPerfil() != null || solicitud.getEnable() != null;
+        return solicitud.getUsernames() != null ? !tieneFiltro : tieneFiltro;
+    }
+}
@@ -1,20 +1,23 @@
 package com.sistema.examenes.controladores;
 
+import com.sistema.examenes.modelos.ActualizacionUsuario;
 import com.sistema.examenes.modelos.Rol;
 import com.sistema.examenes.modelos.Usuario;
 import com.sistema.examenes.modelos.UsuarioRol;
 import com.sistema.examenes.servicios.UsuarioService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 /**
  * Controlador REST para gestionar las operaciones relacionadas con los usuarios.
  *
- * Este controlador expone los endpoints para crear, obtener y eliminar usuarios.
+ * Este controlador expone los endpoints para crear, obtener, actualizar y eliminar usuarios.
  * Utiliza el servicio {@link UsuarioService} para delegar la lógica de negocio.
  *
  * Los endpoints de este controlador permiten manejar la creación de usuarios con roles
@@ -77,6 +80,34 @@ public class UsuarioController {
         return usuarioService.obtenerUsuario(username);
     }
 
+    /**
+     * Actualiza parcialmente un usuario basado en su nombre de usuario (username).
+     *
+     * Solo se modifican los campos presentes en el cuerpo ({@code nombre}, {@code apellido},
+     * {@code telefono}, {@code perfil} y {@code enable}); el cuerpo debe incluir la {@code version}
+     * del usuario leída previamente. Delega en {@link UsuarioService#actualizarUsuario}.
+     *
+     * @param username El nombre de usuario del usuario a actualizar. No puede ser nulo.
+     * @param cambios Los campos a actualizar y la versión del usuario.
+     * @return La nueva versión del usuario; 400 (Bad Request) si no hay campos o falta la versión,
+     *         404 (Not Found) si el usuario no existe o 409 (Conflict) si la versión no es la actual.
+     */
+    @PatchMapping("/{username}")
+    public ResponseEntity<Map<String, Object>> actualizarUsuario(@PathVariable("username") String username,
+                                                                 @RequestBody ActualizacionUsuario cambios) {
+        try {
+            Long version = usuarioService.actualizarUsuario(username, cambios);
+            if (version == null) {
+                return ResponseEntity.notFound().build();
+            }
+            return ResponseEntity.ok(Map.of("username", username, "version", version));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(409).build();
+        }
+    }
+
     /**
      * Elimina un usuario de la base de datos basado en su nombre de usuario.
      *
@@ -0,0 +1,60 @@
+package com.sistema.examenes.modelos;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Cuerpo de las solicitudes de actualización parcial de un {@link Usuario}.
+ *
+ * Solo se actualizan los campos que no son {@code null}; los demás conservan su valor. La
+ * {@link #version} es obligatoria y debe ser la última leída del usuario: si otro cambio la
+ * incrementó entre tanto, la actualización se rechaza.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActualizacionUsuario {
+
+    /**
+     * Nuevo nombre del usuario.
+     */
+    private String nombre;
+
+    /**
+     * Nuevo apellido del usuario.
+     */
+    private String apellido;
+
+    /**
+     * Nuevo teléfono del usuario.
+     */
+    private String telefono;
+
+    /**
+     * Nuevo perfil del usuario.
+     */
+    private String perfil;
+
+    /**
+     * Nuevo estado del usuario.
+     */
+    private Boolean enable;
+
+    /**
+     * Versión del usuario sobre la que se hicieron los cambios.
+     */
+    private Long version;
+
+    /**
+     * @return {@code true} si la solicitud no cambia ningún campo.
+     */
+    public boolean estaVacia() {
+        return nombre == null && apellido == null && telefono == null && perfil == null && enable == null;
+    }
+}
@@ -0,0 +1,64 @@
+package com.sistema.examenes.modelos;
+
+import java.util.Arrays;
+
+/**
+ * Banco de preguntas de un examen en forma compacta, pensado para mantenerse en caché.
+ *
+ * En lugar de entidades {@link Pregunta}, guarda únicamente los identificadores ordenados en un
+ * arreglo {@code long[]}, de modo que un banco de mil preguntas ocupa unos 8 KB y puede ser leído
+ * por muchos hilos a la vez sin sincronización. La instancia es inmutable.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+public final class BancoPreguntas {
+
+    private final long examenId;
+    private final long[] preguntaIds;
+    private final int preguntasPorEstudiante;
+
+    /**
+     * Crea el banco de un examen.
+     *
+     * @param examenId Identificador del examen.
+     * @param preguntaIds Identificadores de las preguntas del banco. Se copian y se ordenan para que
+     *                    la selección de cada estudiante no dependa del orden de la consulta.
+     * @param preguntasPorEstudiante Cantidad de preguntas por estudiante; si es mayor que el banco
+     *                               o no es positiva, se usa el banco completo.
+     */
+    public BancoPreguntas(long examenId, long[] preguntaIds, int preguntasPorEstudiante) {
+        this.examenId = examenId;
+        this.preguntaIds = preguntaIds.clone();
+        Arrays.sort(this.preguntaIds);
+        this.preguntasPorEstudiante = preguntasPorEstudiante <= 0 || preguntasPorEstudiante > preguntaIds.length
+                ? preguntaIds.length
+                : preguntasPorEstudiante;
+    }
+
+    public long getExamenId() {
+        return examenId;
+    }
+
+    /**
+     * @return Cantidad de preguntas en el banco.
+     */
+    public int tamano() {
+        return preguntaIds.length;
+    }
+
+    /**
+     * @return Cantidad de preguntas que recibe cada estudiante.
+     */
+    public int getPreguntasPorEstudiante() {
+        return preguntasPorEstudiante;
+    }
+
+    /**
+     * @param indice Posición dentro del banco ordenado.
+     * @return Identificador de la pregunta en esa posición.
+     */
+    public long preguntaEn(int indice) {
+        return preguntaIds[indice];
+    }
+}
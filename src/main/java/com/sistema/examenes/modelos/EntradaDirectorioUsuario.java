@@ -0,0 +1,52 @@
+package com.sistema.examenes.modelos;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Entrada del directorio global de usuarios, mapeada a la tabla {@code directorio_usuarios}.
+ *
+ * Con la fragmentación habilitada, el directorio vive en el shard 0 e indica en qué shard está
+ * guardado cada nombre de usuario. La clave primaria sobre {@link #username} garantiza que un
+ * nombre de usuario se reserve una sola vez entre todos los shards. Lo lee y escribe
+ * {@code EnrutadorShards} con sentencias JDBC; la entidad existe para que el esquema se cree junto
+ * con el resto de las tablas.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "directorio_usuarios")
+public class EntradaDirectorioUsuario {
+
+    /**
+     * Nombre de usuario reservado.
+     */
+    @Id
+    private String username;
+
+    /**
+     * Índice del shard en el que está guardado el usuario.
+     */
+    @Column(nullable = false)
+    private Integer shard;
+
+    /**
+     * Momento en que se reservó el nombre de usuario. Permite reconocer las reservas que dejó un
+     * alta interrumpida.
+     */
+    @Column(nullable = false)
+    private LocalDateTime fechaReserva;
+}
@@ -0,0 +1,114 @@
+package com.sistema.examenes.modelos;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Instantánea de las estadísticas de análisis de ítems de una {@link Pregunta}, mapeada a la
+ * tabla {@code estadisticas_preguntas}.
+ *
+ * Los contadores se acumulan en memoria a medida que se califican los envíos y se guardan
+ * periódicamente en esta tabla sumando lo acumulado desde la última vez, de modo que los totales
+ * incluyen los envíos de todas las instancias de la aplicación. Los puntajes se expresan en puntos básicos, de 0 a 10000, sobre el
+ * total del envío en el que se respondió la pregunta.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "estadisticas_preguntas")
+public class EstadisticaPregunta {
+
+    /**
+     * Identificador de la pregunta a la que pertenecen las estadísticas.
+     */
+    @Id
+    private Long preguntaId;
+
+    /**
+     * Cantidad de veces que la pregunta fue respondida.
+     */
+    private Long respuestas;
+
+    /**
+     * Cantidad de respuestas correctas.
+     */
+    private Long aciertos;
+
+    /**
+     * Suma de los puntajes de los envíos en los que la pregunta fue respondida correctamente.
+     */
+    private Long sumaPuntajeAciertos;
+
+    /**
+     * Suma de los puntajes de los envíos en los que la pregunta fue respondida incorrectamente.
+     */
+    private Long sumaPuntajeFallos;
+
+    /**
+     * Suma de los cuadrados de los puntajes de todos los envíos, usada para la desviación estándar.
+     */
+    private Long sumaCuadradosPuntaje;
+
+    /**
+     * Índice de dificultad: proporción de respuestas correctas, entre 0 y 1.
+     */
+    private Double dificultad;
+
+    /**
+     * Índice de discriminación: correlación punto-biserial entre acertar la pregunta y el puntaje
+     * del envío, entre -1 y 1. Es {@code null} mientras no haya aciertos y fallos con puntajes distintos.
+     */
+    private Double discriminacion;
+
+    /**
+     * Momento en que se tomó la instantánea.
+     */
+    private LocalDateTime fechaActualizacion;
+
+    /**
+     * Suma los contadores de otra instantánea a esta y recalcula los índices.
+     *
+     * @param otra La instantánea a sumar, normalmente la diferencia acumulada por una instancia.
+     */
+    public void acumular(EstadisticaPregunta otra) {
+        respuestas += otra.respuestas;
+        aciertos += otra.aciertos;
+        sumaPuntajeAciertos += otra.sumaPuntajeAciertos;
+        sumaPuntajeFallos += otra.sumaPuntajeFallos;
+        sumaCuadradosPuntaje += otra.sumaCuadradosPuntaje;
+        calcularIndices();
+    }
+
+    /**
+     * Calcula {@link #dificultad} y {@link #discriminacion} a partir de los contadores.
+     */
+    public void calcularIndices() {
+        long n = respuestas;
+        long a = Math.min(aciertos, n);
+        dificultad = n == 0 ? null : (double) a / n;
+        discriminacion = null;
+        long fallos = n - a;
+        if (a > 0 && fallos > 0) {
+            double media = (double) (sumaPuntajeAciertos + sumaPuntajeFallos) / n;
+            double varianza = (double) sumaCuadradosPuntaje / n - media * media;
+            if (varianza > 0) {
+                double p = (double) a / n;
+                double mediaAciertos = (double) sumaPuntajeAciertos / a;
+                double mediaFallos = (double) sumaPuntajeFallos / fallos;
+                discriminacion = (mediaAciertos - mediaFallos) / Math.sqrt(varianza) * Math.sqrt(p * (1 - p));
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.sistema.examenes.modelos;
+
+import com.sistema.examenes.sharding.IdentificadorGlobal;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Evento pendiente de publicación, mapeado a la tabla {@code outbox_eventos}.
+ *
+ * Los eventos se escriben en la misma transacción que el cambio del {@link Usuario} que los
+ * origina, por lo que un evento existe si y solo si el cambio fue confirmado. Un proceso en segundo
+ * plano los reclama en orden de {@link #id}, los entrega a los sistemas externos y los marca como enviados.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "outbox_eventos", indexes = @Index(name = "idx_outbox_eventos_enviado", columnList = "enviado, id"))
+public class EventoOutbox {
+
+    /**
+     * Identificador del evento en su shard. Define el orden de entrega dentro del shard; entre
+     * shards se repite, ver {@link #getIdGlobal()}.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * Tipo de evento.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(length = 40, nullable = false)
+    private TipoEventoUsuario tipo;
+
+    /**
+     * Identificador del usuario al que se refiere el evento, en el shard del usuario; ver
+     * {@link #getUsuarioIdGlobal()}.
+     */
+    private Long usuarioId;
+
+    /**
+     * Nombre de usuario al que se refiere el evento.
+     */
+    private String username;
+
+    /**
+     * Momento en que se registró el evento.
+     */
+    private LocalDateTime fechaCreacion;
+
+    /**
+     * Indica si el evento ya fue entregado.
+     */
+    @Builder.Default
+    private Boolean enviado = false;
+
+    /**
+     * Momento en que el evento fue entregado.
+     */
+    private LocalDateTime fechaEnvio;
+
+    /**
+     * Identificador del reclamo con el que una instancia del relay tomó el evento para entregarlo,
+     * o {@code null} si nadie lo reclamó.
+     */
+    @Column(length = 36)
+    private String reclamo;
+
+    /**
+     * Momento hasta el que vale el {@link #reclamo}. Después de esa fecha otra instancia puede
+     * volver a reclamar el evento, por ejemplo si la que lo tomó se detuvo antes de entregarlo.
+     */
+    private LocalDateTime reclamoHasta;
+
+    /**
+     * Shard de cuyo outbox se leyó el evento, que es también el shard del usuario. No se persiste:
+     * lo asigna el relay al reclamar el lote.
+     */
+    @Transient
+    private Integer shard;
+
+    /**
+     * Identificador del evento único entre todos los shards. {@link #id} se genera por separado en
+     * cada shard, así que los destinos descartan las entregas repetidas por este identificador.
+     *
+     * @return El identificador global del evento.
+     * @see IdentificadorGlobal
+     */
+    public long getIdGlobal() {
+        return IdentificadorGlobal.componer(shard == null ? 0 : shard, id);
+    }
+
+    /**
+     * Identificador del usuario único entre todos los shards; coincide con {@link Usuario#getIdGlobal()}.
+     *
+     * @return El identificador global del usuario, o {@code null} si el evento no tiene usuario.
+     */
+    public Long getUsuarioIdGlobal() {
+        return usuarioId == null ? null : IdentificadorGlobal.componer(shard == null ? 0 : shard, usuarioId);
+    }
+}
@@ -0,0 +1,54 @@
+package com.sistema.examenes.modelos;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Representa un examen en el sistema, mapeado a la tabla {@code examenes} en la base de datos.
+ *
+ * Un examen agrupa un banco de {@link Pregunta} del cual se extrae, para cada estudiante, un
+ * subconjunto aleatorio de {@link #numeroDePreguntas} preguntas.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "examenes")
+public class Examen {
+
+    /**
+     * Identificador único del examen.
+     * Este campo es la clave primaria en la tabla {@code examenes} y se genera automáticamente.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long examenId;
+
+    /**
+     * Título del examen.
+     */
+    private String titulo;
+
+    /**
+     * Descripción del examen.
+     */
+    private String descripcion;
+
+    /**
+     * Cantidad de preguntas que recibe cada estudiante.
+     * Si el banco tiene menos preguntas, cada estudiante recibe el banco completo en orden aleatorio.
+     */
+    private Integer numeroDePreguntas;
+
+    /**
+     * Indica si el examen está activo y puede ser presentado.
+     */
+    private Boolean activo = false;
+}
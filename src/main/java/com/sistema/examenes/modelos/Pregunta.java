@@ -0,0 +1,57 @@
+package com.sistema.examenes.modelos;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Representa una pregunta del banco de un {@link Examen}, mapeada a la tabla {@code preguntas}.
+ *
+ * Cada pregunta tiene un enunciado, cuatro opciones y la respuesta correcta. Las preguntas no se
+ * consultan por intento de examen: el banco se carga una sola vez por examen en
+ * {@link BancoPreguntas} y de ahí se derivan las preguntas de cada estudiante.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "preguntas")
+public class Pregunta {
+
+    /**
+     * Identificador único de la pregunta.
+     * Este campo es la clave primaria en la tabla {@code preguntas} y se genera automáticamente.
+     */
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long preguntaId;
+
+    /**
+     * Enunciado de la pregunta.
+     */
+    @Column(length = 5000)
+    private String contenido;
+
+    private String opcion1;
+    private String opcion2;
+    private String opcion3;
+    private String opcion4;
+
+    /**
+     * Opción correcta de la pregunta.
+     */
+    private String respuesta;
+
+    /**
+     * Examen al que pertenece la pregunta.
+     * Se establece una relación de muchos a uno con la entidad {@link Examen}.
+     */
+    @ManyToOne(fetch = FetchType.LAZY)
+    private Examen examen;
+}
@@ -0,0 +1,54 @@
+package com.sistema.examenes.modelos;
+
+import com.fasterxml.jackson.annotation.JsonAnySetter;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Cuerpo de las solicitudes de asignación y revocación masiva de un {@link Rol}.
+ *
+ * Los usuarios se seleccionan por una lista de nombres de usuario o, si la lista es nula, por un
+ * filtro sobre {@code perfil} y {@code enable}. Un criterio del filtro en {@code null} no filtra,
+ * pero el filtro debe indicar al menos uno. Las propiedades desconocidas se rechazan, para que un
+ * nombre mal escrito no deje la solicitud sin criterios.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SolicitudAsignacionRol {
+
+    /**
+     * Nombres de los usuarios a los que se aplica la operación.
+     */
+    private List<String> usernames;
+
+    /**
+     * Perfil que deben tener los usuarios, cuando no se indica {@link #usernames}.
+     */
+    private String perfil;
+
+    /**
+     * Estado que deben tener los usuarios, cuando no se indica {@link #usernames}.
+     */
+    private Boolean enable;
+
+    /**
+     * Rechaza las propiedades desconocidas del cuerpo, que Jackson ignora por defecto.
+     *
+     * @param nombre El nombre de la propiedad.
+     * @param valor El valor de la propiedad.
+     * @throws IllegalArgumentException Siempre; la solicitud responde 400 (Bad Request).
+     */
+    @JsonAnySetter
+    public void rechazarPropiedad(String nombre, Object valor) {
+        throw new IllegalArgumentException("Propiedad desconocida: " + nombre);
+    }
+}
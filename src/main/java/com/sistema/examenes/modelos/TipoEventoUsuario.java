@@ -0,0 +1,21 @@
+package com.sistema.examenes.modelos;
+
+/**
+ * Tipos de eventos del ciclo de vida de un {@link Usuario} que se publican a los sistemas externos
+ * a través de {@link EventoOutbox}.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+public enum TipoEventoUsuario {
+
+    /**
+     * El usuario fue creado.
+     */
+    USUARIO_CREADO,
+
+    /**
+     * El usuario fue eliminado.
+     */
+    USUARIO_ELIMINADO
+}
@@ -1,10 +1,14 @@
 package com.sistema.examenes.modelos;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.sistema.examenes.sharding.ContextoShard;
+import com.sistema.examenes.sharding.IdentificadorGlobal;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -27,7 +31,8 @@ import java.util.Set;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name ="usuarios")
+@Table(name = "usuarios", uniqueConstraints = @UniqueConstraint(name = "uk_usuarios_username",
+        columnNames = "username"))
 public class Usuario {
 
     /**
@@ -81,6 +86,22 @@ public class Usuario {
      */
     private String perfil;
 
+    /**
+     * Institución a la que pertenece el usuario.
+     * Es la clave de fragmentación: determina en qué shard de la base de datos se guarda el usuario.
+     */
+    private String institucion;
+
+    /**
+     * Versión del usuario para el control de concurrencia optimista.
+     * Se incrementa en cada actualización; una actualización que indique una versión anterior se
+     * rechaza en lugar de sobrescribir cambios ajenos. Las filas insertadas fuera de JPA comienzan en 0.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     /**
      * Relación de uno a muchos entre {@link Usuario} y {@link UsuarioRol}.
      * Un usuario puede tener múltiples roles a través de la entidad {@link UsuarioRol}.
@@ -91,4 +112,34 @@ public class Usuario {
      */
     @OneToMany(cascade = CascadeType.ALL, fetch = FetchType.EAGER, mappedBy = "usuario")
     private Set<UsuarioRol> usuarioRoles = new HashSet<>();
+
+    /**
+     * Shard del que se cargó o en el que se guardó el usuario. No se persiste: se toma de
+     * {@link ContextoShard} al cargar o insertar la fila.
+     */
+    @Transient
+    @JsonIgnore
+    private Integer shard;
+
+    /**
+     * Identificador del usuario único entre todos los shards, a diferencia de {@link #id}, que
+     * cada shard genera por separado. Es el que debe usarse fuera del shard, por ejemplo como
+     * semilla del examen del usuario.
+     *
+     * @return El identificador global, o {@code null} si el usuario no se ha guardado.
+     * @see IdentificadorGlobal
+     */
+    @JsonIgnore
+    public Long getIdGlobal() {
+        if (id == null) {
+            return null;
+        }
+        return IdentificadorGlobal.componer(shard == null ? IdentificadorGlobal.shardActual() : shard, id);
+    }
+
+    @PostLoad
+    @PostPersist
+    private void asignarShard() {
+        shard = IdentificadorGlobal.shardActual();
+    }
 }
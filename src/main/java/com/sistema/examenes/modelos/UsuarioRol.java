@@ -15,7 +15,8 @@ import lombok.NoArgsConstructor;
  * y un rol, lo cual permite asignar múltiples roles a un usuario y viceversa.
  *
  * Esta clase es gestionada por el ORM (Object-Relational Mapping), lo que permite que las relaciones
- * entre usuarios y roles sean persistidas de manera automática en la base de datos.
+ * entre usuarios y roles sean persistidas de manera automática en la base de datos. Un usuario no
+ * puede tener dos veces el mismo rol: la tabla tiene una clave única sobre el usuario y el rol.
  *
  * @author Jairo Bastidas
  * @since 16/03/2025
@@ -25,6 +26,8 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
+@Table(name = "usuario_rol", uniqueConstraints = @UniqueConstraint(name = "uk_usuario_rol_usuario_rol",
+        columnNames = {"usuario_id", "rol_rol_id"}))
 public class UsuarioRol {
 
     /**
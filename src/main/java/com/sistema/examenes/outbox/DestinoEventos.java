@@ -0,0 +1,35 @@
+package com.sistema.examenes.outbox;
+
+import com.sistema.examenes.modelos.EventoOutbox;
+
+import java.util.List;
+
+/**
+ * Destino al que {@link RelayOutbox} entrega los eventos del outbox, por ejemplo el LMS o el
+ * servicio de notificaciones.
+ *
+ * Para reemplazar el destino basta con declarar un bean que implemente esta interfaz; si no hay
+ * ninguno, se usa {@link DestinoEventosRegistro}.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+public interface DestinoEventos {
+
+    /**
+     * Entrega un lote de eventos.
+     *
+     * Cada lote viene de un solo shard y sus eventos llegan ordenados por identificador. Si este
+     * método lanza una excepción, ningún evento del lote se marca como enviado y el lote completo
+     * se vuelve a entregar en el siguiente ciclo. Un lote también se repite si la instancia que lo
+     * entregó se detiene antes de marcarlo, cuando vence su reclamo, por lo que el destino debe
+     * descartar los eventos que ya haya procesado. Los identificadores locales se repiten entre
+     * shards: el destino debe reconocer los eventos por {@link EventoOutbox#getIdGlobal()} y a los
+     * usuarios por {@link EventoOutbox#getUsuarioIdGlobal()} o por su nombre de usuario. Este
+     * método se llama fuera de toda transacción.
+     *
+     * @param eventos Los eventos a entregar, en orden.
+     * @throws Exception Si la entrega falla.
+     */
+    public void entregar(List<EventoOutbox> eventos) throws Exception;
+}
@@ -0,0 +1,27 @@
+package com.sistema.examenes.outbox;
+
+import com.sistema.examenes.modelos.EventoOutbox;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * Destino local por defecto, que solo escribe los eventos en el log. Se usa mientras no se
+ * configure un destino real.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+public class DestinoEventosRegistro implements DestinoEventos {
+
+    private static final Logger log = LoggerFactory.getLogger(DestinoEventosRegistro.class);
+
+    @Override
+    public void entregar(List<EventoOutbox> eventos) {
+        for (EventoOutbox evento : eventos) {
+            log.info("Evento {} {} usuario={} ({})", evento.getIdGlobal(), evento.getTipo(),
+                    evento.getUsername(), evento.getUsuarioIdGlobal());
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.sistema.examenes.outbox;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuración del outbox de eventos de usuario.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+@Configuration
+public class OutboxConfig {
+
+    /**
+     * Destino por defecto cuando la aplicación no declara otro {@link DestinoEventos}.
+     *
+     * @return Un destino que escribe los eventos en el log.
+     */
+    @Bean
+    @ConditionalOnMissingBean(DestinoEventos.class)
+    public DestinoEventos destinoEventos() {
+        return new DestinoEventosRegistro();
+    }
+}
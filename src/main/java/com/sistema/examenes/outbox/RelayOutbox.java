@@ -0,0 +1,167 @@
+package com.sistema.examenes.outbox;
+
+import com.sistema.examenes.modelos.EventoOutbox;
+import com.sistema.examenes.repositorios.EventoOutboxRepository;
+import com.sistema.examenes.sharding.ContextoShard;
+import com.sistema.examenes.sharding.EnrutadorShards;
+import com.sistema.examenes.sharding.IdentificadorGlobal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Proceso en segundo plano que publica los eventos del outbox.
+ *
+ * Periódicamente lee los eventos pendientes por lotes en orden de identificador, los entrega al
+ * {@link DestinoEventos} configurado y los marca como enviados con una sola sentencia por lote.
+ *
+ * Cada lote pasa por tres pasos y ninguna transacción queda abierta durante la entrega:
+ * <ol>
+ *     <li>En una transacción corta se leen los pendientes sin bloquearlos y se reclaman con un
+ *     identificador de reclamo y una fecha de vencimiento ({@code sistema.outbox.duracion-reclamo-ms}).</li>
+ *     <li>Fuera de toda transacción se entregan al destino, sin retener una conexión del pool ni
+ *     bloquear las inserciones del outbox mientras el destino responde.</li>
+ *     <li>En otra transacción corta se marcan como enviados.</li>
+ * </ol>
+ *
+ * Si varias instancias de la aplicación ejecutan el relay, una instancia no reclama nada mientras
+ * los pendientes más antiguos tengan un reclamo vigente de otra, y el reclamo solo se aplica si
+ * alcanza a todos los eventos leídos. Así los lotes se procesan uno tras otro aunque haya varias
+ * instancias, y los eventos de cada usuario se entregan en el orden en que fueron confirmados. La
+ * duración del reclamo debe superar con margen el tiempo de entrega de un lote y la diferencia
+ * entre los relojes de las instancias: un reclamo que vence durante la entrega permite que otra
+ * instancia entregue el mismo lote otra vez.
+ *
+ * Si la entrega falla el reclamo se libera y el lote se reintenta en el siguiente ciclo; si la
+ * aplicación se detiene antes de marcar el lote, este se vuelve a entregar cuando el reclamo vence.
+ * En ambos casos el destino consigue el efecto de una sola entrega descartando los identificadores
+ * ya procesados.
+ *
+ * Como los eventos se guardan en el shard del usuario, el relay recorre el outbox de cada shard.
+ * Los identificadores de los eventos se repiten entre shards, así que cada evento se entrega con
+ * su shard y los destinos lo identifican por {@link EventoOutbox#getIdGlobal()}.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+@Component
+public class RelayOutbox {
+
+    private static final Logger log = LoggerFactory.getLogger(RelayOutbox.class);
+
+    @Autowired
+    private EventoOutboxRepository eventoOutboxRepository;
+
+    @Autowired
+    private DestinoEventos destinoEventos;
+
+    @Autowired
+    private EnrutadorShards enrutadorShards;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${sistema.outbox.tamano-lote:500}")
+    private int tamanoLote;
+
+    @Value("${sistema.outbox.duracion-reclamo-ms:60000}")
+    private long duracionReclamoMs;
+
+    /**
+     * Publica todos los eventos pendientes de cada shard, lote por lote, hasta vaciar el outbox.
+     * Se ejecuta periódicamente según {@code sistema.outbox.intervalo-ms}.
+     */
+    @Scheduled(fixedDelayString = "${sistema.outbox.intervalo-ms:1000}",
+            initialDelayString = "${sistema.outbox.intervalo-ms:1000}")
+    public void publicarPendientes() {
+        for (int shard = 0; shard < enrutadorShards.getNumeroShards(); shard++) {
+            Integer anterior = ContextoShard.establecer(shard);
+            try {
+                while (publicarLote() == tamanoLote) {
+                    // Mientras los lotes salgan llenos puede haber más eventos pendientes
+                }
+            } catch (Exception e) {
+                log.warn("No se pudo entregar el lote de eventos del shard {}, se reintentará en el siguiente ciclo", shard, e);
+            } finally {
+                ContextoShard.restaurar(anterior);
+            }
+        }
+    }
+
+    /**
+     * Publica un lote de eventos pendientes del shard del hilo actual: lo reclama, lo entrega fuera
+     * de toda transacción y lo marca como enviado.
+     *
+     * @return La cantidad de eventos entregados, o cero si no hay pendientes o si otra instancia
+     * del relay está entregando los más antiguos.
+     * @throws Exception Si el destino no pudo entregar el lote; en ese caso ningún evento se marca.
+     */
+    public synchronized int publicarLote() throws Exception {
+        String reclamo = UUID.randomUUID().toString();
+        List<EventoOutbox> lote = transactionTemplate.execute(estado -> reclamarLote(reclamo, estado));
+        if (lote.isEmpty()) {
+            return 0;
+        }
+
+        try {
+            destinoEventos.entregar(lote);
+        } catch (Exception e) {
+            eventoOutboxRepository.liberarReclamo(reclamo);
+            throw e;
+        }
+
+        eventoOutboxRepository.marcarEnviados(identificadores(lote), LocalDateTime.now());
+        return lote.size();
+    }
+
+    /**
+     * Lee los eventos pendientes más antiguos y los reclama. Devuelve una lista vacía, sin reclamar
+     * nada, si alguno tiene un reclamo vigente o si otra instancia reclamó alguno entre la lectura y
+     * el reclamo: entregar los siguientes mientras otra instancia entrega los anteriores podría
+     * alterar el orden de los eventos de un usuario.
+     */
+    private List<EventoOutbox> reclamarLote(String reclamo, TransactionStatus estado) {
+        LocalDateTime ahora = LocalDateTime.now();
+        List<EventoOutbox> pendientes = eventoOutboxRepository.findByEnviadoFalseOrderByIdAsc(PageRequest.of(0, tamanoLote));
+        if (pendientes.isEmpty()) {
+            return pendientes;
+        }
+        for (EventoOutbox evento : pendientes) {
+            if (evento.getReclamoHasta() != null && !evento.getReclamoHasta().isBefore(ahora)) {
+                return List.of();
+            }
+        }
+
+        List<Long> ids = identificadores(pendientes);
+        LocalDateTime reclamoHasta = ahora.plus(Duration.ofMillis(duracionReclamoMs));
+        if (eventoOutboxRepository.reclamar(ids, reclamo, reclamoHasta, ahora) < ids.size()) {
+            estado.setRollbackOnly();
+            return List.of();
+        }
+        int shard = IdentificadorGlobal.shardActual();
+        for (EventoOutbox evento : pendientes) {
+            evento.setShard(shard);
+        }
+        return pendientes;
+    }
+
+    private static List<Long> identificadores(List<EventoOutbox> eventos) {
+        List<Long> ids = new ArrayList<>(eventos.size());
+        for (EventoOutbox evento : eventos) {
+            ids.add(evento.getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,137 @@
+package com.sistema.examenes.perfilado;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Data source que mide cada sentencia ejecutada a nivel JDBC y la informa a {@link PerfiladorSql}.
+ *
+ * Envuelve las conexiones y sentencias del data source real con proxies dinámicos que cronometran
+ * los métodos {@code execute*}. Al estar por debajo de Hibernate, también ve las consultas nativas
+ * y las de {@code JdbcTemplate}, y reemplaza a {@code spring.jpa.show-sql}: no escribe nada por
+ * sentencia, solo suma tiempos en memoria.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+public class DataSourcePerfilado extends DelegatingDataSource {
+
+    private final PerfiladorSql perfiladorSql;
+
+    public DataSourcePerfilado(DataSource dataSource, PerfiladorSql perfiladorSql) {
+        super(dataSource);
+        this.perfiladorSql = perfiladorSql;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return envolver(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return envolver(super.getConnection(username, password));
+    }
+
+    private Connection envolver(Connection conexion) {
+        return (Connection) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{Connection.class}, new ConexionPerfilada(conexion));
+    }
+
+    private static Object invocar(Object destino, Method metodo, Object[] argumentos) throws Throwable {
+        try {
+            return metodo.invoke(destino, argumentos);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    /**
+     * Devuelve sentencias perfiladas y deja pasar el resto de métodos de la conexión.
+     */
+    private class ConexionPerfilada implements InvocationHandler {
+
+        private final Connection conexion;
+
+        private ConexionPerfilada(Connection conexion) {
+            this.conexion = conexion;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] argumentos) throws Throwable {
+            switch (metodo.getName()) {
+                case "equals":
+                    return proxy == argumentos[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    break;
+            }
+
+            Object resultado = invocar(conexion, metodo, argumentos);
+            Class<?> tipo = switch (metodo.getName()) {
+                case "prepareCall" -> CallableStatement.class;
+                case "prepareStatement" -> PreparedStatement.class;
+                case "createStatement" -> Statement.class;
+                default -> null;
+            };
+            if (tipo == null) {
+                return resultado;
+            }
+            String sql = argumentos != null && argumentos.length > 0 && argumentos[0] instanceof String texto ? texto : null;
+            return Proxy.newProxyInstance(DataSourcePerfilado.class.getClassLoader(), new Class<?>[]{tipo},
+                    new SentenciaPerfilada((Statement) resultado, (Connection) proxy, sql));
+        }
+    }
+
+    /**
+     * Cronometra los métodos {@code execute*} de una sentencia.
+     */
+    private class SentenciaPerfilada implements InvocationHandler {
+
+        private final Statement sentencia;
+        private final Connection conexion;
+        private final String sqlPreparado;
+        private String sqlLote;
+
+        private SentenciaPerfilada(Statement sentencia, Connection conexion, String sqlPreparado) {
+            this.sentencia = sentencia;
+            this.conexion = conexion;
+            this.sqlPreparado = sqlPreparado;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] argumentos) throws Throwable {
+            String nombre = metodo.getName();
+            if (nombre.equals("getConnection")) {
+                return conexion;
+            }
+            if (nombre.equals("addBatch") && argumentos != null && argumentos.length == 1) {
+                sqlLote = (String) argumentos[0];
+            }
+            if (!nombre.startsWith("execute")) {
+                return invocar(sentencia, metodo, argumentos);
+            }
+
+            String sql = argumentos != null && argumentos.length > 0 && argumentos[0] instanceof String texto
+                    ? texto
+                    : sqlPreparado != null ? sqlPreparado : sqlLote;
+            long inicio = System.nanoTime();
+            try {
+                return invocar(sentencia, metodo, argumentos);
+            } finally {
+                perfiladorSql.registrar(sql, System.nanoTime() - inicio);
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.sistema.examenes.perfilado;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Acumulado de todas las ejecuciones de una huella SQL desde el inicio de la aplicación.
+ *
+ * Los contadores son {@link LongAdder}, igual que en las estadísticas de preguntas, para que las
+ * solicitudes concurrentes no compitan por la misma línea de caché.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+public class EstadisticaSentencia {
+
+    private final String huella;
+    private final LongAdder ejecuciones = new LongAdder();
+    private final LongAdder nanosTotales = new LongAdder();
+    private final LongAccumulator nanosMaximo = new LongAccumulator(Math::max, 0);
+
+    public EstadisticaSentencia(String huella) {
+        this.huella = huella;
+    }
+
+    void registrar(long nanos) {
+        ejecuciones.increment();
+        nanosTotales.add(nanos);
+        nanosMaximo.accumulate(nanos);
+    }
+
+    public String getHuella() {
+        return huella;
+    }
+
+    public long getEjecuciones() {
+        return ejecuciones.sum();
+    }
+
+    public double getTiempoTotalMs() {
+        return nanosTotales.sum() / 1_000_000.0;
+    }
+
+    public double getTiempoPromedioMs() {
+        long cantidad = ejecuciones.sum();
+        return cantidad == 0 ? 0 : nanosTotales.sum() / 1_000_000.0 / cantidad;
+    }
+
+    public double getTiempoMaximoMs() {
+        return nanosMaximo.get() / 1_000_000.0;
+    }
+}
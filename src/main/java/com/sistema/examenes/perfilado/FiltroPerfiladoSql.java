@@ -0,0 +1,57 @@
+package com.sistema.examenes.perfilado;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Abre un {@link PerfilSolicitud} por cada solicitud HTTP.
+ *
+ * El perfil se describe con el método y el patrón de la ruta ({@code GET /usuarios/{username}}),
+ * de modo que las solicitudes a un mismo endpoint se puedan comparar. Al terminar, el perfil queda
+ * en el atributo {@link #ATRIBUTO_PERFIL} de la solicitud, que es lo que usan las pruebas para
+ * afirmar cuántas sentencias ejecuta un endpoint. Las solicitudes al propio endpoint de perfilado
+ * no se registran.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+public class FiltroPerfiladoSql extends OncePerRequestFilter {
+
+    /**
+     * Atributo de la solicitud con el {@link PerfilSolicitud} ya cerrado.
+     */
+    public static final String ATRIBUTO_PERFIL = FiltroPerfiladoSql.class.getName() + ".perfil";
+
+    private final PerfiladorSql perfiladorSql;
+
+    public FiltroPerfiladoSql(PerfiladorSql perfiladorSql) {
+        this.perfiladorSql = perfiladorSql;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith(request.getContextPath() + "/perfilado/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        PerfilSolicitud perfil = perfiladorSql.iniciar(request.getMethod() + " " + request.getRequestURI());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            Object patron = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            if (patron != null) {
+                perfil.setDescripcion(request.getMethod() + " " + patron);
+            }
+            perfiladorSql.terminar();
+            request.setAttribute(ATRIBUTO_PERFIL, perfil);
+        }
+    }
+}
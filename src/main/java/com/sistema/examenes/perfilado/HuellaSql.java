@@ -0,0 +1,67 @@
+package com.sistema.examenes.perfilado;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+
+/**
+ * Normaliza sentencias SQL en huellas: la forma de la sentencia sin valores concretos.
+ *
+ * Se eliminan comentarios, se reemplazan literales de texto y números por {@code ?}, se colapsan
+ * las listas {@code IN (?, ?, ...)} y los {@code VALUES} de varias filas, y se unifican espacios y
+ * mayúsculas. Dos ejecuciones de la misma consulta con distintos parámetros producen la misma
+ * huella, que es lo que permite detectar patrones N+1.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+public final class HuellaSql {
+
+    private static final Pattern COMENTARIOS = Pattern.compile("/\\*.*?\\*/|--[^\\n]*", Pattern.DOTALL);
+    private static final Pattern TEXTOS = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMEROS = Pattern.compile("\\b\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern ESPACIOS = Pattern.compile("\\s+");
+    private static final Pattern LISTAS_IN = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern FILAS = Pattern.compile("(\\(\\?\\.\\.\\.\\)|\\(\\?\\))(?:\\s*,\\s*(?:\\(\\?\\.\\.\\.\\)|\\(\\?\\)))+");
+
+    /**
+     * Las sentencias de Hibernate son un conjunto finito, así que se guardan sus huellas para no
+     * repetir las expresiones regulares; el límite evita crecer sin fin con SQL que lleve literales.
+     */
+    private static final int MAXIMO_CACHE = 10_000;
+    private static final ConcurrentMap<String, String> CACHE = new ConcurrentHashMap<>();
+
+    private HuellaSql() {
+    }
+
+    /**
+     * Obtiene la huella de una sentencia.
+     *
+     * @param sql La sentencia tal como se envió al controlador JDBC.
+     * @return La sentencia normalizada.
+     */
+    public static String de(String sql) {
+        if (sql == null) {
+            return "";
+        }
+        String huella = CACHE.get(sql);
+        if (huella == null) {
+            huella = normalizar(sql);
+            if (CACHE.size() < MAXIMO_CACHE) {
+                CACHE.putIfAbsent(sql, huella);
+            }
+        }
+        return huella;
+    }
+
+    static String normalizar(String sql) {
+        String huella = COMENTARIOS.matcher(sql).replaceAll(" ");
+        huella = TEXTOS.matcher(huella).replaceAll("?");
+        huella = NUMEROS.matcher(huella).replaceAll("?");
+        huella = ESPACIOS.matcher(huella).replaceAll(" ").trim().toLowerCase(Locale.ROOT);
+        huella = LISTAS_IN.matcher(huella).replaceAll("(?...)");
+        huella = FILAS.matcher(huella).replaceAll("$1, ...");
+        return huella;
+    }
+}
@@ -0,0 +1,110 @@
+package com.sistema.examenes.perfilado;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Las sentencias SQL ejecutadas durante una solicitud HTTP (o un bloque medido en una prueba).
+ *
+ * Además de la lista de sentencias, señala dos anomalías: huellas que se repiten al menos
+ * {@code umbralRepeticiones} veces, típicas de un patrón N+1, y sentencias que superan el umbral de
+ * tiempo. Solo lo modifica el hilo de la solicitud mientras está activo.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+public class PerfilSolicitud {
+
+    private String descripcion;
+    private final LocalDateTime fecha = LocalDateTime.now();
+    private final List<SentenciaEjecutada> sentencias = new ArrayList<>();
+    private final int umbralRepeticiones;
+    private final long umbralLentaNanos;
+
+    public PerfilSolicitud(String descripcion, int umbralRepeticiones, long umbralLentaNanos) {
+        this.descripcion = descripcion;
+        this.umbralRepeticiones = umbralRepeticiones;
+        this.umbralLentaNanos = umbralLentaNanos;
+    }
+
+    void agregar(SentenciaEjecutada sentencia) {
+        sentencias.add(sentencia);
+    }
+
+    public String getDescripcion() {
+        return descripcion;
+    }
+
+    void setDescripcion(String descripcion) {
+        this.descripcion = descripcion;
+    }
+
+    public LocalDateTime getFecha() {
+        return fecha;
+    }
+
+    public List<SentenciaEjecutada> getSentencias() {
+        return Collections.unmodifiableList(sentencias);
+    }
+
+    public int getCantidadSentencias() {
+        return sentencias.size();
+    }
+
+    /**
+     * @return El tiempo total de ejecución de las sentencias, en milisegundos.
+     */
+    public double getTiempoSqlMs() {
+        long total = 0;
+        for (SentenciaEjecutada sentencia : sentencias) {
+            total += sentencia.getNanos();
+        }
+        return total / 1_000_000.0;
+    }
+
+    /**
+     * @return Las huellas ejecutadas al menos {@code umbralRepeticiones} veces, con su cantidad.
+     */
+    public Map<String, Integer> getRepeticiones() {
+        Map<String, Integer> cuentas = new LinkedHashMap<>();
+        for (SentenciaEjecutada sentencia : sentencias) {
+            cuentas.merge(sentencia.getHuella(), 1, Integer::sum);
+        }
+        cuentas.values().removeIf(cuenta -> cuenta < umbralRepeticiones);
+        return cuentas;
+    }
+
+    /**
+     * @return Las sentencias que tardaron más que el umbral configurado.
+     */
+    public List<SentenciaEjecutada> getSentenciasLentas() {
+        List<SentenciaEjecutada> lentas = new ArrayList<>();
+        for (SentenciaEjecutada sentencia : sentencias) {
+            if (sentencia.getNanos() > umbralLentaNanos) {
+                lentas.add(sentencia);
+            }
+        }
+        return lentas;
+    }
+
+    /**
+     * @return {@code true} si alguna sentencia se repitió lo suficiente para sospechar un N+1.
+     */
+    public boolean isNMasUno() {
+        return !getRepeticiones().isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder texto = new StringBuilder(descripcion).append(": ")
+                .append(sentencias.size()).append(" sentencias");
+        for (SentenciaEjecutada sentencia : sentencias) {
+            texto.append("\n  ").append(sentencia);
+        }
+        return texto.toString();
+    }
+}
@@ -0,0 +1,58 @@
+package com.sistema.examenes.perfilado;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+/**
+ * Configuración del perfilado de sentencias SQL.
+ *
+ * Con {@code sistema.perfilado-sql.habilitado=true} envuelve el data source de la aplicación en un
+ * {@link DataSourcePerfilado} y registra {@link FiltroPerfiladoSql} para todas las solicitudes.
+ * Cuando el sharding está activo se envuelve el data source enrutado, así que las consultas
+ * directas de {@code EnrutadorShards} a cada shard no se perfilan.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "sistema.perfilado-sql", name = "habilitado", havingValue = "true")
+public class PerfiladoSqlConfig {
+
+    /**
+     * Envuelve los data sources en {@link DataSourcePerfilado} después de inicializarlos. Es
+     * estático para que se registre antes de crear el data source.
+     *
+     * @param perfiladorSql El perfilador que recibe las sentencias.
+     * @return El post-procesador.
+     */
+    @Bean
+    public static BeanPostProcessor perfiladoDataSource(ObjectProvider<PerfiladorSql> perfiladorSql) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof DataSourcePerfilado)) {
+                    return new DataSourcePerfilado(dataSource, perfiladorSql.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * @param perfiladorSql El perfilador que recibe las sentencias.
+     * @return El filtro, después del control de admisión y antes de la cadena de seguridad.
+     */
+    @Bean
+    public FilterRegistrationBean<FiltroPerfiladoSql> filtroPerfiladoSql(PerfiladorSql perfiladorSql) {
+        FilterRegistrationBean<FiltroPerfiladoSql> registro = new FilterRegistrationBean<>(new FiltroPerfiladoSql(perfiladorSql));
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registro;
+    }
+}
@@ -0,0 +1,152 @@
+package com.sistema.examenes.perfilado;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Registra las sentencias SQL que ejecuta la aplicación, por solicitud y en total.
+ *
+ * {@link DataSourcePerfilado} informa cada sentencia con {@link #registrar(String, long)}. Si el
+ * hilo tiene un {@link PerfilSolicitud} activo (abierto por {@link FiltroPerfiladoSql} o por
+ * {@link #medir(String, Runnable)}), la sentencia se agrega a él; en todo caso se acumula en la
+ * estadística global de su huella. Al cerrar un perfil se registran en el log los posibles N+1 y
+ * las sentencias lentas, y se guarda en un historial acotado de solicitudes recientes.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+@Component
+public class PerfiladorSql {
+
+    private static final Logger log = LoggerFactory.getLogger(PerfiladorSql.class);
+
+    private static final ThreadLocal<PerfilSolicitud> ACTUAL = new ThreadLocal<>();
+
+    @Value("${sistema.perfilado-sql.umbral-lenta-ms:100}")
+    private long umbralLentaMs;
+
+    @Value("${sistema.perfilado-sql.umbral-repeticiones:3}")
+    private int umbralRepeticiones;
+
+    @Value("${sistema.perfilado-sql.historial:200}")
+    private int tamanoHistorial;
+
+    private final ConcurrentMap<String, EstadisticaSentencia> estadisticas = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedDeque<PerfilSolicitud> recientes = new ConcurrentLinkedDeque<>();
+    private final AtomicInteger cantidadRecientes = new AtomicInteger();
+
+    /**
+     * Registra la ejecución de una sentencia.
+     *
+     * @param sql La sentencia enviada al controlador JDBC.
+     * @param nanos El tiempo de ejecución en nanosegundos.
+     */
+    public void registrar(String sql, long nanos) {
+        String huella = HuellaSql.de(sql);
+        estadisticas.computeIfAbsent(huella, EstadisticaSentencia::new).registrar(nanos);
+
+        PerfilSolicitud perfil = ACTUAL.get();
+        if (perfil != null) {
+            perfil.agregar(new SentenciaEjecutada(huella, nanos));
+        }
+    }
+
+    /**
+     * Abre un perfil para el hilo actual.
+     *
+     * @param descripcion La descripción de la solicitud, por ejemplo {@code GET /usuarios/{username}}.
+     * @return El perfil abierto.
+     */
+    public PerfilSolicitud iniciar(String descripcion) {
+        PerfilSolicitud perfil = new PerfilSolicitud(descripcion, umbralRepeticiones, umbralLentaMs * 1_000_000);
+        ACTUAL.set(perfil);
+        return perfil;
+    }
+
+    /**
+     * Cierra el perfil del hilo actual, registra sus anomalías y lo agrega al historial.
+     *
+     * @return El perfil cerrado, o {@code null} si el hilo no tenía uno abierto.
+     */
+    public PerfilSolicitud terminar() {
+        PerfilSolicitud perfil = ACTUAL.get();
+        ACTUAL.remove();
+        if (perfil == null) {
+            return null;
+        }
+
+        for (Map.Entry<String, Integer> repeticion : perfil.getRepeticiones().entrySet()) {
+            log.warn("Posible N+1 en {}: la sentencia se ejecutó {} veces: {}",
+                    perfil.getDescripcion(), repeticion.getValue(), repeticion.getKey());
+        }
+        for (SentenciaEjecutada lenta : perfil.getSentenciasLentas()) {
+            log.warn("Sentencia lenta en {}: {}", perfil.getDescripcion(), lenta);
+        }
+
+        recientes.addFirst(perfil);
+        if (cantidadRecientes.incrementAndGet() > tamanoHistorial && recientes.pollLast() != null) {
+            cantidadRecientes.decrementAndGet();
+        }
+        return perfil;
+    }
+
+    /**
+     * Ejecuta una acción con su propio perfil. Pensado para pruebas y diagnósticos puntuales; si el
+     * hilo ya tenía un perfil abierto, se restaura al terminar.
+     *
+     * @param descripcion La descripción del bloque medido.
+     * @param accion La acción a medir.
+     * @return El perfil con las sentencias ejecutadas por la acción.
+     */
+    public PerfilSolicitud medir(String descripcion, Runnable accion) {
+        PerfilSolicitud anterior = ACTUAL.get();
+        iniciar(descripcion);
+        PerfilSolicitud perfil;
+        try {
+            accion.run();
+        } finally {
+            perfil = terminar();
+            if (anterior != null) {
+                ACTUAL.set(anterior);
+            }
+        }
+        return perfil;
+    }
+
+    /**
+     * @return Los perfiles de las solicitudes más recientes, de la más nueva a la más antigua.
+     */
+    public List<PerfilSolicitud> getRecientes() {
+        return new ArrayList<>(recientes);
+    }
+
+    /**
+     * @return La estadística acumulada de cada huella, ordenada por tiempo total descendente.
+     */
+    public List<EstadisticaSentencia> getEstadisticas() {
+        List<EstadisticaSentencia> lista = new ArrayList<>(estadisticas.values());
+        lista.sort(Comparator.comparingDouble(EstadisticaSentencia::getTiempoTotalMs).reversed());
+        return lista;
+    }
+
+    /**
+     * Descarta el historial de solicitudes y las estadísticas acumuladas.
+     */
+    public void limpiar() {
+        while (recientes.pollFirst() != null) {
+            cantidadRecientes.decrementAndGet();
+        }
+        estadisticas.clear();
+    }
+}
@@ -0,0 +1,41 @@
+package com.sistema.examenes.perfilado;
+
+/**
+ * Una sentencia ejecutada durante una solicitud: su huella y su tiempo de ejecución.
+ *
+ * Solo se guarda la huella y no el SQL original, para no exponer valores literales en el
+ * endpoint de perfilado.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+public final class SentenciaEjecutada {
+
+    private final String huella;
+    private final long nanos;
+
+    public SentenciaEjecutada(String huella, long nanos) {
+        this.huella = huella;
+        this.nanos = nanos;
+    }
+
+    public String getHuella() {
+        return huella;
+    }
+
+    public long getNanos() {
+        return nanos;
+    }
+
+    /**
+     * @return El tiempo de ejecución en milisegundos.
+     */
+    public double getTiempoMs() {
+        return nanos / 1_000_000.0;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%.3f ms  %s", getTiempoMs(), huella);
+    }
+}
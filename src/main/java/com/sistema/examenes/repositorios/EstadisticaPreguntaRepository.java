@@ -0,0 +1,20 @@
+package com.sistema.examenes.repositorios;
+
+import com.sistema.examenes.modelos.EstadisticaPregunta;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * Repositorio para la entidad {@link EstadisticaPregunta}.
+ *
+ * Esta interfaz extiende {@link JpaRepository} y se utiliza para guardar las instantáneas
+ * periódicas de las estadísticas de cada pregunta, sumándolas con
+ * {@link EstadisticaPreguntaRepositoryCustom#sumar}.
+ *
+ * @see JpaRepository
+ * @see EstadisticaPregunta
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+public interface EstadisticaPreguntaRepository extends JpaRepository<EstadisticaPregunta,Long>, EstadisticaPreguntaRepositoryCustom {
+
+}
@@ -0,0 +1,25 @@
+package com.sistema.examenes.repositorios;
+
+import com.sistema.examenes.modelos.EstadisticaPregunta;
+import jakarta.transaction.Transactional;
+
+import java.util.List;
+
+/**
+ * Operaciones de {@link EstadisticaPreguntaRepository} que no pueden expresarse con una consulta fija.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+public interface EstadisticaPreguntaRepositoryCustom {
+
+    /**
+     * Suma a las estadísticas guardadas los contadores acumulados por una instancia, en una sola
+     * transacción. Las filas existentes se bloquean antes de sumar, así que varias instancias pueden
+     * guardar al mismo tiempo sin pisarse; las preguntas sin fila se insertan.
+     *
+     * @param diferencias Los contadores acumulados desde el último guardado, por pregunta.
+     */
+    @Transactional
+    public void sumar(List<EstadisticaPregunta> diferencias);
+}
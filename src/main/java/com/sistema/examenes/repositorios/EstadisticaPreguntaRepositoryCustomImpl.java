@@ -0,0 +1,68 @@
+package com.sistema.examenes.repositorios;
+
+import com.sistema.examenes.modelos.EstadisticaPregunta;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implementación de {@link EstadisticaPreguntaRepositoryCustom}.
+ *
+ * Las filas se leen con {@code SELECT ... FOR UPDATE} en bloques y en orden de identificador, de
+ * modo que dos instancias que guardan a la vez toman los bloqueos en el mismo orden y no se
+ * interbloquean. Si dos instancias insertan a la vez la misma pregunta nueva, una falla por la
+ * clave primaria y su transacción se revierte; esa instancia vuelve a intentarlo en el siguiente
+ * guardado, cuando la fila ya existe.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+public class EstadisticaPreguntaRepositoryCustomImpl implements EstadisticaPreguntaRepositoryCustom {
+
+    /**
+     * Cantidad máxima de preguntas por consulta.
+     */
+    private static final int BLOQUE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public void sumar(List<EstadisticaPregunta> diferencias) {
+        List<EstadisticaPregunta> ordenadas = new ArrayList<>(diferencias);
+        ordenadas.sort(Comparator.comparing(EstadisticaPregunta::getPreguntaId));
+        LocalDateTime ahora = LocalDateTime.now();
+
+        for (int desde = 0; desde < ordenadas.size(); desde += BLOQUE) {
+            List<EstadisticaPregunta> bloque = ordenadas.subList(desde, Math.min(desde + BLOQUE, ordenadas.size()));
+            List<Long> ids = bloque.stream().map(EstadisticaPregunta::getPreguntaId).toList();
+
+            Map<Long, EstadisticaPregunta> guardadas = new HashMap<>();
+            entityManager.createQuery("select e from EstadisticaPregunta e where e.preguntaId in :ids "
+                            + "order by e.preguntaId", EstadisticaPregunta.class)
+                    .setParameter("ids", ids)
+                    .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                    .getResultList()
+                    .forEach(estadistica -> guardadas.put(estadistica.getPreguntaId(), estadistica));
+
+            for (EstadisticaPregunta diferencia : bloque) {
+                EstadisticaPregunta guardada = guardadas.get(diferencia.getPreguntaId());
+                if (guardada == null) {
+                    diferencia.calcularIndices();
+                    diferencia.setFechaActualizacion(ahora);
+                    entityManager.persist(diferencia);
+                } else {
+                    guardada.acumular(diferencia);
+                    guardada.setFechaActualizacion(ahora);
+                }
+            }
+        }
+    }
+}
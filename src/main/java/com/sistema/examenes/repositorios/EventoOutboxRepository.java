@@ -0,0 +1,78 @@
+package com.sistema.examenes.repositorios;
+
+import com.sistema.examenes.modelos.EventoOutbox;
+import jakarta.transaction.Transactional;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repositorio para la entidad {@link EventoOutbox}.
+ *
+ * Además de las operaciones CRUD básicas, expone las consultas que usa el relay del outbox para
+ * leer los eventos pendientes por lotes, reclamarlos y marcarlos como enviados con una sola sentencia.
+ *
+ * @see JpaRepository
+ * @see EventoOutbox
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+public interface EventoOutboxRepository extends JpaRepository<EventoOutbox,Long> {
+
+    /**
+     * Obtiene un lote de eventos pendientes en orden de creación, sin bloquearlos. Para entregarlos
+     * el relay primero los reclama con {@link #reclamar}.
+     *
+     * @param pagina El tamaño del lote, por ejemplo {@code PageRequest.of(0, 500)}.
+     * @return Los eventos pendientes más antiguos, ordenados por identificador.
+     */
+    public List<EventoOutbox> findByEnviadoFalseOrderByIdAsc(Pageable pagina);
+
+    /**
+     * Reclama un conjunto de eventos pendientes para entregarlos. Solo actualiza los que siguen sin
+     * enviar y no tienen un reclamo vigente, así que si otra instancia del relay los reclamó antes
+     * la cantidad devuelta es menor que la de identificadores. Debe llamarse dentro de una
+     * transacción.
+     *
+     * @param ids Los identificadores de los eventos a reclamar.
+     * @param reclamo El identificador del reclamo.
+     * @param reclamoHasta El momento hasta el que vale el reclamo.
+     * @param ahora El momento actual, para reconocer los reclamos vencidos.
+     * @return La cantidad de eventos reclamados.
+     */
+    @Modifying
+    @Query("update EventoOutbox e set e.reclamo = :reclamo, e.reclamoHasta = :reclamoHasta "
+            + "where e.id in :ids and e.enviado = false and (e.reclamoHasta is null or e.reclamoHasta < :ahora)")
+    public int reclamar(@Param("ids") Collection<Long> ids, @Param("reclamo") String reclamo,
+                        @Param("reclamoHasta") LocalDateTime reclamoHasta, @Param("ahora") LocalDateTime ahora);
+
+    /**
+     * Libera los eventos de un reclamo que no se pudo entregar, para que se reintenten de inmediato
+     * sin esperar a que el reclamo venza.
+     *
+     * @param reclamo El identificador del reclamo.
+     * @return La cantidad de eventos liberados.
+     */
+    @Transactional
+    @Modifying
+    @Query("update EventoOutbox e set e.reclamo = null, e.reclamoHasta = null where e.reclamo = :reclamo and e.enviado = false")
+    public int liberarReclamo(@Param("reclamo") String reclamo);
+
+    /**
+     * Marca un conjunto de eventos como enviados.
+     *
+     * @param ids Los identificadores de los eventos entregados.
+     * @param fechaEnvio El momento de la entrega.
+     * @return La cantidad de eventos actualizados.
+     */
+    @Transactional
+    @Modifying
+    @Query("update EventoOutbox e set e.enviado = true, e.fechaEnvio = :fechaEnvio where e.id in :ids")
+    public int marcarEnviados(@Param("ids") Collection<Long> ids, @Param("fechaEnvio") LocalDateTime fechaEnvio);
+}
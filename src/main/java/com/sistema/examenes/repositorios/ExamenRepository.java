@@ -0,0 +1,19 @@
+package com.sistema.examenes.repositorios;
+
+import com.sistema.examenes.modelos.Examen;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+/**
+ * Repositorio para la entidad {@link Examen}.
+ *
+ * Esta interfaz extiende {@link JpaRepository} y proporciona operaciones CRUD básicas
+ * para la entidad {@link Examen}.
+ *
+ * @see JpaRepository
+ * @see Examen
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+public interface ExamenRepository extends JpaRepository<Examen,Long> {
+
+}
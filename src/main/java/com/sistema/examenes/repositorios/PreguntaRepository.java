@@ -0,0 +1,32 @@
+package com.sistema.examenes.repositorios;
+
+import com.sistema.examenes.modelos.Pregunta;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+/**
+ * Repositorio para la entidad {@link Pregunta}.
+ *
+ * Además de las operaciones CRUD básicas, expone una consulta que devuelve solo los
+ * identificadores de las preguntas de un examen, usada para construir el banco de preguntas
+ * sin materializar las entidades.
+ *
+ * @see JpaRepository
+ * @see Pregunta
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+public interface PreguntaRepository extends JpaRepository<Pregunta,Long> {
+
+    /**
+     * Obtiene los identificadores de las preguntas que pertenecen a un examen.
+     *
+     * @param examenId El identificador del examen.
+     * @return Los identificadores de sus preguntas, ordenados de forma ascendente.
+     */
+    @Query("select p.preguntaId from Pregunta p where p.examen.examenId = :examenId order by p.preguntaId")
+    public List<Long> findPreguntaIdsByExamenId(@Param("examenId") Long examenId);
+}
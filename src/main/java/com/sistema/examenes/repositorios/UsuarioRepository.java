@@ -1,14 +1,21 @@
 package com.sistema.examenes.repositorios;
 
 import com.sistema.examenes.modelos.Usuario;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 /**
  * Repositorio para la entidad {@link Usuario}.
  *
  * Esta interfaz extiende {@link JpaRepository} y proporciona operaciones CRUD básicas
  * para la entidad {@link Usuario}, como guardar, buscar, actualizar y eliminar usuarios.
- * Además, se incluyen métodos personalizados para la búsqueda de usuarios por su nombre de usuario.
+ * Además, se incluyen métodos personalizados para la búsqueda de usuarios por su nombre de usuario
+ * y, en {@link UsuarioRepositoryCustom}, la actualización parcial de un usuario.
  *
  * @see JpaRepository
  * @see Usuario
@@ -16,7 +23,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
  * @author Jairo Bastidas
  * @since 16/03/2025
  */
-public interface UsuarioRepository extends JpaRepository<Usuario,Long> {
+public interface UsuarioRepository extends JpaRepository<Usuario,Long>, UsuarioRepositoryCustom {
 
     /**
      * Busca un usuario en la base de datos utilizando su nombre de usuario (username).
@@ -31,4 +38,52 @@ public interface UsuarioRepository extends JpaRepository<Usuario,Long> {
      *         no se encuentra un usuario con ese nombre de usuario.
      */
     public Usuario findByUsername(String username);
+
+    /**
+     * Indica si existe un usuario con el nombre de usuario dado, sin cargarlo ni cargar sus roles.
+     *
+     * @param username El nombre de usuario.
+     * @return {@code true} si el usuario existe.
+     */
+    public boolean existsByUsername(String username);
+
+    /**
+     * Obtiene los nombres de usuario posteriores al dado, en orden alfabético. Se usa para recorrer
+     * la tabla por páginas sin desplazamientos; los usuarios de cada página se cargan después con
+     * {@link #findConRolesByUsernameIn(Collection)}.
+     *
+     * @param username El último nombre de usuario leído; se usa {@code ""} para comenzar.
+     * @param pagina El tamaño de página, por ejemplo {@code PageRequest.of(0, 500)}.
+     * @return Los siguientes nombres de usuario.
+     */
+    @Query("select u.username from Usuario u where u.username > :username order by u.username")
+    public List<String> findUsernamesDespuesDe(@Param("username") String username, Pageable pagina);
+
+    /**
+     * Obtiene los usuarios indicados junto con sus roles en una sola consulta, en orden alfabético.
+     * Sin el {@code join fetch}, la colección {@code usuarioRoles} (EAGER) se cargaría con una
+     * consulta por usuario.
+     *
+     * @param usernames Los nombres de usuario.
+     * @return Los usuarios que existen, con sus roles.
+     */
+    @Query("select u from Usuario u left join fetch u.usuarioRoles ur left join fetch ur.rol "
+            + "where u.username in :usernames order by u.username")
+    public List<Usuario> findConRolesByUsernameIn(@Param("usernames") Collection<String> usernames);
+
+    /**
+     * Obtiene el menor identificador de usuario, usado para recorrer la tabla por rangos.
+     *
+     * @return El menor identificador, o {@code null} si no hay usuarios.
+     */
+    @Query("select min(u.id) from Usuario u")
+    public Long findMinId();
+
+    /**
+     * Obtiene el mayor identificador de usuario, usado para recorrer la tabla por rangos.
+     *
+     * @return El mayor identificador, o {@code null} si no hay usuarios.
+     */
+    @Query("select max(u.id) from Usuario u")
+    public Long findMaxId();
 }
@@ -0,0 +1,24 @@
+package com.sistema.examenes.repositorios;
+
+import com.sistema.examenes.modelos.ActualizacionUsuario;
+import jakarta.transaction.Transactional;
+
+/**
+ * Operaciones de {@link UsuarioRepository} que no pueden expresarse con una consulta fija.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+public interface UsuarioRepositoryCustom {
+
+    /**
+     * Actualiza solo los campos indicados de un usuario con una única sentencia {@code UPDATE}, sin
+     * cargar la entidad ni sus roles, e incrementa su versión.
+     *
+     * @param username El nombre de usuario.
+     * @param cambios Los campos a actualizar; debe tener al menos uno y la versión esperada.
+     * @return 1 si se actualizó el usuario, o 0 si no existe o su versión no es la esperada.
+     */
+    @Transactional
+    public int actualizarParcial(String username, ActualizacionUsuario cambios);
+}
@@ -0,0 +1,65 @@
+package com.sistema.examenes.repositorios;
+
+import com.sistema.examenes.modelos.ActualizacionUsuario;
+import com.sistema.examenes.modelos.Usuario;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.hibernate.query.NativeQuery;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implementación de {@link UsuarioRepositoryCustom}.
+ *
+ * La sentencia se arma con las columnas de los campos presentes, siempre en el mismo orden, de
+ * modo que cada combinación de campos produce el mismo texto SQL y reutiliza su sentencia
+ * preparada. Igual que las sentencias {@code @Modifying(flushAutomatically = true,
+ * clearAutomatically = true)} de los demás repositorios, vacía el contexto de persistencia antes
+ * de ejecutarse y lo limpia después, para que ninguna entidad {@link Usuario} cargada conserve los
+ * valores anteriores. La consulta se sincroniza solo con {@link Usuario}, así que de existir una
+ * caché de segundo nivel se invalidaría únicamente su región.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+public class UsuarioRepositoryCustomImpl implements UsuarioRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int actualizarParcial(String username, ActualizacionUsuario cambios) {
+        StringBuilder sql = new StringBuilder("UPDATE usuarios SET ");
+        List<Object> valores = new ArrayList<>();
+        agregar(sql, valores, "nombre", cambios.getNombre());
+        agregar(sql, valores, "apellido", cambios.getApellido());
+        agregar(sql, valores, "telefono", cambios.getTelefono());
+        agregar(sql, valores, "perfil", cambios.getPerfil());
+        agregar(sql, valores, "enable", cambios.getEnable());
+        if (valores.isEmpty()) {
+            throw new IllegalArgumentException("La actualización no tiene campos.");
+        }
+        sql.append("version = version + 1 WHERE username = ? AND version = ?");
+        valores.add(username);
+        valores.add(cambios.getVersion());
+
+        entityManager.flush();
+        Query consulta = entityManager.createNativeQuery(sql.toString());
+        consulta.unwrap(NativeQuery.class).addSynchronizedEntityClass(Usuario.class);
+        for (int i = 0; i < valores.size(); i++) {
+            consulta.setParameter(i + 1, valores.get(i));
+        }
+        int filas = consulta.executeUpdate();
+        entityManager.clear();
+        return filas;
+    }
+
+    private static void agregar(StringBuilder sql, List<Object> valores, String columna, Object valor) {
+        if (valor != null) {
+            sql.append(columna).append(" = ?, ");
+            valores.add(valor);
+        }
+    }
+}
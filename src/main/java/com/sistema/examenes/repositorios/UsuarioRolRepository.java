@@ -0,0 +1,119 @@
+package com.sistema.examenes.repositorios;
+
+import com.sistema.examenes.modelos.UsuarioRol;
+import jakarta.transaction.Transactional;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+
+/**
+ * Repositorio para la entidad {@link UsuarioRol}.
+ *
+ * Además de las operaciones CRUD básicas, expone sentencias por conjuntos para asignar o revocar
+ * un rol a muchos usuarios a la vez sin materializar las entidades. Cada sentencia se ejecuta en
+ * su propia transacción y limpia el contexto de persistencia al terminar, de modo que ninguna
+ * entidad {@link com.sistema.examenes.modelos.Usuario} cargada conserve roles desactualizados.
+ *
+ * Las sentencias se escriben en SQL nativo sobre las tablas {@code usuarios} y {@code usuario_rol}.
+ *
+ * @see JpaRepository
+ * @see UsuarioRol
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+public interface UsuarioRolRepository extends JpaRepository<UsuarioRol,Long> {
+
+    /**
+     * Asigna un rol a los usuarios indicados que todavía no lo tengan.
+     *
+     * @param rolId El identificador del rol.
+     * @param usernames Los nombres de usuario; los que no existan se ignoran.
+     * @return La cantidad de asignaciones creadas.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "INSERT INTO usuario_rol (usuario_id, rol_rol_id) "
+            + "SELECT u.id, :rolId FROM usuarios u "
+            + "WHERE u.username IN (:usernames) "
+            + "AND NOT EXISTS (SELECT 1 FROM usuario_rol ur WHERE ur.usuario_id = u.id AND ur.rol_rol_id = :rolId)",
+            nativeQuery = true)
+    public int asignarRolPorUsernames(@Param("rolId") Long rolId, @Param("usernames") Collection<String> usernames);
+
+    /**
+     * Revoca un rol a los usuarios indicados.
+     *
+     * @param rolId El identificador del rol.
+     * @param usernames Los nombres de usuario; los que no existan o no tengan el rol se ignoran.
+     * @return La cantidad de asignaciones eliminadas.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM usuario_rol "
+            + "WHERE rol_rol_id = :rolId "
+            + "AND usuario_id IN (SELECT u.id FROM usuarios u WHERE u.username IN (:usernames))",
+            nativeQuery = true)
+    public int revocarRolPorUsernames(@Param("rolId") Long rolId, @Param("usernames") Collection<String> usernames);
+
+    /**
+     * Asigna un rol a los usuarios de un rango de identificadores que cumplan el filtro y todavía
+     * no lo tengan.
+     *
+     * @param rolId El identificador del rol.
+     * @param desde Primer identificador de usuario del rango, inclusive.
+     * @param hasta Último identificador de usuario del rango, exclusivo.
+     * @param filtrarPerfil Si se debe filtrar por {@code perfil}.
+     * @param perfil El perfil requerido; se ignora si {@code filtrarPerfil} es {@code false}.
+     * @param filtrarEnable Si se debe filtrar por {@code enable}.
+     * @param enable El estado requerido; se ignora si {@code filtrarEnable} es {@code false}.
+     * @return La cantidad de asignaciones creadas.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "INSERT INTO usuario_rol (usuario_id, rol_rol_id) "
+            + "SELECT u.id, :rolId FROM usuarios u "
+            + "WHERE u.id >= :desde AND u.id < :hasta "
+            + "AND (:filtrarPerfil = FALSE OR u.perfil = :perfil) "
+            + "AND (:filtrarEnable = FALSE OR u.enable = :enable) "
+            + "AND NOT EXISTS (SELECT 1 FROM usuario_rol ur WHERE ur.usuario_id = u.id AND ur.rol_rol_id = :rolId)",
+            nativeQuery = true)
+    public int asignarRolPorFiltro(@Param("rolId") Long rolId,
+                                   @Param("desde") Long desde,
+                                   @Param("hasta") Long hasta,
+                                   @Param("filtrarPerfil") boolean filtrarPerfil,
+                                   @Param("perfil") String perfil,
+                                   @Param("filtrarEnable") boolean filtrarEnable,
+                                   @Param("enable") boolean enable);
+
+    /**
+     * Revoca un rol a los usuarios de un rango de identificadores que cumplan el filtro.
+     *
+     * @param rolId El identificador del rol.
+     * @param desde Primer identificador de usuario del rango, inclusive.
+     * @param hasta Último identificador de usuario del rango, exclusivo.
+     * @param filtrarPerfil Si se debe filtrar por {@code perfil}.
+     * @param perfil El perfil requerido; se ignora si {@code filtrarPerfil} es {@code false}.
+     * @param filtrarEnable Si se debe filtrar por {@code enable}.
+     * @param enable El estado requerido; se ignora si {@code filtrarEnable} es {@code false}.
+     * @return La cantidad de asignaciones eliminadas.
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(value = "DELETE FROM usuario_rol "
+            + "WHERE rol_rol_id = :rolId "
+            + "AND usuario_id >= :desde AND usuario_id < :hasta "
+            + "AND usuario_id IN (SELECT u.id FROM usuarios u "
+            + "WHERE u.id >= :desde AND u.id < :hasta "
+            + "AND (:filtrarPerfil = FALSE OR u.perfil = :perfil) "
+            + "AND (:filtrarEnable = FALSE OR u.enable = :enable))",
+            nativeQuery = true)
+    public int revocarRolPorFiltro(@Param("rolId") Long rolId,
+                                   @Param("desde") Long desde,
+                                   @Param("hasta") Long hasta,
+                                   @Param("filtrarPerfil") boolean filtrarPerfil,
+                                   @Param("perfil") String perfil,
+                                   @Param("filtrarEnable") boolean filtrarEnable,
+                                   @Param("enable") boolean enable);
+}
@@ -0,0 +1,66 @@
+package com.sistema.examenes.servicios;
+
+import java.util.List;
+
+/**
+ * Interfaz que define la asignación y revocación masiva de roles.
+ *
+ * A diferencia de construir un {@link com.sistema.examenes.modelos.UsuarioRol} por usuario, estas
+ * operaciones se ejecutan como sentencias por conjuntos sobre la tabla {@code usuario_rol}, en
+ * bloques acotados para no mantener bloqueos largos sobre la tabla.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+public interface AsignacionRolService {
+
+    /**
+     * Asigna un rol a los usuarios indicados. Los usuarios que ya lo tienen o que no existen se omiten.
+     *
+     * @param rolId El identificador del rol.
+     * @param usernames Los nombres de usuario.
+     *
+     * @return La cantidad de asignaciones creadas.
+     *
+     * @throws IllegalArgumentException Si el rol no existe.
+     */
+    public int asignarRol(Long rolId, List<String> usernames);
+
+    /**
+     * Revoca un rol a los usuarios indicados.
+     *
+     * @param rolId El identificador del rol.
+     * @param usernames Los nombres de usuario.
+     *
+     * @return La cantidad de asignaciones eliminadas.
+     *
+     * @throws IllegalArgumentException Si el rol no existe.
+     */
+    public int revocarRol(Long rolId, List<String> usernames);
+
+    /**
+     * Asigna un rol a todos los usuarios que cumplan el filtro. Los que ya lo tienen se omiten.
+     *
+     * @param rolId El identificador del rol.
+     * @param perfil El perfil requerido, o {@code null} para no filtrar por perfil.
+     * @param enable El estado requerido, o {@code null} para no filtrar por estado.
+     *
+     * @return La cantidad de asignaciones creadas.
+     *
+     * @throws IllegalArgumentException Si el rol no existe o si {@code perfil} y {@code enable} son {@code null}.
+     */
+    public int asignarRol(Long rolId, String perfil, Boolean enable);
+
+    /**
+     * Revoca un rol a todos los usuarios que cumplan el filtro.
+     *
+     * @param rolId El identificador del rol.
+     * @param perfil El perfil requerido, o {@code null} para no filtrar por perfil.
+     * @param enable El estado requerido, o {@code null} para no filtrar por estado.
+     *
+     * @return La cantidad de asignaciones eliminadas.
+     *
+     * @throws IllegalArgumentException Si el rol no existe o si {@code perfil} y {@code enable} son {@code null}.
+     */
+    public int revocarRol(Long rolId, String perfil, Boolean enable);
+}
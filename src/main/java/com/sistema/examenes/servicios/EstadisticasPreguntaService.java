@@ -0,0 +1,55 @@
+package com.sistema.examenes.servicios;
+
+import com.sistema.examenes.modelos.EstadisticaPregunta;
+
+import java.util.List;
+
+/**
+ * Interfaz que define la agregación en vivo de estadísticas de análisis de ítems por pregunta.
+ *
+ * Cada envío calificado actualiza contadores en memoria, de modo que la dificultad y la
+ * discriminación de cada pregunta se pueden consultar mientras el examen está en curso sin recorrer
+ * las respuestas en la base de datos. Las consultas devuelven lo acumulado por esta instancia desde
+ * su arranque; periódicamente, lo acumulado desde el último guardado se suma a los totales de
+ * {@link EstadisticaPregunta} en la base de datos, que reúnen todas las instancias.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+public interface EstadisticasPreguntaService {
+
+    /**
+     * Registra un envío calificado.
+     *
+     * El puntaje del envío es la proporción de respuestas correctas, y se acumula en cada una de
+     * las preguntas respondidas.
+     *
+     * @param preguntaIds Los identificadores de las preguntas respondidas en el envío.
+     * @param correctas Para cada pregunta, en la misma posición, si la respuesta fue correcta.
+     *
+     * @throws IllegalArgumentException Si los arreglos tienen longitudes distintas.
+     */
+    public void registrarEnvio(long[] preguntaIds, boolean[] correctas);
+
+    /**
+     * Obtiene las estadísticas actuales de una pregunta.
+     *
+     * @param preguntaId El identificador de la pregunta.
+     *
+     * @return Las estadísticas de la pregunta, o {@code null} si todavía no ha sido respondida.
+     */
+    public EstadisticaPregunta obtenerEstadisticas(Long preguntaId);
+
+    /**
+     * Obtiene las estadísticas actuales de todas las preguntas respondidas.
+     *
+     * @return Las estadísticas de cada pregunta.
+     */
+    public List<EstadisticaPregunta> listarEstadisticas();
+
+    /**
+     * Suma a las estadísticas guardadas lo acumulado por las preguntas que cambiaron desde el último
+     * guardado confirmado.
+     */
+    public void guardarInstantaneas();
+}
@@ -0,0 +1,52 @@
+package com.sistema.examenes.servicios;
+
+/**
+ * Interfaz que define la generación de las preguntas de un examen para cada estudiante.
+ *
+ * Cada estudiante recibe un subconjunto aleatorio del banco de preguntas del examen, en un orden
+ * también aleatorio. La selección se deriva de forma determinista de la semilla
+ * (examen, {@code Usuario.getIdGlobal()}), por lo que no se almacena nada por estudiante: volver a
+ * generar el examen de un mismo usuario produce siempre las mismas preguntas en el mismo orden,
+ * mientras el banco no cambie. La semilla usa el identificador global y no {@code Usuario.id}, que
+ * se repite entre shards y daría el mismo examen a usuarios distintos.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+public interface GeneradorExamenService {
+
+    /**
+     * Genera las preguntas que le corresponden a un usuario en un examen.
+     *
+     * @param examenId El identificador del examen.
+     * @param usuarioId El identificador global del usuario que presenta el examen.
+     *
+     * @return Los identificadores de las preguntas, en el orden en que deben presentarse.
+     *
+     * @throws IllegalArgumentException Si el examen no existe.
+     */
+    public long[] generarPreguntas(Long examenId, Long usuarioId);
+
+    /**
+     * Genera las preguntas que le corresponden a un usuario en un examen sobre un arreglo
+     * proporcionado por quien llama, sin reservar memoria adicional.
+     *
+     * @param examenId El identificador del examen.
+     * @param usuarioId El identificador global del usuario que presenta el examen.
+     * @param destino Arreglo donde se escriben los identificadores de las preguntas. Debe tener
+     *                al menos tantas posiciones como preguntas por estudiante tenga el examen.
+     *
+     * @return La cantidad de preguntas escritas en {@code destino}.
+     *
+     * @throws IllegalArgumentException Si el examen no existe o {@code destino} es demasiado corto.
+     */
+    public int generarPreguntas(Long examenId, Long usuarioId, long[] destino);
+
+    /**
+     * Descarta el banco en caché de un examen, por ejemplo después de modificar sus preguntas.
+     * La siguiente generación vuelve a cargarlo desde la base de datos.
+     *
+     * @param examenId El identificador del examen.
+     */
+    public void invalidarBanco(Long examenId);
+}
@@ -1,13 +1,15 @@
 package com.sistema.examenes.servicios;
 
+import com.sistema.examenes.modelos.ActualizacionUsuario;
 import com.sistema.examenes.modelos.Usuario;
 import com.sistema.examenes.modelos.UsuarioRol;
 
 import java.util.Set;
+import java.util.stream.Stream;
 
 /**
  * Interfaz que define las operaciones disponibles para la gestión de usuarios.
- * Proporciona métodos para guardar, obtener y eliminar usuarios en el sistema.
+ * Proporciona métodos para guardar, obtener, actualizar y eliminar usuarios en el sistema.
  *
  * Esta interfaz es implementada por la clase de servicio correspondiente que maneja la
  * lógica de negocio relacionada con los usuarios y sus roles.
@@ -42,6 +44,15 @@ public interface UsuarioService {
      */
     public Usuario obtenerUsuario(String username);
 
+    /**
+     * Lista todos los usuarios del sistema en orden alfabético de nombre de usuario.
+     *
+     * El stream se lee de forma perezosa y debe consumirse por completo o cerrarse.
+     *
+     * @return Un stream con todos los usuarios, de todas las instituciones.
+     */
+    public Stream<Usuario> listarUsuarios();
+
     /**
      * Elimina un usuario del sistema basado en su nombre de usuario.
      *
@@ -50,4 +61,18 @@ public interface UsuarioService {
      * @throws NullPointerException Si el usuario no es encontrado en la base de datos.
      */
     public void eliminarUsuario(String username);
+
+    /**
+     * Actualiza solo los campos indicados de un usuario, con control de concurrencia optimista.
+     *
+     * @param username El nombre de usuario del {@link Usuario} que se desea actualizar.
+     * @param cambios Los campos a actualizar y la versión del usuario sobre la que se hicieron.
+     *
+     * @return La nueva versión del usuario, o {@code null} si el usuario no existe.
+     *
+     * @throws IllegalArgumentException Si {@code cambios} no tiene campos o no indica la versión.
+     * @throws org.springframework.dao.OptimisticLockingFailureException Si la versión del usuario
+     *         ya no es la indicada.
+     */
+    public Long actualizarUsuario(String username, ActualizacionUsuario cambios);
 }
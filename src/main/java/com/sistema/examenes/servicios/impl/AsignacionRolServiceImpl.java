@@ -0,0 +1,247 @@
+package com.sistema.examenes.servicios.impl;
+
+import com.sistema.examenes.repositorios.RolRepository;
+import com.sistema.examenes.repositorios.UsuarioRepository;
+import com.sistema.examenes.repositorios.UsuarioRolRepository;
+import com.sistema.examenes.servicios.AsignacionRolService;
+import com.sistema.examenes.sharding.ContextoShard;
+import com.sistema.examenes.sharding.EnrutadorShards;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+@Service
+public class AsignacionRolServiceImpl implements AsignacionRolService {
+
+    @Autowired
+    private UsuarioRolRepository usuarioRolRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private RolRepository rolRepository;
+
+    @Autowired
+    private EnrutadorShards enrutadorShards;
+
+    /**
+     * Cantidad máxima de nombres de usuario por sentencia.
+     */
+    @Value("${sistema.roles.bloque-usernames:1000}")
+    private int bloqueUsernames;
+
+    /**
+     * Amplitud del rango de identificadores de usuario que cubre cada sentencia por filtro.
+     */
+    @Value("${sistema.roles.bloque-ids:5000}")
+    private int bloqueIds;
+
+    /**
+     * Asigna un rol a los usuarios indicados, en bloques de {@code sistema.roles.bloque-usernames}.
+     *
+     * Los usuarios se agrupan por shard según el directorio de {@link EnrutadorShards}. Cada bloque
+     * es un único {@code INSERT ... SELECT} que omite los usuarios que ya tienen el rol, y se
+     * confirma en su propia transacción. La clave única de {@code usuario_rol} impide duplicados si
+     * dos asignaciones del mismo rol se ejecutan a la vez.
+     *
+     * @param rolId El identificador del rol.
+     * @param usernames Los nombres de usuario.
+     *
+     * @return La cantidad de asignaciones creadas.
+     *
+     * @throws IllegalArgumentException Si el rol no existe.
+     *
+     * @author Jairo Bastidas
+     * @since 19/10/2026
+     */
+    @Override
+    public int asignarRol(Long rolId, List<String> usernames) {
+        validarRol(rolId);
+
+        int afectados = 0;
+        for (Map.Entry<Integer, List<String>> grupo : agruparPorShard(usernames).entrySet()) {
+            List<String> distintos = grupo.getValue();
+            for (int i = 0; i < distintos.size(); i += bloqueUsernames) {
+                List<String> bloque = distintos.subList(i, Math.min(i + bloqueUsernames, distintos.size()));
+                afectados += ContextoShard.ejecutarEn(grupo.getKey(),
+                        () -> reintentarSiDuplicado(() -> usuarioRolRepository.asignarRolPorUsernames(rolId, bloque)));
+            }
+        }
+        return afectados;
+    }
+
+    /**
+     * Revoca un rol a los usuarios indicados, en bloques de {@code sistema.roles.bloque-usernames}.
+     *
+     * @param rolId El identificador del rol.
+     * @param usernames Los nombres de usuario.
+     *
+     * @return La cantidad de asignaciones eliminadas.
+     *
+     * @throws IllegalArgumentException Si el rol no existe.
+     *
+     * @author Jairo Bastidas
+     * @since 19/10/2026
+     */
+    @Override
+    public int revocarRol(Long rolId, List<String> usernames) {
+        validarRol(rolId);
+
+        int afectados = 0;
+        for (Map.Entry<Integer, List<String>> grupo : agruparPorShard(usernames).entrySet()) {
+            List<String> distintos = grupo.getValue();
+            for (int i = 0; i < distintos.size(); i += bloqueUsernames) {
+                List<String> bloque = distintos.subList(i, Math.min(i + bloqueUsernames, distintos.size()));
+                afectados += ContextoShard.ejecutarEn(grupo.getKey(),
+                        () -> usuarioRolRepository.revocarRolPorUsernames(rolId, bloque));
+            }
+        }
+        return afectados;
+    }
+
+    /**
+     * Asigna un rol a los usuarios que cumplan el filtro, recorriendo la tabla {@code usuarios} de
+     * cada shard por rangos de identificadores de {@code sistema.roles.bloque-ids}.
+     *
+     * @param rolId El identificador del rol.
+     * @param perfil El perfil requerido, o {@code null} para no filtrar por perfil.
+     * @param enable El estado requerido, o {@code null} para no filtrar por estado.
+     *
+     * @return La cantidad de asignaciones creadas.
+     *
+     * @throws IllegalArgumentException Si el rol no existe o si {@code perfil} y {@code enable} son {@code null}.
+     *
+     * @author Jairo Bastidas
+     * @since 19/10/2026
+     */
+    @Override
+    public int asignarRol(Long rolId, String perfil, Boolean enable) {
+        validarFiltro(perfil, enable);
+        validarRol(rolId);
+
+        int afectados = 0;
+        for (int shard = 0; shard < enrutadorShards.getNumeroShards(); shard++) {
+            afectados += ContextoShard.ejecutarEn(shard, () -> {
+                Long minimo = usuarioRepository.findMinId();
+                Long maximo = usuarioRepository.findMaxId();
+                if (minimo == null || maximo == null) {
+                    return 0;
+                }
+
+                int afectadosShard = 0;
+                for (long desde = minimo; desde <= maximo; desde += bloqueIds) {
+                    long inicio = desde;
+                    afectadosShard += reintentarSiDuplicado(() -> usuarioRolRepository.asignarRolPorFiltro(rolId,
+                            inicio, inicio + bloqueIds, perfil != null, perfil == null ? "" : perfil,
+                            enable != null, enable != null && enable));
+                }
+                return afectadosShard;
+            });
+        }
+        return afectados;
+    }
+
+    /**
+     * Revoca un rol a los usuarios que cumplan el filtro, recorriendo la tabla {@code usuarios} de
+     * cada shard por rangos de identificadores de {@code sistema.roles.bloque-ids}.
+     *
+     * @param rolId El identificador del rol.
+     * @param perfil El perfil requerido, o {@code null} para no filtrar por perfil.
+     * @param enable El estado requerido, o {@code null} para no filtrar por estado.
+     *
+     * @return La cantidad de asignaciones eliminadas.
+     *
+     * @throws IllegalArgumentException Si el rol no existe o si {@code perfil} y {@code enable} son {@code null}.
+     *
+     * @author Jairo Bastidas
+     * @since 19/10/2026
+     */
+    @Override
+    public int revocarRol(Long rolId, String perfil, Boolean enable) {
+        validarFiltro(perfil, enable);
+        validarRol(rolId);
+
+        int afectados = 0;
+        for (int shard = 0; shard < enrutadorShards.getNumeroShards(); shard++) {
+            afectados += ContextoShard.ejecutarEn(shard, () -> {
+                Long minimo = usuarioRepository.findMinId();
+                Long maximo = usuarioRepository.findMaxId();
+                if (minimo == null || maximo == null) {
+                    return 0;
+                }
+
+                int afectadosShard = 0;
+                for (long desde = minimo; desde <= maximo; desde += bloqueIds) {
+                    afectadosShard += usuarioRolRepository.revocarRolPorFiltro(rolId, desde, desde + bloqueIds,
+                            perfil != null, perfil == null ? "" : perfil,
+                            enable != null, enable != null && enable);
+                }
+                return afectadosShard;
+            });
+        }
+        return afectados;
+    }
+
+    /**
+     * Ejecuta una sentencia de asignación y, si choca con la clave única de {@code usuario_rol}
+     * porque otra asignación concurrente insertó la misma fila, la repite una vez: la segunda
+     * ejecución ya ve la fila confirmada y la omite con su {@code NOT EXISTS}.
+     */
+    private static int reintentarSiDuplicado(Supplier<Integer> sentencia) {
+        try {
+            return sentencia.get();
+        } catch (DataIntegrityViolationException e) {
+            return sentencia.get();
+        }
+    }
+
+    /**
+     * Verifica que el filtro tenga al menos un criterio, para que una solicitud vacía no se aplique
+     * a todos los usuarios de todos los shards.
+     */
+    private static void validarFiltro(String perfil, Boolean enable) {
+        if (perfil == null && enable == null) {
+            throw new IllegalArgumentException("El filtro debe indicar el perfil o el estado de los usuarios.");
+        }
+    }
+
+    /**
+     * Verifica que el rol exista en todos los shards, ya que {@code usuario_rol} lo referencia.
+     */
+    private void validarRol(Long rolId) {
+        for (int shard = 0; shard < enrutadorShards.getNumeroShards(); shard++) {
+            boolean existe = rolId != null && ContextoShard.ejecutarEn(shard, () -> rolRepository.existsById(rolId));
+            if (!existe) {
+                throw new IllegalArgumentException("El rol " + rolId + " no existe.");
+            }
+        }
+    }
+
+    /**
+     * Agrupa los nombres de usuario, sin repetidos, por el shard en el que están guardados,
+     * resolviendo todos los shards con consultas por bloques al directorio. Los usuarios que no
+     * existen en ningún shard se omiten.
+     */
+    private Map<Integer, List<String>> agruparPorShard(List<String> usernames) {
+        Set<String> unicos = new LinkedHashSet<>(usernames);
+        Map<String, Integer> shards = enrutadorShards.shardsDeUsernames(unicos);
+        Map<Integer, List<String>> grupos = new LinkedHashMap<>();
+        for (String username : unicos) {
+            Integer shard = shards.get(username);
+            if (shard != null) {
+                grupos.computeIfAbsent(shard, s -> new ArrayList<>()).add(username);
+            }
+        }
+        return grupos;
+    }
+}
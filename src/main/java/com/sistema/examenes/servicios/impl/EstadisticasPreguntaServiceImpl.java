@@ -0,0 +1,203 @@
+package com.sistema.examenes.servicios.impl;
+
+import com.sistema.examenes.modelos.EstadisticaPregunta;
+import com.sistema.examenes.repositorios.EstadisticaPreguntaRepository;
+import com.sistema.examenes.servicios.EstadisticasPreguntaService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+@Service
+public class EstadisticasPreguntaServiceImpl implements EstadisticasPreguntaService {
+
+    /**
+     * Puntaje de un envío con todas las respuestas correctas, en puntos básicos.
+     */
+    private static final long PUNTAJE_MAXIMO = 10_000L;
+
+    @Autowired
+    private EstadisticaPreguntaRepository estadisticaPreguntaRepository;
+
+    /**
+     * Acumuladores en memoria, por identificador de pregunta.
+     */
+    private final ConcurrentMap<Long, Acumulador> acumuladores = new ConcurrentHashMap<>();
+
+    /**
+     * Registra un envío calificado.
+     *
+     * Cada contador es un {@link LongAdder}, que reparte las escrituras concurrentes entre celdas
+     * independientes, por lo que los hilos que califican envíos en paralelo no compiten por un
+     * mismo candado ni por una misma línea de caché. El contador de respuestas se incrementa al
+     * final para que una lectura concurrente nunca vea más respuestas que aciertos acumulados.
+     *
+     * @param preguntaIds Los identificadores de las preguntas respondidas en el envío.
+     * @param correctas Para cada pregunta, en la misma posición, si la respuesta fue correcta.
+     *
+     * @throws IllegalArgumentException Si los arreglos tienen longitudes distintas.
+     *
+     * @author Jairo Bastidas
+     * @since 19/10/2026
+     */
+    @Override
+    public void registrarEnvio(long[] preguntaIds, boolean[] correctas) {
+        if (preguntaIds.length != correctas.length) {
+            throw new IllegalArgumentException("Cada pregunta debe tener exactamente una calificación.");
+        }
+        if (preguntaIds.length == 0) {
+            return;
+        }
+
+        int totalAciertos = 0;
+        for (boolean correcta : correctas) {
+            if (correcta) {
+                totalAciertos++;
+            }
+        }
+        long puntaje = totalAciertos * PUNTAJE_MAXIMO / preguntaIds.length;
+
+        for (int i = 0; i < preguntaIds.length; i++) {
+            Acumulador acumulador = obtenerAcumulador(preguntaIds[i]);
+            if (correctas[i]) {
+                acumulador.aciertos.increment();
+                acumulador.sumaPuntajeAciertos.add(puntaje);
+            } else {
+                acumulador.sumaPuntajeFallos.add(puntaje);
+            }
+            acumulador.sumaCuadradosPuntaje.add(puntaje * puntaje);
+            acumulador.respuestas.increment();
+        }
+    }
+
+    /**
+     * Obtiene las estadísticas actuales de una pregunta.
+     *
+     * @param preguntaId El identificador de la pregunta.
+     *
+     * @return Las estadísticas de la pregunta, o {@code null} si todavía no ha sido respondida.
+     *
+     * @author Jairo Bastidas
+     * @since 19/10/2026
+     */
+    @Override
+    public EstadisticaPregunta obtenerEstadisticas(Long preguntaId) {
+        Acumulador acumulador = acumuladores.get(preguntaId);
+        return acumulador == null ? null : acumulador.instantanea(preguntaId);
+    }
+
+    /**
+     * Obtiene las estadísticas actuales de todas las preguntas respondidas.
+     *
+     * @return Las estadísticas de cada pregunta.
+     *
+     * @author Jairo Bastidas
+     * @since 19/10/2026
+     */
+    @Override
+    public List<EstadisticaPregunta> listarEstadisticas() {
+        List<EstadisticaPregunta> estadisticas = new ArrayList<>(acumuladores.size());
+        acumuladores.forEach((preguntaId, acumulador) -> estadisticas.add(acumulador.instantanea(preguntaId)));
+        return estadisticas;
+    }
+
+    /**
+     * Guarda en la base de datos lo acumulado por las preguntas que recibieron respuestas desde la
+     * última vez. Se ejecuta periódicamente según {@code sistema.estadisticas.intervalo-ms}.
+     *
+     * No se escriben los totales de esta instancia sino la diferencia con el último guardado, que
+     * {@link EstadisticaPreguntaRepository#sumar} suma a la fila existente. Así un reinicio no borra
+     * los totales persistidos y varias instancias no se pisan entre sí. La marca de lo guardado se
+     * actualiza solo después de que la transacción se confirma; si falla, la diferencia se vuelve a
+     * enviar en el siguiente intento.
+     *
+     * @author Jairo Bastidas
+     * @since 19/10/2026
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${sistema.estadisticas.intervalo-ms:30000}")
+    public synchronized void guardarInstantaneas() {
+        List<Acumulador> pendientes = new ArrayList<>();
+        List<EstadisticaPregunta> instantaneas = new ArrayList<>();
+        List<EstadisticaPregunta> diferencias = new ArrayList<>();
+        for (Map.Entry<Long, Acumulador> entrada : acumuladores.entrySet()) {
+            Acumulador acumulador = entrada.getValue();
+            EstadisticaPregunta instantanea = acumulador.instantanea(entrada.getKey());
+            if (!instantanea.getRespuestas().equals(acumulador.guardada.getRespuestas())) {
+                pendientes.add(acumulador);
+                instantaneas.add(instantanea);
+                diferencias.add(diferencia(instantanea, acumulador.guardada));
+            }
+        }
+
+        if (!diferencias.isEmpty()) {
+            estadisticaPreguntaRepository.sumar(diferencias);
+            for (int i = 0; i < pendientes.size(); i++) {
+                pendientes.get(i).guardada = instantaneas.get(i);
+            }
+        }
+    }
+
+    private static EstadisticaPregunta diferencia(EstadisticaPregunta actual, EstadisticaPregunta guardada) {
+        return EstadisticaPregunta.builder()
+                .preguntaId(actual.getPreguntaId())
+                .respuestas(actual.getRespuestas() - guardada.getRespuestas())
+                .aciertos(actual.getAciertos() - guardada.getAciertos())
+                .sumaPuntajeAciertos(actual.getSumaPuntajeAciertos() - guardada.getSumaPuntajeAciertos())
+                .sumaPuntajeFallos(actual.getSumaPuntajeFallos() - guardada.getSumaPuntajeFallos())
+                .sumaCuadradosPuntaje(actual.getSumaCuadradosPuntaje() - guardada.getSumaCuadradosPuntaje())
+                .build();
+    }
+
+    private Acumulador obtenerAcumulador(long preguntaId) {
+        Acumulador acumulador = acumuladores.get(preguntaId);
+        if (acumulador != null) {
+            return acumulador;
+        }
+        return acumuladores.computeIfAbsent(preguntaId, id -> new Acumulador());
+    }
+
+    /**
+     * Contadores de una pregunta. Las lecturas no son atómicas entre contadores: mientras se
+     * registran envíos una instantánea puede quedar levemente desfasada, pero es exacta en cuanto
+     * los envíos se detienen.
+     */
+    private static final class Acumulador {
+
+        private final LongAdder respuestas = new LongAdder();
+        private final LongAdder aciertos = new LongAdder();
+        private final LongAdder sumaPuntajeAciertos = new LongAdder();
+        private final LongAdder sumaPuntajeFallos = new LongAdder();
+        private final LongAdder sumaCuadradosPuntaje = new LongAdder();
+
+        /**
+         * Contadores incluidos en el último guardado confirmado. Solo lo usa
+         * {@link #guardarInstantaneas()}, que es sincronizado.
+         */
+        private EstadisticaPregunta guardada = EstadisticaPregunta.builder()
+                .respuestas(0L).aciertos(0L).sumaPuntajeAciertos(0L).sumaPuntajeFallos(0L).sumaCuadradosPuntaje(0L)
+                .build();
+
+        private EstadisticaPregunta instantanea(Long preguntaId) {
+            long n = respuestas.sum();
+            EstadisticaPregunta estadistica = EstadisticaPregunta.builder()
+                    .preguntaId(preguntaId)
+                    .respuestas(n)
+                    .aciertos(Math.min(aciertos.sum(), n))
+                    .sumaPuntajeAciertos(sumaPuntajeAciertos.sum())
+                    .sumaPuntajeFallos(sumaPuntajeFallos.sum())
+                    .sumaCuadradosPuntaje(sumaCuadradosPuntaje.sum())
+                    .fechaActualizacion(LocalDateTime.now())
+                    .build();
+            estadistica.calcularIndices();
+            return estadistica;
+        }
+    }
+}
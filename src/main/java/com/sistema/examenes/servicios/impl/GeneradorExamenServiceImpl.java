@@ -0,0 +1,249 @@
+package com.sistema.examenes.servicios.impl;
+
+import com.sistema.examenes.modelos.BancoPreguntas;
+import com.sistema.examenes.modelos.Examen;
+import com.sistema.examenes.repositorios.ExamenRepository;
+import com.sistema.examenes.repositorios.PreguntaRepository;
+import com.sistema.examenes.servicios.GeneradorExamenService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+
+@Service
+public class GeneradorExamenServiceImpl implements GeneradorExamenService {
+
+    @Autowired
+    private ExamenRepository examenRepository;
+
+    @Autowired
+    private PreguntaRepository preguntaRepository;
+
+    /**
+     * Cantidad máxima de bancos en caché. Al superarla se descartan los cargados hace más tiempo.
+     */
+    @Value("${sistema.examenes.bancos-en-cache:256}")
+    private int maximoBancos = 256;
+
+    /**
+     * Bancos de preguntas en caché, por identificador de examen. Cada valor es la carga del banco,
+     * que puede estar todavía en curso.
+     */
+    private final ConcurrentMap<Long, CompletableFuture<BancoPreguntas>> bancos = new ConcurrentHashMap<>();
+
+    /**
+     * Exámenes en el orden en que se cargaron sus bancos, para descartar los más antiguos.
+     */
+    private final ConcurrentLinkedQueue<Long> ordenCarga = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Espacio de trabajo de cada hilo, reutilizado entre generaciones para no reservar memoria
+     * en cada examen.
+     */
+    private static final ThreadLocal<EspacioTrabajo> ESPACIO = ThreadLocal.withInitial(EspacioTrabajo::new);
+
+    /**
+     * Genera las preguntas que le corresponden a un usuario en un examen.
+     *
+     * Reserva únicamente el arreglo del resultado; ver {@link #generarPreguntas(Long, Long, long[])}.
+     *
+     * @param examenId El identificador del examen.
+     * @param usuarioId El identificador global del usuario que presenta el examen.
+     *
+     * @return Los identificadores de las preguntas, en el orden en que deben presentarse.
+     *
+     * @throws IllegalArgumentException Si el examen no existe.
+     *
+     * @author Jairo Bastidas
+     * @since 19/10/2026
+     */
+    @Override
+    public long[] generarPreguntas(Long examenId, Long usuarioId) {
+        BancoPreguntas banco = obtenerBanco(examenId);
+        long[] preguntas = new long[banco.getPreguntasPorEstudiante()];
+        generar(banco, usuarioId, preguntas);
+        return preguntas;
+    }
+
+    /**
+     * Genera las preguntas que le corresponden a un usuario en un examen sobre el arreglo dado.
+     *
+     * La selección es un Fisher-Yates parcial sobre los índices del banco: se hacen tantos
+     * intercambios como preguntas por estudiante y luego se deshacen en orden inverso, de modo que
+     * el arreglo de índices del hilo vuelve a ser la identidad y el costo es proporcional a las
+     * preguntas elegidas y no al tamaño del banco. Los números aleatorios salen de un generador
+     * SplitMix64 en una variable local sembrado con (examen, usuario).
+     *
+     * @param examenId El identificador del examen.
+     * @param usuarioId El identificador global del usuario que presenta el examen.
+     * @param destino Arreglo donde se escriben los identificadores de las preguntas.
+     *
+     * @return La cantidad de preguntas escritas en {@code destino}.
+     *
+     * @throws IllegalArgumentException Si el examen no existe o {@code destino} es demasiado corto.
+     *
+     * @author Jairo Bastidas
+     * @since 19/10/2026
+     */
+    @Override
+    public int generarPreguntas(Long examenId, Long usuarioId, long[] destino) {
+        BancoPreguntas banco = obtenerBanco(examenId);
+        if (destino.length < banco.getPreguntasPorEstudiante()) {
+            throw new IllegalArgumentException("El arreglo destino debe tener al menos "
+                    + banco.getPreguntasPorEstudiante() + " posiciones.");
+        }
+        return generar(banco, usuarioId, destino);
+    }
+
+    /**
+     * Descarta el banco en caché de un examen.
+     *
+     * @param examenId El identificador del examen.
+     *
+     * @author Jairo Bastidas
+     * @since 19/10/2026
+     */
+    @Override
+    public void invalidarBanco(Long examenId) {
+        bancos.remove(examenId);
+        ordenCarga.remove(examenId);
+    }
+
+    /**
+     * Obtiene el banco de un examen desde la caché, cargándolo si todavía no está.
+     *
+     * El primer hilo que no encuentra el banco publica una carga pendiente con
+     * {@link ConcurrentHashMap#putIfAbsent} y consulta la base de datos fuera de cualquier bloqueo
+     * del mapa; cuando todos los estudiantes comienzan el examen al mismo tiempo, el resto espera esa
+     * misma carga en lugar de repetir la consulta, y otros exámenes no quedan bloqueados. Si la carga
+     * falla, se retira de la caché para que la próxima llamada la reintente.
+     */
+    private BancoPreguntas obtenerBanco(Long examenId) {
+        if (examenId == null) {
+            throw new IllegalArgumentException("El identificador del examen no puede ser nulo.");
+        }
+        CompletableFuture<BancoPreguntas> carga = bancos.get(examenId);
+        if (carga == null) {
+            CompletableFuture<BancoPreguntas> nueva = new CompletableFuture<>();
+            carga = bancos.putIfAbsent(examenId, nueva);
+            if (carga == null) {
+                carga = nueva;
+                try {
+                    nueva.complete(cargarBanco(examenId));
+                    ordenCarga.add(examenId);
+                    descartarExcedentes();
+                } catch (RuntimeException | Error e) {
+                    bancos.remove(examenId, nueva);
+                    nueva.completeExceptionally(e);
+                }
+            }
+        }
+        try {
+            return carga.join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException causa ? causa : e;
+        }
+    }
+
+    /**
+     * Descarta los bancos cargados hace más tiempo mientras la caché supere {@link #maximoBancos}.
+     */
+    private void descartarExcedentes() {
+        while (bancos.size() > maximoBancos) {
+            Long examenId = ordenCarga.poll();
+            if (examenId == null) {
+                return;
+            }
+            bancos.remove(examenId);
+        }
+    }
+
+    private BancoPreguntas cargarBanco(Long examenId) {
+        Examen examen = examenRepository.findById(examenId)
+                .orElseThrow(() -> new IllegalArgumentException("El examen " + examenId + " no existe."));
+
+        List<Long> ids = preguntaRepository.findPreguntaIdsByExamenId(examenId);
+        long[] preguntaIds = new long[ids.size()];
+        for (int i = 0; i < preguntaIds.length; i++) {
+            preguntaIds[i] = ids.get(i);
+        }
+
+        int preguntasPorEstudiante = examen.getNumeroDePreguntas() == null ? 0 : examen.getNumeroDePreguntas();
+        return new BancoPreguntas(examenId, preguntaIds, preguntasPorEstudiante);
+    }
+
+    private static int generar(BancoPreguntas banco, Long usuarioId, long[] destino) {
+        if (usuarioId == null) {
+            throw new IllegalArgumentException("El identificador del usuario no puede ser nulo.");
+        }
+        int total = banco.tamano();
+        int elegidas = banco.getPreguntasPorEstudiante();
+        EspacioTrabajo espacio = ESPACIO.get();
+        espacio.asegurarCapacidad(total);
+        int[] indices = espacio.indices;
+        int[] intercambios = espacio.intercambios;
+
+        long estado = mezclar(mezclar(banco.getExamenId()) ^ usuarioId);
+        for (int i = 0; i < elegidas; i++) {
+            estado += 0x9e3779b97f4a7c15L;
+            int j = i + acotar(mezclar(estado), total - i);
+            intercambios[i] = j;
+            int temporal = indices[i];
+            indices[i] = indices[j];
+            indices[j] = temporal;
+            destino[i] = banco.preguntaEn(indices[i]);
+        }
+
+        // Deshacer los intercambios para dejar los índices como la identidad
+        for (int i = elegidas - 1; i >= 0; i--) {
+            int j = intercambios[i];
+            int temporal = indices[i];
+            indices[i] = indices[j];
+            indices[j] = temporal;
+        }
+        return elegidas;
+    }
+
+    /**
+     * Función de mezcla de SplitMix64.
+     */
+    private static long mezclar(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Reduce un valor aleatorio de 64 bits al rango {@code [0, limite)} con una multiplicación
+     * en lugar de una división.
+     */
+    private static int acotar(long aleatorio, int limite) {
+        return (int) (((aleatorio >>> 32) * limite) >>> 32);
+    }
+
+    /**
+     * Arreglos de trabajo de un hilo. {@code indices} se mantiene siempre como la identidad
+     * entre generaciones.
+     */
+    private static final class EspacioTrabajo {
+
+        private int[] indices = new int[0];
+        private int[] intercambios = new int[0];
+
+        private void asegurarCapacidad(int total) {
+            if (indices.length < total) {
+                indices = new int[total];
+                for (int i = 0; i < total; i++) {
+                    indices[i] = i;
+                }
+                intercambios = new int[total];
+            }
+        }
+    }
+}
@@ -1,15 +1,38 @@
 package com.sistema.examenes.servicios.impl;
 
+import com.sistema.examenes.auditoria.AuditoriaUsuarios;
+import com.sistema.examenes.auditoria.OperacionAuditoria;
+import com.sistema.examenes.modelos.ActualizacionUsuario;
+import com.sistema.examenes.modelos.EventoOutbox;
+import com.sistema.examenes.modelos.TipoEventoUsuario;
 import com.sistema.examenes.modelos.Usuario;
 import com.sistema.examenes.modelos.UsuarioRol;
+import com.sistema.examenes.repositorios.EventoOutboxRepository;
 import com.sistema.examenes.repositorios.RolRepository;
 import com.sistema.examenes.repositorios.UsuarioRepository;
 import com.sistema.examenes.servicios.UsuarioService;
+import com.sistema.examenes.sharding.ContextoShard;
+import com.sistema.examenes.sharding.EnrutadorShards;
+import com.sistema.examenes.sharding.FusionOrdenada;
+import com.sistema.examenes.sharding.PaginadorShard;
 import jakarta.transaction.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.IncorrectUpdateSemanticsDataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
+import java.util.function.IntConsumer;
+import java.util.stream.Stream;
 
 @Service
 public class UsuarioServiceImpl implements UsuarioService {
@@ -20,15 +43,40 @@ public class UsuarioServiceImpl implements UsuarioService {
     @Autowired
     private RolRepository rolRepository;
 
+    @Autowired
+    private EventoOutboxRepository eventoOutboxRepository;
+
+    @Autowired
+    private EnrutadorShards enrutadorShards;
+
+    @Autowired
+    private AuditoriaUsuarios auditoriaUsuarios;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    /**
+     * Cantidad de usuarios que se leen de cada shard por consulta al listar.
+     */
+    private static final int TAMANO_PAGINA_LISTADO = 500;
+
     /**
      * Guarda un nuevo usuario en la base de datos y asigna los roles proporcionados.
      *
      * Este método primero verifica si el usuario ya existe en la base de datos utilizando su nombre de usuario.
      * Si el usuario ya existe, lanza una {@link Exception} y no guarda el nuevo usuario. Si el usuario no existe,
      * guarda los roles proporcionados, los asigna al usuario y luego guarda el usuario en la base de datos.
+     * En la misma transacción registra un evento {@link TipoEventoUsuario#USUARIO_CREADO} en el outbox.
      *
-     * La anotación {@link Transactional} garantiza que la operación sea atómica. Si ocurre un fallo,
-     * todos los cambios realizados se revertirán.
+     * El usuario se guarda en el shard de su institución. Con varios shards, la unicidad del nombre
+     * de usuario entre shards se garantiza reservándolo en el directorio de {@link EnrutadorShards}
+     * antes de abrir la transacción, de modo que ninguna conexión de un shard queda retenida
+     * mientras se consulta otra. Si la transacción se revierte, la reserva se libera al terminar.
+     * Cada llamada queda en {@link AuditoriaUsuarios} una vez terminada la transacción, como exitosa
+     * solo si se confirmó.
+     *
+     * La transacción de {@link TransactionTemplate} garantiza que la operación sea atómica. Si ocurre
+     * un fallo, todos los cambios realizados se revertirán.
      *
      * @param usuario El objeto {@link Usuario} con los datos del usuario a guardar. No puede ser {@code null}.
      * @param usuarioRoles Un conjunto de objetos {@link UsuarioRol} que representan los roles que se asignarán
@@ -43,29 +91,62 @@ public class UsuarioServiceImpl implements UsuarioService {
      */
 
     @Override
-    @Transactional
     public Usuario guardarUsuario(Usuario usuario, Set<UsuarioRol> usuarioRoles) throws Exception {
-        // Verificar si el usuario ya existe en la base de datos
-        Usuario usuarioLocal = usuarioRepository.findByUsername(usuario.getUsername());
-        if (usuarioLocal != null) {
-            // Si el usuario ya existe, lanzar una excepción
-            System.out.println("El usuario ya existe");
-            throw new Exception("El usuario ya existe");
-        } else {
-            // Si el usuario no existe, guardar los roles
-            usuarioRoles.stream()
-                    .map(usuarioRol -> usuarioRol.getRol())
-                    .forEach(rol -> rolRepository.save(rol));
-
-            // Asignar los roles al usuario
-            usuario.getUsuarioRoles().addAll(usuarioRoles);
-
-            // Guardar el usuario en la base de datos
-            usuarioLocal = usuarioRepository.save(usuario);
-        }
+        String username = usuario.getUsername();
+        int shard = enrutadorShards.shardDeInstitucion(usuario.getInstitucion());
+        boolean reservado = false;
+        boolean[] registrada = {false};
+        try {
+            // Verificar si el usuario ya existe en el shard de su institución o está reservado en otro
+            boolean existe = ContextoShard.ejecutarEn(shard, () -> usuarioRepository.findByUsername(username)) != null;
+            reservado = !existe && enrutadorShards.reservar(username, shard);
+            if (!reservado) {
+                // Si el usuario ya existe, lanzar una excepción
+                System.out.println("El usuario ya existe");
+                throw new Exception("El usuario ya existe");
+            }
+
+            // Guardar el usuario en una transacción dirigida al shard de su institución
+            Usuario usuarioLocal = ContextoShard.ejecutarEn(shard, () -> transactionTemplate.execute(estado -> {
+                // Guardar los roles
+                usuarioRoles.stream()
+                        .map(usuarioRol -> usuarioRol.getRol())
+                        .forEach(rol -> rolRepository.save(rol));
+
+                // Asignar los roles al usuario
+                usuario.getUsuarioRoles().addAll(usuarioRoles);
+
+                // Guardar el usuario en la base de datos
+                Usuario guardado = usuarioRepository.save(usuario);
 
-        // Retornar el usuario guardado
-        return usuarioLocal;
+                // Registrar el evento para los sistemas externos en la misma transacción
+                registrarEvento(TipoEventoUsuario.USUARIO_CREADO, guardado);
+
+                // Actualizar el directorio y auditar solo cuando se conozca el resultado de la transacción
+                alTerminarTransaccion(resultado -> {
+                    boolean confirmada = resultado == TransactionSynchronization.STATUS_COMMITTED;
+                    if (confirmada) {
+                        enrutadorShards.registrar(username, shard);
+                    } else if (resultado == TransactionSynchronization.STATUS_ROLLED_BACK) {
+                        enrutadorShards.olvidar(username, shard);
+                    }
+                    auditoriaUsuarios.registrar(OperacionAuditoria.GUARDAR, username, confirmada);
+                });
+                registrada[0] = true;
+                return guardado;
+            }));
+
+            // Retornar el usuario guardado
+            return usuarioLocal;
+        } finally {
+            if (!registrada[0]) {
+                // La transacción falló antes de registrar su resultado: liberar la reserva y auditar el fallo
+                if (reservado) {
+                    enrutadorShards.olvidar(username, shard);
+                }
+                auditoriaUsuarios.registrar(OperacionAuditoria.GUARDAR, username, false);
+            }
+        }
     }
 
     /**
@@ -74,6 +155,9 @@ public class UsuarioServiceImpl implements UsuarioService {
      * Este método busca en el repositorio de usuarios utilizando el nombre de usuario proporcionado. Si el usuario existe,
      * se devuelve el objeto {@link Usuario}. Si no se encuentra, se retorna {@code null}.
      *
+     * La consulta se dirige solo al shard que indica el directorio de {@link EnrutadorShards}. Cada
+     * llamada queda en {@link AuditoriaUsuarios}, indicando si el usuario se encontró.
+     *
      * @param username El nombre de usuario para buscar en la base de datos. No puede ser {@code null} ni vacío.
      *
      * @return El objeto {@link Usuario} correspondiente al nombre de usuario, o {@code null} si no se encuentra.
@@ -90,18 +174,60 @@ public class UsuarioServiceImpl implements UsuarioService {
             throw new IllegalArgumentException("El nombre de usuario no puede ser nulo ni vacío.");
         }
 
+        // Buscar el shard del usuario en el directorio
+        int shard = enrutadorShards.shardDeUsername(username);
+        if (shard == EnrutadorShards.SIN_SHARD) {
+            auditoriaUsuarios.registrar(OperacionAuditoria.OBTENER, username, false);
+            return null;
+        }
+
         // Buscar el usuario en el repositorio
-        Usuario usuario = usuarioRepository.findByUsername(username);
+        Usuario usuario = ContextoShard.ejecutarEn(shard, () -> usuarioRepository.findByUsername(username));
+        if (usuario == null) {
+            // La caché del directorio puede estar desactualizada si otra instancia eliminó o movió al usuario
+            enrutadorShards.invalidar(username);
+            int shardActual = enrutadorShards.shardDeUsername(username);
+            if (shardActual != shard && shardActual != EnrutadorShards.SIN_SHARD) {
+                usuario = ContextoShard.ejecutarEn(shardActual, () -> usuarioRepository.findByUsername(username));
+            }
+        }
+        auditoriaUsuarios.registrar(OperacionAuditoria.OBTENER, username, usuario != null);
 
         // Retornar el usuario encontrado
         return usuario;
     }
 
+    /**
+     * Lista todos los usuarios de todos los shards en orden alfabético de nombre de usuario.
+     *
+     * Cada shard se recorre por páginas de {@value #TAMANO_PAGINA_LISTADO} usuarios a medida que se
+     * consume el stream, y las páginas de los distintos shards se fusionan en orden con
+     * {@link FusionOrdenada}, de modo que nunca se cargan todos los usuarios en memoria. Cada página
+     * son dos consultas: sus nombres de usuario y luego esos usuarios con sus roles.
+     *
+     * @return Un stream perezoso con todos los usuarios.
+     *
+     * @author Jairo Bastidas
+     * @since 19/10/2026
+     */
+    @Override
+    public Stream<Usuario> listarUsuarios() {
+        List<Iterator<Usuario>> fuentes = new ArrayList<>();
+        for (int shard = 0; shard < enrutadorShards.getNumeroShards(); shard++) {
+            fuentes.add(PaginadorShard.<Usuario, String>porClaves(shard, "",
+                    (ultimo, tamano) -> usuarioRepository.findUsernamesDespuesDe(ultimo, PageRequest.of(0, tamano)),
+                    usuarioRepository::findConRolesByUsernameIn, TAMANO_PAGINA_LISTADO));
+        }
+        return FusionOrdenada.fusionar(fuentes, Comparator.comparing(Usuario::getUsername));
+    }
+
     /**
      * Elimina un usuario de la base de datos utilizando su nombre de usuario.
      *
      * Este método busca un usuario en la base de datos usando su nombre de usuario. Si el usuario es encontrado,
-     * se elimina. Si el usuario no existe, el comportamiento actual es lanzar una {@link NullPointerException}.
+     * se elimina y, en la misma transacción, se registra un evento {@link TipoEventoUsuario#USUARIO_ELIMINADO}
+     * en el outbox. Si el usuario no existe, el comportamiento actual es lanzar una {@link NullPointerException}.
+     * La llamada queda en {@link AuditoriaUsuarios} al terminar la transacción, como exitosa solo si se confirmó.
      *
      * Se recomienda manejar mejor el caso en el que el usuario no exista, ya sea mediante una excepción personalizada
      * o un valor booleano, para mejorar el control del flujo de la aplicación.
@@ -114,11 +240,141 @@ public class UsuarioServiceImpl implements UsuarioService {
      * @since 16/03/2025
      */
     @Override
+    @Transactional
     public void eliminarUsuario(String username) {
-        // Buscar al usuario en la base de datos
-        Usuario usuario = usuarioRepository.findByUsername(username);
+        // Dirigir la transacción al shard del usuario
+        int shard = Math.max(0, enrutadorShards.shardDeUsername(username));
+        Integer shardAnterior = ContextoShard.establecer(shard);
+        boolean registrada = false;
+        try {
+            // Buscar al usuario en la base de datos
+            Usuario usuario = usuarioRepository.findByUsername(username);
+
+            // Eliminar el usuario encontrado
+            usuarioRepository.delete(usuario);
 
-        // Eliminar el usuario encontrado
-        usuarioRepository.delete(usuario);
+            // Registrar el evento para los sistemas externos en la misma transacción
+            registrarEvento(TipoEventoUsuario.USUARIO_ELIMINADO, usuario);
+
+            // Quitar al usuario del directorio y auditar solo cuando se conozca el resultado de la transacción
+            alTerminarTransaccion(resultado -> {
+                boolean confirmada = resultado == TransactionSynchronization.STATUS_COMMITTED;
+                if (confirmada) {
+                    enrutadorShards.olvidar(username, shard);
+                }
+                auditoriaUsuarios.registrar(OperacionAuditoria.ELIMINAR, username, confirmada);
+            });
+            registrada = true;
+        } finally {
+            ContextoShard.restaurar(shardAnterior);
+            if (!registrada) {
+                auditoriaUsuarios.registrar(OperacionAuditoria.ELIMINAR, username, false);
+            }
+        }
+    }
+
+    /**
+     * Actualiza solo los campos indicados de un usuario.
+     *
+     * La actualización es una única sentencia {@code UPDATE} que escribe las columnas presentes en
+     * {@code cambios} e incrementa la versión, condicionada al nombre de usuario y a la versión
+     * indicada; no se carga la entidad ni sus roles. Si no se actualiza ninguna fila, una consulta
+     * de existencia distingue un usuario inexistente de una versión desactualizada. El nombre de
+     * usuario es único ({@code uk_usuarios_username}); si aun así se actualizara más de una fila, la
+     * transacción se revierte. Cada llamada
+     * queda en {@link AuditoriaUsuarios} al terminar la transacción, como exitosa solo si se confirmó.
+     *
+     * @param username El nombre de usuario del {@link Usuario} que se desea actualizar.
+     * @param cambios Los campos a actualizar y la versión del usuario sobre la que se hicieron.
+     *
+     * @return La nueva versión del usuario, o {@code null} si el usuario no existe.
+     *
+     * @throws IllegalArgumentException Si {@code cambios} no tiene campos o no indica la versión.
+     * @throws OptimisticLockingFailureException Si la versión del usuario ya no es la indicada.
+     * @throws IncorrectUpdateSemanticsDataAccessException Si la sentencia actualizó más de un usuario.
+     *
+     * @author Jairo Bastidas
+     * @since 19/10/2026
+     */
+    @Override
+    @Transactional
+    public Long actualizarUsuario(String username, ActualizacionUsuario cambios) {
+        if (cambios.estaVacia() || cambios.getVersion() == null) {
+            throw new IllegalArgumentException("La actualización debe indicar al menos un campo y la versión.");
+        }
+
+        // Buscar el shard del usuario en el directorio
+        int shard = enrutadorShards.shardDeUsername(username);
+        if (shard == EnrutadorShards.SIN_SHARD) {
+            auditoriaUsuarios.registrar(OperacionAuditoria.ACTUALIZAR, username, false);
+            return null;
+        }
+
+        // Dirigir la transacción al shard del usuario
+        Integer shardAnterior = ContextoShard.establecer(shard);
+        boolean registrada = false;
+        try {
+            int filas = usuarioRepository.actualizarParcial(username, cambios);
+            if (filas == 0) {
+                // Ninguna fila: el usuario no existe o la versión cambió
+                if (!usuarioRepository.existsByUsername(username)) {
+                    return null;
+                }
+                throw new OptimisticLockingFailureException(
+                        "El usuario " + username + " ya no está en la versión " + cambios.getVersion());
+            }
+            if (filas > 1) {
+                // La clave única de username lo impide; si ocurre, revertir en lugar de modificar a varios usuarios
+                throw new IncorrectUpdateSemanticsDataAccessException(
+                        "La actualización de " + username + " modificó " + filas + " filas");
+            }
+            // Auditar solo cuando se conozca el resultado de la transacción
+            alTerminarTransaccion(resultado -> auditoriaUsuarios.registrar(OperacionAuditoria.ACTUALIZAR, username,
+                    resultado == TransactionSynchronization.STATUS_COMMITTED));
+            registrada = true;
+            return cambios.getVersion() + 1;
+        } finally {
+            ContextoShard.restaurar(shardAnterior);
+            if (!registrada) {
+                auditoriaUsuarios.registrar(OperacionAuditoria.ACTUALIZAR, username, false);
+            }
+        }
+    }
+
+    /**
+     * Ejecuta una acción al terminar la transacción en curso, con su resultado
+     * ({@link TransactionSynchronization#STATUS_COMMITTED}, {@link TransactionSynchronization#STATUS_ROLLED_BACK}
+     * o {@link TransactionSynchronization#STATUS_UNKNOWN}). Sin una transacción activa las sentencias
+     * ya se confirmaron, y la acción se ejecuta de inmediato como confirmada.
+     *
+     * @param accion La acción, que recibe el resultado de la transacción.
+     */
+    private static void alTerminarTransaccion(IntConsumer accion) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            accion.accept(TransactionSynchronization.STATUS_COMMITTED);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int estado) {
+                accion.accept(estado);
+            }
+        });
+    }
+
+    /**
+     * Registra un evento del ciclo de vida de un usuario en el outbox. Debe llamarse dentro de la
+     * transacción que modifica al usuario, para que el evento se confirme o se revierta junto con él.
+     *
+     * @param tipo El tipo de evento.
+     * @param usuario El usuario al que se refiere el evento.
+     */
+    private void registrarEvento(TipoEventoUsuario tipo, Usuario usuario) {
+        eventoOutboxRepository.save(EventoOutbox.builder()
+                .tipo(tipo)
+                .usuarioId(usuario.getId())
+                .username(usuario.getUsername())
+                .fechaCreacion(LocalDateTime.now())
+                .build());
     }
 }
@@ -0,0 +1,77 @@
+package com.sistema.examenes.sharding;
+
+import java.util.function.Supplier;
+
+/**
+ * Shard al que se dirigen las operaciones del hilo actual.
+ *
+ * {@link DataSourceEnrutado} consulta este valor cada vez que abre una conexión física. Como el
+ * data source está envuelto en un proxy perezoso, basta con establecer el shard antes de la
+ * primera sentencia, incluso dentro de un método {@code @Transactional}.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+public final class ContextoShard {
+
+    private static final ThreadLocal<Integer> SHARD = new ThreadLocal<>();
+
+    private ContextoShard() {
+    }
+
+    /**
+     * @return El shard del hilo actual, o {@code null} si no se estableció ninguno.
+     */
+    public static Integer actual() {
+        return SHARD.get();
+    }
+
+    /**
+     * Establece el shard del hilo actual. Al terminar debe restaurarse el anterior con
+     * {@link #restaurar(Integer)}, para no borrar el shard de un llamador que ya lo había establecido.
+     *
+     * @param shard El índice del shard.
+     * @return El shard que tenía el hilo, o {@code null} si no tenía ninguno.
+     */
+    public static Integer establecer(int shard) {
+        Integer anterior = SHARD.get();
+        SHARD.set(shard);
+        return anterior;
+    }
+
+    /**
+     * Restaura el shard que tenía el hilo antes de {@link #establecer(int)}.
+     *
+     * @param anterior El valor devuelto por {@link #establecer(int)}.
+     */
+    public static void restaurar(Integer anterior) {
+        if (anterior == null) {
+            SHARD.remove();
+        } else {
+            SHARD.set(anterior);
+        }
+    }
+
+    /**
+     * Quita el shard del hilo actual.
+     */
+    public static void limpiar() {
+        SHARD.remove();
+    }
+
+    /**
+     * Ejecuta una operación dirigida a un shard y restaura el shard anterior al terminar.
+     *
+     * @param shard El índice del shard.
+     * @param operacion La operación a ejecutar.
+     * @return El resultado de la operación.
+     */
+    public static <T> T ejecutarEn(int shard, Supplier<T> operacion) {
+        Integer anterior = establecer(shard);
+        try {
+            return operacion.get();
+        } finally {
+            restaurar(anterior);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.sistema.examenes.sharding;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+/**
+ * Data source que dirige cada conexión al shard indicado por {@link ContextoShard}.
+ *
+ * Si el hilo no estableció ningún shard, se usa el shard 0, que además aloja las tablas que no
+ * están fragmentadas (exámenes, preguntas, estadísticas).
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+public class DataSourceEnrutado extends AbstractRoutingDataSource {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ContextoShard.actual();
+    }
+}
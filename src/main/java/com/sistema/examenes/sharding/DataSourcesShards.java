@@ -0,0 +1,71 @@
+package com.sistema.examenes.sharding;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * Data sources físicos de cada shard, en orden de índice.
+ *
+ * Solo existe como bean cuando la fragmentación está habilitada. Además de los data sources que
+ * alimentan a {@link DataSourceEnrutado}, incluye el del directorio de usuarios: un pool pequeño y
+ * separado hacia el shard 0, de modo que {@link EnrutadorShards} pueda consultar el directorio
+ * dentro de una transacción sin pedir una segunda conexión al pool que la transacción ya ocupa.
+ *
+ * Es dueño de los pools: {@link #close()} los cierra, y Spring lo llama al cerrar el contexto
+ * porque el bean tiene un método {@code close} público.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+public class DataSourcesShards implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(DataSourcesShards.class);
+
+    private final List<DataSource> dataSources;
+
+    private final DataSource directorio;
+
+    public DataSourcesShards(List<DataSource> dataSources, DataSource directorio) {
+        this.dataSources = List.copyOf(dataSources);
+        this.directorio = directorio;
+    }
+
+    /**
+     * @return Los data sources de los shards; el de índice {@code i} corresponde al shard {@code i}.
+     */
+    public List<DataSource> getDataSources() {
+        return dataSources;
+    }
+
+    /**
+     * @return El data source del directorio de usuarios, sobre la base de datos del shard 0.
+     */
+    public DataSource getDirectorio() {
+        return directorio;
+    }
+
+    /**
+     * Cierra los pools de los shards y el del directorio. Un pool que no puede cerrarse se registra
+     * y no impide cerrar los demás.
+     */
+    @Override
+    public void close() {
+        for (DataSource dataSource : dataSources) {
+            cerrar(dataSource);
+        }
+        cerrar(directorio);
+    }
+
+    private static void cerrar(DataSource dataSource) {
+        if (dataSource instanceof AutoCloseable cerrable) {
+            try {
+                cerrable.close();
+            } catch (Exception e) {
+                log.warn("No se pudo cerrar el pool {}", dataSource, e);
+            }
+        }
+    }
+}
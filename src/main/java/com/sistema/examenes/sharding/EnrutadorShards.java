@@ -0,0 +1,358 @@
+package com.sistema.examenes.sharding;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Decide a qué shard se dirigen las operaciones sobre usuarios.
+ *
+ * Los usuarios nuevos van al shard de su institución. El shard de cada nombre de usuario se guarda
+ * en el directorio global {@code directorio_usuarios} del shard 0, cuya clave primaria garantiza
+ * que un nombre se reserve una sola vez entre todos los shards. Así, tanto la búsqueda de un
+ * usuario como la verificación de unicidad de un alta cuestan una consulta al directorio, sin
+ * recorrer los shards.
+ *
+ * El directorio se consulta con el pool propio de {@link DataSourcesShards#getDirectorio()} y no
+ * con el de los shards, por lo que puede usarse dentro de una transacción que ya tiene una conexión
+ * de un shard sin esperar otra conexión del mismo pool. Las consultas nunca retienen esa conexión
+ * mientras esperan otra, de modo que no pueden bloquearse entre sí.
+ *
+ * Los nombres resueltos se conservan en una caché en memoria de a lo sumo
+ * {@code sistema.sharding.directorio.tamano-cache} entradas, que se llena a medida que se consultan.
+ *
+ * Con la fragmentación deshabilitada hay un único shard y el directorio no se usa.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+@Component
+public class EnrutadorShards {
+
+    /**
+     * Valor devuelto por {@link #shardDeUsername(String)} cuando el usuario no existe en ningún shard.
+     */
+    public static final int SIN_SHARD = -1;
+
+    /**
+     * Cantidad máxima de nombres de usuario por consulta {@code IN} al directorio.
+     */
+    private static final int TAMANO_BLOQUE = 500;
+
+    /**
+     * Cantidad de usuarios que se leen de cada shard por consulta al reconstruir el directorio.
+     */
+    private static final int TAMANO_PAGINA_RECONSTRUCCION = 1000;
+
+    private static final Logger log = LoggerFactory.getLogger(EnrutadorShards.class);
+
+    @Autowired(required = false)
+    private DataSourcesShards dataSourcesShards;
+
+    @Autowired(required = false)
+    private PropiedadesSharding propiedades;
+
+    private final List<JdbcTemplate> shards = new ArrayList<>();
+
+    private JdbcTemplate directorio;
+
+    private NamedParameterJdbcTemplate directorioNombrado;
+
+    private final ConcurrentMap<String, Integer> cache = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void inicializar() {
+        if (propiedades == null) {
+            propiedades = new PropiedadesSharding();
+        }
+        if (dataSourcesShards != null) {
+            for (DataSource dataSource : dataSourcesShards.getDataSources()) {
+                shards.add(new JdbcTemplate(dataSource));
+            }
+            directorio = new JdbcTemplate(dataSourcesShards.getDirectorio());
+            directorioNombrado = new NamedParameterJdbcTemplate(directorio);
+        }
+    }
+
+    /**
+     * @return La cantidad de shards; 1 si la fragmentación está deshabilitada.
+     */
+    public int getNumeroShards() {
+        return Math.max(1, shards.size());
+    }
+
+    /**
+     * Obtiene el shard en el que se guardan los usuarios de una institución.
+     *
+     * @param institucion La institución; {@code null} se asigna al shard 0.
+     * @return El índice del shard.
+     */
+    public int shardDeInstitucion(String institucion) {
+        int numeroShards = getNumeroShards();
+        if (numeroShards == 1 || institucion == null) {
+            return 0;
+        }
+        Integer explicito = propiedades.getInstituciones().get(institucion);
+        if (explicito != null) {
+            return explicito;
+        }
+        return Math.floorMod(institucion.hashCode(), numeroShards);
+    }
+
+    /**
+     * Obtiene el shard en el que está guardado un usuario.
+     *
+     * @param username El nombre de usuario.
+     * @return El índice del shard, o {@link #SIN_SHARD} si el usuario no está en el directorio.
+     */
+    public int shardDeUsername(String username) {
+        if (getNumeroShards() == 1) {
+            return 0;
+        }
+        Integer shard = cache.get(username);
+        if (shard != null) {
+            return shard;
+        }
+
+        shard = directorio.query("SELECT shard FROM directorio_usuarios WHERE username = ?",
+                rs -> rs.next() ? rs.getInt(1) : null, username);
+        if (shard == null) {
+            return SIN_SHARD;
+        }
+        recordar(username, shard);
+        return shard;
+    }
+
+    /**
+     * Obtiene el shard de varios usuarios, consultando el directorio por bloques solo para los que
+     * no están en la caché.
+     *
+     * @param usernames Los nombres de usuario.
+     * @return El shard de cada usuario encontrado; los que no están en el directorio se omiten.
+     */
+    public Map<String, Integer> shardsDeUsernames(Collection<String> usernames) {
+        Map<String, Integer> resultado = new HashMap<>();
+        if (getNumeroShards() == 1) {
+            usernames.forEach(username -> resultado.put(username, 0));
+            return resultado;
+        }
+
+        List<String> faltantes = new ArrayList<>();
+        for (String username : new LinkedHashSet<>(usernames)) {
+            Integer shard = cache.get(username);
+            if (shard != null) {
+                resultado.put(username, shard);
+            } else {
+                faltantes.add(username);
+            }
+        }
+        for (int inicio = 0; inicio < faltantes.size(); inicio += TAMANO_BLOQUE) {
+            List<String> bloque = faltantes.subList(inicio, Math.min(inicio + TAMANO_BLOQUE, faltantes.size()));
+            directorioNombrado.query("SELECT username, shard FROM directorio_usuarios WHERE username IN (:usernames)",
+                    Map.of("usernames", bloque), rs -> {
+                        resultado.put(rs.getString(1), rs.getInt(2));
+                        recordar(rs.getString(1), rs.getInt(2));
+                    });
+        }
+        return resultado;
+    }
+
+    /**
+     * Reserva un nombre de usuario en el directorio para un alta en el shard indicado. La reserva
+     * se confirma de inmediato, fuera de la transacción del alta: si el alta se revierte, debe
+     * liberarse con {@link #olvidar(String, int)}.
+     *
+     * Si el nombre ya está reservado pero la reserva es más antigua que
+     * {@code sistema.sharding.directorio.vencimiento-reserva} y su usuario no existe en el shard
+     * reservado, la reserva quedó de un alta interrumpida y se reutiliza. Esa verificación consulta
+     * el shard reservado, por lo que este método debe llamarse fuera de una transacción.
+     *
+     * @param username El nombre de usuario.
+     * @param shard El índice del shard en el que se guardará el usuario.
+     * @return {@code true} si el nombre quedó reservado; {@code false} si ya pertenece a otro usuario.
+     */
+    public boolean reservar(String username, int shard) {
+        if (getNumeroShards() == 1) {
+            return true;
+        }
+        LocalDateTime ahora = LocalDateTime.now();
+        try {
+            directorio.update("INSERT INTO directorio_usuarios (username, shard, fecha_reserva) VALUES (?, ?, ?)",
+                    username, shard, Timestamp.valueOf(ahora));
+            return true;
+        } catch (DuplicateKeyException e) {
+            return reutilizarReservaAbandonada(username, shard, ahora);
+        }
+    }
+
+    /**
+     * Registra en la caché el shard de un usuario cuya alta se confirmó.
+     *
+     * @param username El nombre de usuario.
+     * @param shard El índice del shard.
+     */
+    public void registrar(String username, int shard) {
+        if (getNumeroShards() > 1 && username != null) {
+            recordar(username, shard);
+        }
+    }
+
+    /**
+     * Quita un usuario del directorio y de la caché, tras confirmarse su baja o revertirse su alta.
+     * Solo se quita si el directorio aún lo asigna al shard indicado.
+     *
+     * @param username El nombre de usuario.
+     * @param shard El índice del shard en el que estaba el usuario.
+     */
+    public void olvidar(String username, int shard) {
+        if (getNumeroShards() == 1 || username == null) {
+            return;
+        }
+        cache.remove(username);
+        directorio.update("DELETE FROM directorio_usuarios WHERE username = ? AND shard = ?", username, shard);
+    }
+
+    /**
+     * Descarta la entrada en caché de un usuario, por ejemplo cuando otra instancia de la
+     * aplicación lo eliminó o lo volvió a crear en otro shard.
+     *
+     * @param username El nombre de usuario.
+     */
+    public void invalidar(String username) {
+        if (username != null) {
+            cache.remove(username);
+        }
+    }
+
+    /**
+     * Agrega al directorio los usuarios de cada shard que no estén en él, recorriendo cada shard
+     * por páginas de {@value #TAMANO_PAGINA_RECONSTRUCCION} usuarios.
+     *
+     * @return La cantidad de usuarios agregados.
+     */
+    public int reconstruirDirectorio() {
+        int agregados = 0;
+        for (int i = 0; i < shards.size() && shards.size() > 1; i++) {
+            String ultimo = "";
+            List<String> pagina;
+            do {
+                pagina = shards.get(i).queryForList(
+                        "SELECT username FROM usuarios WHERE username > ? ORDER BY username LIMIT ?",
+                        String.class, ultimo, TAMANO_PAGINA_RECONSTRUCCION);
+                for (String username : pagina) {
+                    try {
+                        directorio.update("INSERT INTO directorio_usuarios (username, shard, fecha_reserva) VALUES (?, ?, ?)",
+                                username, i, Timestamp.valueOf(LocalDateTime.now()));
+                        agregados++;
+                    } catch (DuplicateKeyException e) {
+                        // Ya está en el directorio
+                    }
+                }
+                if (!pagina.isEmpty()) {
+                    ultimo = pagina.get(pagina.size() - 1);
+                }
+            } while (pagina.size() == TAMANO_PAGINA_RECONSTRUCCION);
+        }
+        return agregados;
+    }
+
+    /**
+     * Reconstruye el directorio en segundo plano al iniciar la aplicación, si
+     * {@code sistema.sharding.directorio.reconstruir-al-iniciar=true}. No retrasa el arranque.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconstruirAlIniciar() {
+        if (getNumeroShards() == 1 || !propiedades.getDirectorio().isReconstruirAlIniciar()) {
+            return;
+        }
+        Thread hilo = new Thread(() -> {
+            try {
+                log.info("Directorio de usuarios reconstruido: {} usuarios agregados", reconstruirDirectorio());
+            } catch (RuntimeException e) {
+                log.error("No se pudo reconstruir el directorio de usuarios", e);
+            }
+        }, "reconstruccion-directorio");
+        hilo.setDaemon(true);
+        hilo.start();
+    }
+
+    /**
+     * Reutiliza la reserva de un nombre de usuario si quedó abandonada por un alta interrumpida.
+     */
+    private boolean reutilizarReservaAbandonada(String username, int shard, LocalDateTime ahora) {
+        List<Object[]> reservas = directorio.query(
+                "SELECT shard, fecha_reserva FROM directorio_usuarios WHERE username = ?",
+                (rs, fila) -> new Object[]{rs.getInt(1), rs.getTimestamp(2)}, username);
+        if (reservas.isEmpty()) {
+            // La reserva se liberó entretanto: intentar de nuevo una sola vez
+            try {
+                directorio.update("INSERT INTO directorio_usuarios (username, shard, fecha_reserva) VALUES (?, ?, ?)",
+                        username, shard, Timestamp.valueOf(ahora));
+                return true;
+            } catch (DuplicateKeyException e) {
+                return false;
+            }
+        }
+
+        int shardReservado = (Integer) reservas.get(0)[0];
+        Timestamp fechaReserva = (Timestamp) reservas.get(0)[1];
+        if (fechaReserva.toLocalDateTime().isAfter(ahora.minus(propiedades.getDirectorio().getVencimientoReserva()))) {
+            return false;
+        }
+        Integer existe = shards.get(shardReservado).query("SELECT 1 FROM usuarios WHERE username = ? LIMIT 1",
+                rs -> rs.next() ? 1 : null, username);
+        if (existe != null) {
+            return false;
+        }
+
+        log.warn("Se reutiliza la reserva abandonada del usuario {} en el shard {}", username, shardReservado);
+        cache.remove(username);
+        return directorio.update(
+                "UPDATE directorio_usuarios SET shard = ?, fecha_reserva = ? WHERE username = ? AND shard = ? AND fecha_reserva = ?",
+                shard, Timestamp.valueOf(ahora), username, shardReservado, fechaReserva) == 1;
+    }
+
+    /**
+     * Guarda el shard de un usuario en la caché. Si la caché está llena, antes descarta
+     * aproximadamente una décima parte de sus entradas.
+     */
+    private void recordar(String username, int shard) {
+        int maximo = propiedades.getDirectorio().getTamanoCache();
+        if (cache.size() >= maximo) {
+            int descartar = Math.max(1, maximo / 10);
+            Iterator<String> entradas = cache.keySet().iterator();
+            while (descartar-- > 0 && entradas.hasNext()) {
+                entradas.next();
+                entradas.remove();
+            }
+        }
+        cache.put(username, shard);
+    }
+
+    /**
+     * @return La cantidad de nombres de usuario en la caché.
+     */
+    int getTamanoCache() {
+        return cache.size();
+    }
+}
@@ -0,0 +1,85 @@
+package com.sistema.examenes.sharding;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Fusiona resultados ordenados de varios shards en un único stream ordenado.
+ *
+ * Cada fuente se recorre de forma perezosa y solo se mantiene en memoria el siguiente elemento de
+ * cada una, por lo que el costo en memoria es proporcional a la cantidad de shards y no al total
+ * de resultados.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+public final class FusionOrdenada {
+
+    private FusionOrdenada() {
+    }
+
+    /**
+     * Fusiona fuentes ordenadas.
+     *
+     * @param fuentes Un iterador por shard, cada uno ordenado según {@code orden}.
+     * @param orden El orden común de las fuentes y del resultado.
+     * @return Un stream con los elementos de todas las fuentes, en orden.
+     */
+    public static <T> Stream<T> fusionar(List<Iterator<T>> fuentes, Comparator<? super T> orden) {
+        Iterator<T> fusion = new IteradorFusion<>(fuentes, orden);
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(fusion, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    private static final class IteradorFusion<T> implements Iterator<T> {
+
+        private final PriorityQueue<Cabeza<T>> cabezas;
+
+        private IteradorFusion(List<Iterator<T>> fuentes, Comparator<? super T> orden) {
+            this.cabezas = new PriorityQueue<>(Math.max(1, fuentes.size()),
+                    (a, b) -> orden.compare(a.elemento, b.elemento));
+            for (Iterator<T> fuente : fuentes) {
+                if (fuente.hasNext()) {
+                    cabezas.add(new Cabeza<>(fuente.next(), fuente));
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !cabezas.isEmpty();
+        }
+
+        @Override
+        public T next() {
+            Cabeza<T> cabeza = cabezas.poll();
+            if (cabeza == null) {
+                throw new NoSuchElementException();
+            }
+            T elemento = cabeza.elemento;
+            if (cabeza.fuente.hasNext()) {
+                cabeza.elemento = cabeza.fuente.next();
+                cabezas.add(cabeza);
+            }
+            return elemento;
+        }
+    }
+
+    private static final class Cabeza<T> {
+
+        private T elemento;
+        private final Iterator<T> fuente;
+
+        private Cabeza(T elemento, Iterator<T> fuente) {
+            this.elemento = elemento;
+            this.fuente = fuente;
+        }
+    }
+}
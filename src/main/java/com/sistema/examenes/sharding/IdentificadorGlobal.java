@@ -0,0 +1,70 @@
+package com.sistema.examenes.sharding;
+
+/**
+ * Identificadores únicos entre todos los shards.
+ *
+ * Cada shard genera sus identificadores con su propio {@code AUTO_INCREMENT}, así que el mismo
+ * identificador local se repite en varios shards. El identificador global antepone el shard en los
+ * bits altos: {@code (shard << 48) | idLocal}. En el shard 0 coincide con el identificador local,
+ * de modo que una instalación sin fragmentación conserva sus identificadores.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+public final class IdentificadorGlobal {
+
+    /**
+     * Bits reservados para el identificador local.
+     */
+    public static final int BITS_LOCALES = 48;
+
+    private static final long MASCARA_LOCAL = (1L << BITS_LOCALES) - 1;
+
+    private static final int SHARD_MAXIMO = (1 << (Long.SIZE - 1 - BITS_LOCALES)) - 1;
+
+    private IdentificadorGlobal() {
+    }
+
+    /**
+     * Compone el identificador global de una fila.
+     *
+     * @param shard El índice del shard donde está la fila.
+     * @param idLocal El identificador de la fila en su shard.
+     * @return El identificador global.
+     * @throws IllegalArgumentException Si el shard o el identificador local están fuera de rango.
+     */
+    public static long componer(int shard, long idLocal) {
+        if (shard < 0 || shard > SHARD_MAXIMO) {
+            throw new IllegalArgumentException("Shard fuera de rango: " + shard);
+        }
+        if (idLocal < 0 || idLocal > MASCARA_LOCAL) {
+            throw new IllegalArgumentException("Identificador local fuera de rango: " + idLocal);
+        }
+        return ((long) shard << BITS_LOCALES) | idLocal;
+    }
+
+    /**
+     * @param idGlobal Un identificador global.
+     * @return El shard del identificador.
+     */
+    public static int shard(long idGlobal) {
+        return (int) (idGlobal >>> BITS_LOCALES);
+    }
+
+    /**
+     * @param idGlobal Un identificador global.
+     * @return El identificador local dentro de su shard.
+     */
+    public static long idLocal(long idGlobal) {
+        return idGlobal & MASCARA_LOCAL;
+    }
+
+    /**
+     * @return El shard del hilo actual según {@link ContextoShard}, o 0 si no se estableció ninguno,
+     * que es también el shard al que se dirige el data source en ese caso.
+     */
+    public static int shardActual() {
+        Integer shard = ContextoShard.actual();
+        return shard == null ? 0 : shard;
+    }
+}
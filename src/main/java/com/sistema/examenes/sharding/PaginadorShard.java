@@ -0,0 +1,119 @@
+package com.sistema.examenes.sharding;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Iterador perezoso sobre los resultados de un shard, leídos por páginas con paginación por clave.
+ *
+ * Cada página se consulta dentro de {@link ContextoShard#ejecutarEn(int, java.util.function.Supplier)}
+ * solo cuando se agotó la anterior, y la siguiente página comienza después de la clave del último
+ * elemento leído.
+ *
+ * Con {@link #porClaves} cada página se lee en dos pasos: primero las claves y luego los elementos
+ * de esas claves, por ejemplo con un {@code join fetch} que no puede paginarse directamente. El
+ * avance depende solo de las claves, así que un elemento eliminado entre los dos pasos no termina
+ * el recorrido antes de tiempo.
+ *
+ * @param <T> El tipo de los elementos.
+ * @param <K> El tipo de la clave de orden.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+public class PaginadorShard<T, K> implements Iterator<T> {
+
+    private final int shard;
+    private final BiFunction<K, Integer, List<T>> consulta;
+    private final Function<T, K> clave;
+    private final BiFunction<K, Integer, List<K>> consultaClaves;
+    private final Function<List<K>, List<T>> carga;
+    private final int tamanoPagina;
+
+    private K ultimaClave;
+    private Iterator<T> pagina = Collections.emptyIterator();
+    private boolean agotado = false;
+
+    /**
+     * @param shard El índice del shard.
+     * @param claveInicial La clave a partir de la cual (exclusiva) se lee la primera página.
+     * @param consulta Consulta que recibe la última clave leída y el tamaño de página y devuelve
+     *                 los siguientes elementos en orden.
+     * @param clave Función que obtiene la clave de orden de un elemento.
+     * @param tamanoPagina Cantidad de elementos por consulta.
+     */
+    public PaginadorShard(int shard, K claveInicial, BiFunction<K, Integer, List<T>> consulta,
+                          Function<T, K> clave, int tamanoPagina) {
+        this(shard, claveInicial, consulta, clave, null, null, tamanoPagina);
+    }
+
+    private PaginadorShard(int shard, K claveInicial, BiFunction<K, Integer, List<T>> consulta, Function<T, K> clave,
+                           BiFunction<K, Integer, List<K>> consultaClaves, Function<List<K>, List<T>> carga,
+                           int tamanoPagina) {
+        this.shard = shard;
+        this.ultimaClave = claveInicial;
+        this.consulta = consulta;
+        this.clave = clave;
+        this.consultaClaves = consultaClaves;
+        this.carga = carga;
+        this.tamanoPagina = tamanoPagina;
+    }
+
+    /**
+     * Crea un paginador que lee en cada página las claves y después sus elementos.
+     *
+     * @param shard El índice del shard.
+     * @param claveInicial La clave a partir de la cual (exclusiva) se lee la primera página.
+     * @param consultaClaves Consulta que recibe la última clave leída y el tamaño de página y
+     *                       devuelve las siguientes claves en orden.
+     * @param carga Consulta que recibe las claves de una página y devuelve sus elementos en el
+     *              mismo orden; puede omitir los que ya no existan.
+     * @param tamanoPagina Cantidad de claves por consulta.
+     * @return El paginador.
+     */
+    public static <T, K> PaginadorShard<T, K> porClaves(int shard, K claveInicial,
+                                                        BiFunction<K, Integer, List<K>> consultaClaves,
+                                                        Function<List<K>, List<T>> carga, int tamanoPagina) {
+        return new PaginadorShard<>(shard, claveInicial, null, null, consultaClaves, carga, tamanoPagina);
+    }
+
+    @Override
+    public boolean hasNext() {
+        // Una página de claves cuyos elementos se eliminaron puede quedar vacía sin que el shard esté agotado
+        while (!pagina.hasNext() && !agotado) {
+            pagina = ContextoShard.ejecutarEn(shard, this::leerPagina).iterator();
+        }
+        return pagina.hasNext();
+    }
+
+    private List<T> leerPagina() {
+        if (consultaClaves == null) {
+            List<T> elementos = consulta.apply(ultimaClave, tamanoPagina);
+            agotado = elementos.size() < tamanoPagina;
+            return elementos;
+        }
+        List<K> claves = consultaClaves.apply(ultimaClave, tamanoPagina);
+        agotado = claves.size() < tamanoPagina;
+        if (claves.isEmpty()) {
+            return List.of();
+        }
+        ultimaClave = claves.get(claves.size() - 1);
+        return carga.apply(claves);
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        T elemento = pagina.next();
+        if (consultaClaves == null) {
+            ultimaClave = clave.apply(elemento);
+        }
+        return elemento;
+    }
+}
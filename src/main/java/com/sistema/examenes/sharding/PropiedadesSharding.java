@@ -0,0 +1,93 @@
+package com.sistema.examenes.sharding;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Propiedades {@code sistema.sharding.*} de la fragmentación de usuarios por institución.
+ *
+ * Ejemplo:
+ * <pre>
+ * sistema.sharding.habilitado=true
+ * sistema.sharding.shards[0].url=jdbc:mysql://db0:3306/sistema_examenes
+ * sistema.sharding.shards[1].url=jdbc:mysql://db1:3306/sistema_examenes
+ * sistema.sharding.instituciones.universidad-central=1
+ * </pre>
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+@Data
+@ConfigurationProperties(prefix = "sistema.sharding")
+public class PropiedadesSharding {
+
+    /**
+     * Si la fragmentación está habilitada. Si no lo está, hay un único shard: el data source de
+     * {@code spring.datasource}.
+     */
+    private boolean habilitado = false;
+
+    /**
+     * Conexión de cada shard, en orden de índice.
+     */
+    private List<Shard> shards = new ArrayList<>();
+
+    /**
+     * Asignación explícita de instituciones a shards. Las instituciones que no aparecen se
+     * reparten por el hash de su nombre.
+     */
+    private Map<String, Integer> instituciones = new HashMap<>();
+
+    /**
+     * Directorio global nombre de usuario → shard.
+     */
+    private Directorio directorio = new Directorio();
+
+    /**
+     * Conexión a la base de datos de un shard.
+     */
+    @Data
+    public static class Shard {
+
+        private String url;
+        private String username;
+        private String password;
+    }
+
+    /**
+     * Propiedades {@code sistema.sharding.directorio.*} del directorio de usuarios.
+     */
+    @Data
+    public static class Directorio {
+
+        /**
+         * Conexiones del pool propio del directorio hacia el shard 0. Es independiente de los pools
+         * de los shards, para que consultarlo dentro de una transacción no espere una conexión del
+         * mismo pool que la transacción ya ocupa.
+         */
+        private int tamanoPool = 4;
+
+        /**
+         * Cantidad máxima de nombres de usuario que se conservan en memoria.
+         */
+        private int tamanoCache = 100_000;
+
+        /**
+         * Antigüedad a partir de la cual una reserva cuyo usuario no existe en su shard se considera
+         * abandonada por un alta interrumpida y puede reutilizarse.
+         */
+        private Duration vencimientoReserva = Duration.ofMinutes(10);
+
+        /**
+         * Si al iniciar se agregan al directorio, en segundo plano, los usuarios de los shards que
+         * no estén en él. Necesario una vez al habilitar el directorio sobre shards con datos.
+         */
+        private boolean reconstruirAlIniciar = false;
+    }
+}
@@ -0,0 +1,144 @@
+package com.sistema.examenes.sharding;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuración de la fragmentación de usuarios por institución.
+ *
+ * Cuando {@code sistema.sharding.habilitado=true}, reemplaza el data source de la aplicación por un
+ * {@link DataSourceEnrutado} sobre un pool por shard. El enrutador se envuelve en un
+ * {@link LazyConnectionDataSourceProxy} para que la conexión física se pida en la primera
+ * sentencia y no al iniciar la transacción, de modo que el servicio pueda elegir el shard dentro
+ * de sus métodos transaccionales.
+ *
+ * Con Flyway habilitado (perfil {@code produccion}) las migraciones se aplican a cada shard. Sin
+ * Flyway, el esquema de los shards distintos del 0 debe existir de antemano:
+ * {@code spring.jpa.hibernate.ddl-auto} solo actúa sobre el shard 0. El directorio de usuarios
+ * ({@code directorio_usuarios}) vive en el shard 0 y se consulta con un pool propio.
+ *
+ * Con Spring AOT la condición sobre {@code sistema.sharding.habilitado} se evalúa al empaquetar;
+ * ver {@code ArranqueRapidoConfig}.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+@Configuration
+@EnableConfigurationProperties(PropiedadesSharding.class)
+@ConditionalOnProperty(prefix = "sistema.sharding", name = "habilitado", havingValue = "true")
+public class ShardingConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ShardingConfig.class);
+
+    /**
+     * Un pool de conexiones por shard configurado, más el pool del directorio de usuarios.
+     *
+     * @param propiedades Las propiedades {@code sistema.sharding.*}.
+     * @param dataSourceProperties Las propiedades {@code spring.datasource.*}, usadas para el
+     *                             controlador JDBC y como credenciales por defecto.
+     * @return Los data sources de los shards.
+     */
+    @Bean
+    public DataSourcesShards dataSourcesShards(PropiedadesSharding propiedades, DataSourceProperties dataSourceProperties) {
+        if (propiedades.getShards().isEmpty()) {
+            throw new IllegalStateException("sistema.sharding.habilitado=true requiere al menos un shard en sistema.sharding.shards");
+        }
+
+        List<DataSource> dataSources = new ArrayList<>();
+        for (PropiedadesSharding.Shard shard : propiedades.getShards()) {
+            dataSources.add(crearPool(shard, dataSourceProperties));
+        }
+
+        // Pool propio del directorio, sobre la base de datos del shard 0
+        HikariDataSource directorio = crearPool(propiedades.getShards().get(0), dataSourceProperties);
+        directorio.setPoolName("directorio-usuarios");
+        directorio.setMaximumPoolSize(propiedades.getDirectorio().getTamanoPool());
+        return new DataSourcesShards(dataSources, directorio);
+    }
+
+    private static HikariDataSource crearPool(PropiedadesSharding.Shard shard, DataSourceProperties dataSourceProperties) {
+        return DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(dataSourceProperties.getDriverClassName())
+                .url(shard.getUrl())
+                .username(shard.getUsername() != null ? shard.getUsername() : dataSourceProperties.getUsername())
+                .password(shard.getPassword() != null ? shard.getPassword() : dataSourceProperties.getPassword())
+                .build();
+    }
+
+    /**
+     * Data source de la aplicación, enrutado al shard de {@link ContextoShard}.
+     *
+     * @param shards Los data sources de los shards.
+     * @return El data source de la aplicación.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourcesShards shards) {
+        return crearDataSourceEnrutado(shards.getDataSources());
+    }
+
+    /**
+     * Aplica las migraciones de Flyway a cada shard. Spring Boot solo migra el data source de la
+     * aplicación, que sin un shard en {@link ContextoShard} se dirige al shard 0; los demás shards
+     * se migran con la misma configuración sobre su propio pool.
+     *
+     * @param shards Los data sources de los shards.
+     * @return La estrategia de migración.
+     */
+    @Bean
+    public FlywayMigrationStrategy migracionPorShard(DataSourcesShards shards) {
+        return flyway -> {
+            flyway.migrate();
+            for (int i = 1; i < shards.getDataSources().size(); i++) {
+                log.info("Aplicando las migraciones de Flyway al shard {}", i);
+                Flyway.configure()
+                        .configuration(flyway.getConfiguration())
+                        .dataSource(shards.getDataSources().get(i))
+                        .load()
+                        .migrate();
+            }
+        };
+    }
+
+    /**
+     * Crea el data source enrutado sobre los data sources dados, envuelto en un proxy perezoso.
+     *
+     * @param dataSources Los data sources de los shards, en orden de índice.
+     * @return El data source enrutado.
+     */
+    public static DataSource crearDataSourceEnrutado(List<DataSource> dataSources) {
+        Map<Object, Object> destinos = new HashMap<>();
+        for (int i = 0; i < dataSources.size(); i++) {
+            destinos.put(i, dataSources.get(i));
+        }
+
+        DataSourceEnrutado enrutado = new DataSourceEnrutado();
+        enrutado.setTargetDataSources(destinos);
+        enrutado.setDefaultTargetDataSource(dataSources.get(0));
+        enrutado.afterPropertiesSet();
+
+        LazyConnectionDataSourceProxy perezoso = new LazyConnectionDataSourceProxy(enrutado);
+        perezoso.setDefaultAutoCommit(true);
+        perezoso.setDefaultTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+        return perezoso;
+    }
+}
@@ -0,0 +1,31 @@
+-- Esquema inicial: el que generaba spring.jpa.hibernate.ddl-auto=update antes de introducir Flyway,
+-- con solo las tablas usuarios, roles y usuario_rol. Las bases de datos existentes con exactamente
+-- este esquema se marcan con esta versión (spring.flyway.baseline-on-migrate) y reciben las
+-- migraciones siguientes; ver application-produccion.properties.
+
+CREATE TABLE usuarios (
+    id       BIGINT NOT NULL AUTO_INCREMENT,
+    username VARCHAR(255),
+    password VARCHAR(255),
+    nombre   VARCHAR(255),
+    apellido VARCHAR(255),
+    telefono VARCHAR(255),
+    enable   BIT,
+    perfil   VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE roles (
+    rol_id BIGINT NOT NULL,
+    nombre VARCHAR(255),
+    PRIMARY KEY (rol_id)
+);
+
+CREATE TABLE usuario_rol (
+    usuario_rol_id BIGINT NOT NULL AUTO_INCREMENT,
+    usuario_id     BIGINT,
+    rol_rol_id     BIGINT,
+    PRIMARY KEY (usuario_rol_id),
+    CONSTRAINT fk_usuario_rol_usuario FOREIGN KEY (usuario_id) REFERENCES usuarios (id),
+    CONSTRAINT fk_usuario_rol_rol FOREIGN KEY (rol_rol_id) REFERENCES roles (rol_id)
+);
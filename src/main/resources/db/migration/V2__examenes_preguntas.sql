@@ -0,0 +1,22 @@
+-- Exámenes y banco de preguntas para la generación de exámenes aleatorios
+CREATE TABLE examenes (
+    examen_id           BIGINT NOT NULL AUTO_INCREMENT,
+    titulo              VARCHAR(255),
+    descripcion         VARCHAR(255),
+    numero_de_preguntas INTEGER,
+    activo              BIT,
+    PRIMARY KEY (examen_id)
+);
+
+CREATE TABLE preguntas (
+    pregunta_id      BIGINT NOT NULL AUTO_INCREMENT,
+    contenido        VARCHAR(5000),
+    opcion1          VARCHAR(255),
+    opcion2          VARCHAR(255),
+    opcion3          VARCHAR(255),
+    opcion4          VARCHAR(255),
+    respuesta        VARCHAR(255),
+    examen_examen_id BIGINT,
+    PRIMARY KEY (pregunta_id),
+    CONSTRAINT fk_preguntas_examen FOREIGN KEY (examen_examen_id) REFERENCES examenes (examen_id)
+);
@@ -0,0 +1,13 @@
+-- Estadísticas acumuladas de las respuestas de cada pregunta
+CREATE TABLE estadisticas_preguntas (
+    pregunta_id            BIGINT NOT NULL,
+    respuestas             BIGINT,
+    aciertos               BIGINT,
+    suma_puntaje_aciertos  BIGINT,
+    suma_puntaje_fallos    BIGINT,
+    suma_cuadrados_puntaje BIGINT,
+    dificultad             DOUBLE,
+    discriminacion         DOUBLE,
+    fecha_actualizacion    DATETIME(6),
+    PRIMARY KEY (pregunta_id)
+);
@@ -0,0 +1,15 @@
+-- Outbox de eventos del ciclo de vida de los usuarios, publicados por RelayOutbox
+CREATE TABLE outbox_eventos (
+    id             BIGINT NOT NULL AUTO_INCREMENT,
+    tipo           VARCHAR(40) NOT NULL,
+    usuario_id     BIGINT,
+    username       VARCHAR(255),
+    fecha_creacion DATETIME(6),
+    enviado        BIT,
+    fecha_envio    DATETIME(6),
+    reclamo        VARCHAR(36),
+    reclamo_hasta  DATETIME(6),
+    PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_outbox_eventos_enviado ON outbox_eventos (enviado, id);
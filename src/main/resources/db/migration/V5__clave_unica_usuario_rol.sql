@@ -0,0 +1,9 @@
+-- Un usuario no puede tener dos veces el mismo rol. Antes de crear la clave se eliminan las
+-- asignaciones repetidas que hayan dejado asignaciones concurrentes, conservando la más antigua.
+DELETE ur1 FROM usuario_rol ur1
+    JOIN usuario_rol ur2
+      ON ur1.usuario_id = ur2.usuario_id
+     AND ur1.rol_rol_id = ur2.rol_rol_id
+     AND ur1.usuario_rol_id > ur2.usuario_rol_id;
+
+ALTER TABLE usuario_rol ADD CONSTRAINT uk_usuario_rol_usuario_rol UNIQUE (usuario_id, rol_rol_id);
@@ -0,0 +1,2 @@
+-- Institución del usuario, que determina su shard
+ALTER TABLE usuarios ADD COLUMN institucion VARCHAR(255);
@@ -0,0 +1,8 @@
+-- Directorio global nombre de usuario -> shard. Solo se usa en el shard 0; en los demás shards
+-- queda vacío.
+CREATE TABLE directorio_usuarios (
+    username      VARCHAR(255) NOT NULL,
+    shard         INT          NOT NULL,
+    fecha_reserva DATETIME(6)  NOT NULL,
+    PRIMARY KEY (username)
+);
@@ -0,0 +1,2 @@
+-- Columna de versión para el control de concurrencia optimista de los usuarios (PATCH /usuarios/{username})
+ALTER TABLE usuarios ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
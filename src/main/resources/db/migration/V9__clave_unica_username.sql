@@ -0,0 +1,11 @@
+-- El nombre de usuario identifica al usuario en la actualización parcial y en el directorio de
+-- shards, así que debe ser único. Antes de crear la clave se renombran los usuarios repetidos que
+-- hayan dejado registros concurrentes, conservando el nombre en el más antiguo; los demás quedan
+-- como <username>#<id> para revisarlos a mano sin perder sus datos ni sus roles.
+UPDATE usuarios u1
+    JOIN usuarios u2
+      ON u1.username = u2.username
+     AND u1.id > u2.id
+   SET u1.username = CONCAT(LEFT(u1.username, 200), '#', u1.id);
+
+ALTER TABLE usuarios ADD CONSTRAINT uk_usuarios_username UNIQUE (username);
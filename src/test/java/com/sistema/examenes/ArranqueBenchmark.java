@@ -0,0 +1,116 @@
+package com.sistema.examenes;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Benchmark de arranque: mide el tiempo hasta la primera solicitud atendida con la configuración por
+ * defecto ({@code ddl-auto=update}, beans inicializados al arrancar) y con el perfil
+ * {@code produccion} (migraciones Flyway, Hibernate sin metadatos JDBC, beans perezosos).
+ *
+ * Cada arranque es una JVM nueva con el classpath de pruebas y la base H2 embebida, de modo que no
+ * hereda clases cargadas ni JIT de la anterior. El tiempo va desde el lanzamiento del proceso hasta
+ * la primera respuesta de {@code GET /usuarios/{username}}, que ya necesita JPA. La salida de cada
+ * proceso queda en {@code target/arranque/}. AOT y CDS se aplican al jar empaquetado
+ * ({@code mvn package -Pproduccion}) y no se reflejan aquí.
+ *
+ * Se ejecuta solo con el perfil de Maven {@code benchmark}:
+ * {@code mvn test -Pbenchmark -Dtest=ArranqueBenchmark -Darranque.repeticiones=5}.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+public class ArranqueBenchmark {
+
+    private static final Duration TIEMPO_MAXIMO = Duration.ofMinutes(2);
+
+    private final HttpClient cliente = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofMillis(500))
+            .build();
+
+    @Test
+    public void tiempoHastaPrimeraSolicitud() throws Exception {
+        int repeticiones = Integer.getInteger("arranque.repeticiones", 3);
+        Files.createDirectories(Path.of("target", "arranque"));
+
+        long[] porDefecto = new long[repeticiones];
+        long[] rapido = new long[repeticiones];
+        // Se alternan las variantes para que el estado de la máquina afecte a ambas por igual
+        for (int i = 0; i < repeticiones; i++) {
+            porDefecto[i] = medirArranque("defecto-" + i,
+                    "--spring.profiles.active=h2", "--spring.jpa.hibernate.ddl-auto=update");
+            rapido[i] = medirArranque("produccion-" + i,
+                    "--spring.profiles.active=h2,produccion");
+        }
+
+        reportar("defecto", porDefecto);
+        reportar("produccion", rapido);
+    }
+
+    /**
+     * Lanza la aplicación en una JVM nueva y espera la primera respuesta exitosa.
+     *
+     * @return Los milisegundos desde el lanzamiento hasta la primera respuesta.
+     */
+    private long medirArranque(String nombre, String... argumentos) throws Exception {
+        int puerto;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            puerto = socket.getLocalPort();
+        }
+
+        List<String> comando = new ArrayList<>(List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path"),
+                SistemaExamenesBackendApplication.class.getName(),
+                "--server.port=" + puerto));
+        comando.addAll(Arrays.asList(argumentos));
+
+        File salida = Path.of("target", "arranque", nombre + ".log").toFile();
+        HttpRequest solicitud = HttpRequest.newBuilder(URI.create("http://localhost:" + puerto + "/usuarios/arranque"))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+
+        long inicio = System.nanoTime();
+        Process proceso = new ProcessBuilder(comando).redirectErrorStream(true).redirectOutput(salida).start();
+        try {
+            while (System.nanoTime() - inicio < TIEMPO_MAXIMO.toNanos()) {
+                if (!proceso.isAlive()) {
+                    throw new IllegalStateException("La aplicación terminó al arrancar; ver " + salida);
+                }
+                try {
+                    if (cliente.send(solicitud, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return (System.nanoTime() - inicio) / 1_000_000;
+                    }
+                } catch (java.io.IOException e) {
+                    // Todavía no escucha en el puerto
+                }
+                Thread.sleep(10);
+            }
+            throw new IllegalStateException("La aplicación no respondió en " + TIEMPO_MAXIMO + "; ver " + salida);
+        } finally {
+            proceso.destroy();
+            proceso.waitFor();
+        }
+    }
+
+    private static void reportar(String variante, long[] milisegundos) {
+        long[] ordenados = milisegundos.clone();
+        Arrays.sort(ordenados);
+        System.out.printf("Arranque %-10s: mediana %d ms, mínimo %d ms, máximo %d ms (%s)%n",
+                variante, ordenados[ordenados.length / 2], ordenados[0], ordenados[ordenados.length - 1],
+                Arrays.toString(milisegundos));
+    }
+}
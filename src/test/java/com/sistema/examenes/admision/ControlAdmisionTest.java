@@ -0,0 +1,176 @@
+package com.sistema.examenes.admision;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clase de prueba para el control de admisión.
+ *
+ * Verifica el ajuste AIMD de {@link LimiteAdaptativo}, que nunca se admiten más solicitudes
+ * concurrentes que el límite, la prioridad de las lecturas y la respuesta 503 de
+ * {@link FiltroAdmision}.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+public class ControlAdmisionTest {
+
+    private static final long UN_SEGUNDO = 1_000_000_000L;
+
+    @Test
+    public void testReduceElLimiteUnaVezPorIntervalo() {
+        LimiteAdaptativo limite = new LimiteAdaptativo(10, 2, 100, UN_SEGUNDO);
+
+        assertTrue(limite.intentarAdquirir(limite.getLimite()));
+        limite.liberar(2 * UN_SEGUNDO, false);
+        assertEquals(9, limite.getLimite());
+
+        // Dentro del mismo intervalo otra respuesta lenta no vuelve a reducirlo
+        assertTrue(limite.intentarAdquirir(limite.getLimite()));
+        limite.liberar(2 * UN_SEGUNDO, true);
+        assertEquals(9, limite.getLimite());
+    }
+
+    @Test
+    public void testNoBajaDelMinimo() {
+        LimiteAdaptativo limite = new LimiteAdaptativo(10, 2, 100, 0);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limite.intentarAdquirir(limite.getLimite()));
+            limite.liberar(1, false);
+        }
+        assertEquals(2, limite.getLimite());
+    }
+
+    @Test
+    public void testAumentaSoloSiElLimiteSeUsa() {
+        LimiteAdaptativo limite = new LimiteAdaptativo(4, 1, 100, UN_SEGUNDO);
+
+        // Una solicitud a la vez: el límite no se usa y no crece
+        for (int i = 0; i < 100; i++) {
+            assertTrue(limite.intentarAdquirir(limite.getLimite()));
+            limite.liberar(0, false);
+        }
+        assertEquals(4, limite.getLimite());
+
+        // Rondas que llenan el límite: crece aproximadamente uno por ronda
+        for (int ronda = 0; ronda < 20; ronda++) {
+            int admitidas = 0;
+            while (limite.intentarAdquirir(limite.getLimite())) {
+                admitidas++;
+            }
+            for (int i = 0; i < admitidas; i++) {
+                limite.liberar(0, false);
+            }
+        }
+        assertTrue(limite.getLimite() > 8, "Límite después de 20 rondas: " + limite.getLimite());
+        assertEquals(0, limite.getEnVuelo());
+    }
+
+    @Test
+    public void testNuncaSuperaElLimiteConcurrente() throws Exception {
+        LimiteAdaptativo limite = new LimiteAdaptativo(4, 4, 4, UN_SEGUNDO);
+        AtomicInteger maximoObservado = new AtomicInteger();
+        int hilos = 16;
+        int iteraciones = 20_000;
+
+        ExecutorService ejecutor = Executors.newFixedThreadPool(hilos);
+        List<Future<?>> tareas = new ArrayList<>();
+        for (int h = 0; h < hilos; h++) {
+            tareas.add(ejecutor.submit(() -> {
+                for (int i = 0; i < iteraciones; i++) {
+                    if (limite.intentarAdquirir(limite.getLimite())) {
+                        maximoObservado.accumulateAndGet(limite.getEnVuelo(), Math::max);
+                        limite.liberar(0, false);
+                    }
+                }
+            }));
+        }
+        for (Future<?> tarea : tareas) {
+            tarea.get();
+        }
+        ejecutor.shutdown();
+
+        assertTrue(maximoObservado.get() <= 4, "En vuelo máximo: " + maximoObservado.get());
+        assertEquals(0, limite.getEnVuelo());
+        assertEquals((long) hilos * iteraciones, limite.getAdmitidas() + limite.getRechazadas());
+    }
+
+    @Test
+    public void testLosLimitesPorDefectoNoSuperanElPool() {
+        PropiedadesAdmision propiedades = new PropiedadesAdmision();
+        propiedades.setConexiones(10);
+        ControlAdmision controlAdmision = new ControlAdmision(propiedades);
+
+        assertEquals(6, controlAdmision.getLimite(ClaseSolicitud.LECTURA).getLimite());
+        assertEquals(2, controlAdmision.getLimite(ClaseSolicitud.REGISTRO).getLimite());
+        assertEquals(2, controlAdmision.getLimite(ClaseSolicitud.MODIFICACION).getLimite());
+
+        // Un límite configurado explícitamente no se deriva del pool
+        propiedades.setLectura(new PropiedadesAdmision.Limite(null, null, 32, 50));
+        assertEquals(32, new ControlAdmision(propiedades).getLimite(ClaseSolicitud.LECTURA).getLimite());
+    }
+
+    @Test
+    public void testLasLecturasTienenPrioridadSobreLosRegistros() {
+        PropiedadesAdmision propiedades = new PropiedadesAdmision();
+        propiedades.setLectura(new PropiedadesAdmision.Limite(10, 10, 10, 1000));
+        propiedades.setRegistro(new PropiedadesAdmision.Limite(10, 10, 10, 1000));
+        ControlAdmision controlAdmision = new ControlAdmision(propiedades);
+
+        List<LimiteAdaptativo> lecturas = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            lecturas.add(controlAdmision.adquirir(ClaseSolicitud.LECTURA));
+        }
+
+        // Con las lecturas al 80 % los registros solo conservan la concurrencia garantizada
+        LimiteAdaptativo registro = controlAdmision.adquirir(ClaseSolicitud.REGISTRO);
+        assertNotNull(registro);
+        assertNull(controlAdmision.adquirir(ClaseSolicitud.REGISTRO));
+        assertNotNull(controlAdmision.adquirir(ClaseSolicitud.LECTURA));
+
+        lecturas.get(0).liberar(0, false);
+        lecturas.get(1).liberar(0, false);
+        assertNotNull(controlAdmision.adquirir(ClaseSolicitud.REGISTRO));
+        registro.liberar(0, false);
+    }
+
+    @Test
+    public void testFiltroRespondeServicioNoDisponibleConRetryAfter() throws Exception {
+        PropiedadesAdmision propiedades = new PropiedadesAdmision();
+        propiedades.setLectura(new PropiedadesAdmision.Limite(1, 1, 1, 1000));
+        ControlAdmision controlAdmision = new ControlAdmision(propiedades);
+        FiltroAdmision filtro = new FiltroAdmision(controlAdmision, 2);
+
+        LimiteAdaptativo ocupado = controlAdmision.adquirir(ClaseSolicitud.LECTURA);
+        MockHttpServletResponse rechazada = new MockHttpServletResponse();
+        MockFilterChain cadenaRechazada = new MockFilterChain();
+        filtro.doFilter(new MockHttpServletRequest("GET", "/usuarios/ana"), rechazada, cadenaRechazada);
+
+        assertEquals(503, rechazada.getStatus());
+        assertEquals("2", rechazada.getHeader("Retry-After"));
+        assertEquals("UTF-8", rechazada.getCharacterEncoding());
+        assertTrue(new String(rechazada.getContentAsByteArray(), StandardCharsets.UTF_8).contains("más tarde"));
+        assertNull(cadenaRechazada.getRequest(), "La solicitud rechazada no debe llegar al controlador");
+
+        ocupado.liberar(0, false);
+        MockHttpServletResponse admitida = new MockHttpServletResponse();
+        MockFilterChain cadenaAdmitida = new MockFilterChain();
+        filtro.doFilter(new MockHttpServletRequest("GET", "/usuarios/ana"), admitida, cadenaAdmitida);
+
+        assertEquals(200, admitida.getStatus());
+        assertNotNull(cadenaAdmitida.getRequest());
+        assertEquals(0, controlAdmision.getLimite(ClaseSolicitud.LECTURA).getEnVuelo());
+    }
+}
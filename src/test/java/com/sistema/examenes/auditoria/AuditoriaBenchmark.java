@@ -0,0 +1,100 @@
+package com.sistema.examenes.auditoria;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Benchmark de {@link AuditoriaUsuarios}: mide cuánto agrega {@code registrar} a cada solicitud
+ * (el costo de encolar, en nanosegundos por llamada) con distinta cantidad de hilos, y cuántos
+ * registros por segundo escribe el hilo escritor a los segmentos.
+ *
+ * Se ejecuta solo con el perfil de Maven {@code benchmark}:
+ * {@code mvn test -Pbenchmark -Dtest=AuditoriaBenchmark}.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+public class AuditoriaBenchmark {
+
+    private static final int EVENTOS_POR_HILO = 1_000_000;
+
+    @TempDir
+    Path directorio;
+
+    @Test
+    public void costoPorSolicitud() throws Exception {
+        for (int hilos : new int[]{1, 4, 8, 16}) {
+            Path destino = directorio.resolve("hilos-" + hilos);
+            AuditoriaUsuarios auditoria = new AuditoriaUsuarios();
+            ReflectionTestUtils.setField(auditoria, "habilitado", true);
+            ReflectionTestUtils.setField(auditoria, "directorio", destino.toString());
+            ReflectionTestUtils.setField(auditoria, "tamanoSegmentoMb", 64);
+            ReflectionTestUtils.setField(auditoria, "capacidadAnillo", 65536);
+            ReflectionTestUtils.setField(auditoria, "forzarIntervaloMs", 1000L);
+            // Se mide la escritura de todos los eventos, así que el anillo lleno espera en lugar de descartar
+            ReflectionTestUtils.setField(auditoria, "esperaMaximaMs", 60_000L);
+            auditoria.iniciar();
+
+            // Calentamiento del JIT, fuera de la medición
+            medir(auditoria, hilos, EVENTOS_POR_HILO / 10);
+            assertTrue(auditoria.esperarEscritura(Duration.ofMinutes(1)));
+            long escritosAntes = auditoria.getEscritos();
+
+            long inicio = System.nanoTime();
+            long nanosEncolando = medir(auditoria, hilos, EVENTOS_POR_HILO);
+            assertTrue(auditoria.esperarEscritura(Duration.ofMinutes(1)));
+            long nanosTotales = System.nanoTime() - inicio;
+
+            long eventos = (long) hilos * EVENTOS_POR_HILO;
+            assertEquals(eventos, auditoria.getEscritos() - escritosAntes);
+            System.out.printf("%2d hilos: %.0f ns por registrar (promedio por hilo), escritura %.2f M registros/s, "
+                            + "esperas por anillo lleno %d%n",
+                    hilos, (double) nanosEncolando / EVENTOS_POR_HILO, eventos / (nanosTotales / 1e9) / 1e6,
+                    auditoria.getEsperasPorAnilloLleno());
+            auditoria.detener();
+
+            assertEquals(eventos + (long) hilos * (EVENTOS_POR_HILO / 10),
+                    LectorAuditoria.leer(destino, FiltroAuditoria.todos()).count());
+        }
+    }
+
+    /**
+     * @return El tiempo promedio que cada hilo pasó registrando sus eventos, en nanosegundos.
+     */
+    private static long medir(AuditoriaUsuarios auditoria, int hilos, int eventosPorHilo) throws Exception {
+        ExecutorService ejecutor = Executors.newFixedThreadPool(hilos);
+        CountDownLatch inicio = new CountDownLatch(1);
+        List<Future<Long>> tareas = new ArrayList<>();
+        for (int h = 0; h < hilos; h++) {
+            String username = "usuario-" + h;
+            tareas.add(ejecutor.submit(() -> {
+                inicio.await();
+                long comienzo = System.nanoTime();
+                for (int i = 0; i < eventosPorHilo; i++) {
+                    auditoria.registrar(OperacionAuditoria.OBTENER, username, true);
+                }
+                return System.nanoTime() - comienzo;
+            }));
+        }
+        inicio.countDown();
+        long total = 0;
+        for (Future<Long> tarea : tareas) {
+            total += tarea.get();
+        }
+        ejecutor.shutdown();
+        return total / hilos;
+    }
+}
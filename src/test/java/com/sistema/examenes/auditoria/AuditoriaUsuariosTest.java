@@ -0,0 +1,240 @@
+package com.sistema.examenes.auditoria;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clase de prueba para la auditoría de usuarios.
+ *
+ * Verifica que los eventos de varios hilos quedan todos escritos, con secuencia consecutiva a través
+ * de varios segmentos y respetando el orden de cada hilo; que al reiniciar se continúa tras el
+ * último registro, también si quedó uno dañado; los filtros de {@link LectorAuditoria}; que el
+ * anillo no pierde un evento si el escritor falla, lo descarta si sigue lleno y no espera si el
+ * escritor está detenido; que los segmentos se crean con su tamaño completo; y que el directorio
+ * no admite dos escritores.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+public class AuditoriaUsuariosTest {
+
+    @TempDir
+    Path directorio;
+
+    private AuditoriaUsuarios crear(int tamanoSegmentoMb) {
+        AuditoriaUsuarios auditoria = new AuditoriaUsuarios();
+        ReflectionTestUtils.setField(auditoria, "habilitado", true);
+        ReflectionTestUtils.setField(auditoria, "directorio", directorio.toString());
+        ReflectionTestUtils.setField(auditoria, "tamanoSegmentoMb", tamanoSegmentoMb);
+        ReflectionTestUtils.setField(auditoria, "capacidadAnillo", 1024);
+        ReflectionTestUtils.setField(auditoria, "forzarIntervaloMs", 100L);
+        ReflectionTestUtils.setField(auditoria, "esperaMaximaMs", 30_000L);
+        auditoria.iniciar();
+        return auditoria;
+    }
+
+    private List<RegistroAuditoria> leerTodos() {
+        return LectorAuditoria.leer(directorio, FiltroAuditoria.todos()).toList();
+    }
+
+    @Test
+    public void testEscribeTodosLosEventosEnOrden() throws Exception {
+        AuditoriaUsuarios auditoria = crear(1);
+        int hilos = 8;
+        int eventosPorHilo = 20_000;
+
+        ExecutorService ejecutor = Executors.newFixedThreadPool(hilos);
+        List<Future<?>> tareas = new ArrayList<>();
+        for (int h = 0; h < hilos; h++) {
+            int hilo = h;
+            tareas.add(ejecutor.submit(() -> {
+                for (int i = 0; i < eventosPorHilo; i++) {
+                    auditoria.registrar(OperacionAuditoria.values()[i % 3], hilo + ":" + i, i % 2 == 0);
+                }
+            }));
+        }
+        for (Future<?> tarea : tareas) {
+            tarea.get();
+        }
+        ejecutor.shutdown();
+        assertTrue(auditoria.esperarEscritura(Duration.ofSeconds(30)));
+        assertEquals((long) hilos * eventosPorHilo, auditoria.getEscritos());
+        auditoria.detener();
+
+        List<RegistroAuditoria> registros = leerTodos();
+        assertEquals(hilos * eventosPorHilo, registros.size());
+        assertTrue(SegmentosAuditoria.listar(directorio).size() > 1, "Con segmentos de 1 MB debe haber varios");
+
+        Map<String, Integer> ultimoPorHilo = new HashMap<>();
+        for (int i = 0; i < registros.size(); i++) {
+            RegistroAuditoria registro = registros.get(i);
+            assertEquals(i + 1, registro.getSecuencia());
+
+            String[] partes = registro.getUsername().split(":");
+            int indice = Integer.parseInt(partes[1]);
+            Integer anterior = ultimoPorHilo.put(partes[0], indice);
+            assertEquals(anterior == null ? 0 : anterior + 1, indice, "Orden del hilo " + partes[0]);
+            assertEquals(OperacionAuditoria.values()[indice % 3], registro.getOperacion());
+            assertEquals(indice % 2 == 0, registro.isExito());
+        }
+    }
+
+    @Test
+    public void testContinuaLaSecuenciaAlReiniciar() throws Exception {
+        AuditoriaUsuarios auditoria = crear(1);
+        for (int i = 0; i < 10; i++) {
+            auditoria.registrar(OperacionAuditoria.GUARDAR, "antes" + i, true);
+        }
+        auditoria.detener();
+
+        auditoria = crear(1);
+        for (int i = 0; i < 5; i++) {
+            auditoria.registrar(OperacionAuditoria.OBTENER, "despues" + i, true);
+        }
+        auditoria.detener();
+
+        List<RegistroAuditoria> registros = leerTodos();
+        assertEquals(15, registros.size());
+        assertEquals(15, registros.get(14).getSecuencia());
+        assertEquals("despues4", registros.get(14).getUsername());
+    }
+
+    @Test
+    public void testDescartaElRegistroDanado() throws Exception {
+        AuditoriaUsuarios auditoria = crear(1);
+        for (int i = 0; i < 3; i++) {
+            auditoria.registrar(OperacionAuditoria.ELIMINAR, "usuario" + i, true);
+        }
+        auditoria.detener();
+
+        // Dañar el username del tercer registro, como si la escritura se hubiera cortado
+        Path segmento = SegmentosAuditoria.listar(directorio).get(0);
+        int tamanoRegistro = FormatoRegistro.CABECERA + "usuario0".length();
+        try (RandomAccessFile archivo = new RandomAccessFile(segmento.toFile(), "rw")) {
+            archivo.seek(2L * tamanoRegistro + FormatoRegistro.CABECERA);
+            archivo.write('X');
+        }
+        assertEquals(2, leerTodos().size());
+
+        auditoria = crear(1);
+        auditoria.registrar(OperacionAuditoria.GUARDAR, "nuevo", true);
+        auditoria.detener();
+
+        List<RegistroAuditoria> registros = leerTodos();
+        assertEquals(List.of("usuario0", "usuario1", "nuevo"),
+                registros.stream().map(RegistroAuditoria::getUsername).collect(Collectors.toList()));
+        assertEquals(3, registros.get(2).getSecuencia());
+    }
+
+    @Test
+    public void testFiltraRegistros() throws Exception {
+        AuditoriaUsuarios auditoria = crear(1);
+        for (int i = 0; i < 30_000; i++) {
+            auditoria.registrar(i % 10 == 0 ? OperacionAuditoria.ELIMINAR : OperacionAuditoria.OBTENER,
+                    "usuario" + (i % 100), i % 3 != 0);
+        }
+        auditoria.detener();
+
+        assertEquals(3_000, LectorAuditoria.leer(directorio,
+                FiltroAuditoria.builder().operacion(OperacionAuditoria.ELIMINAR).build()).count());
+        assertEquals(300, LectorAuditoria.leer(directorio,
+                FiltroAuditoria.builder().username("usuario7").build()).count());
+        assertEquals(10_000, LectorAuditoria.leer(directorio,
+                FiltroAuditoria.builder().exito(false).build()).count());
+
+        List<RegistroAuditoria> desde = LectorAuditoria.leer(directorio,
+                FiltroAuditoria.builder().desdeSecuencia(25_001L).build()).toList();
+        assertEquals(5_000, desde.size());
+        assertEquals(25_001, desde.get(0).getSecuencia());
+
+        assertEquals(0, LectorAuditoria.leer(directorio,
+                FiltroAuditoria.builder().desdeMs(System.currentTimeMillis() + 60_000).build()).count());
+    }
+
+    @Test
+    public void testReentregaElEventoSiElConsumidorFalla() {
+        AnilloAuditoria anillo = new AnilloAuditoria(4);
+        assertTrue(anillo.publicar(1, OperacionAuditoria.GUARDAR, true, "ana", 0));
+
+        assertThrows(IllegalStateException.class, () -> anillo.drenar((marca, operacion, exito, username) -> {
+            throw new IllegalStateException("Disco lleno");
+        }, 10));
+
+        List<String> entregados = new ArrayList<>();
+        assertEquals(1, anillo.drenar((marca, operacion, exito, username) -> entregados.add(username), 10));
+        assertEquals(List.of("ana"), entregados);
+    }
+
+    @Test
+    public void testDescartaSiElAnilloSigueLleno() {
+        AnilloAuditoria anillo = llenar(new AnilloAuditoria(4));
+
+        // Sin consumidor, el evento siguiente espera lo indicado y se descarta
+        long inicio = System.nanoTime();
+        assertFalse(anillo.publicar(5, OperacionAuditoria.OBTENER, true, "carla", 5_000_000));
+        assertTrue(System.nanoTime() - inicio >= 5_000_000);
+        assertEquals(1, anillo.getDescartados());
+        assertEquals(4, anillo.pendientes());
+    }
+
+    @Test
+    public void testNoEsperaSiElConsumidorEstaDetenido() {
+        AnilloAuditoria anillo = llenar(new AnilloAuditoria(4));
+        anillo.setConsumidorDetenido(true);
+
+        long inicio = System.nanoTime();
+        assertFalse(anillo.publicar(5, OperacionAuditoria.OBTENER, true, "carla", 30_000_000_000L));
+        assertTrue(System.nanoTime() - inicio < 1_000_000_000L, "Con el consumidor detenido no debe esperar");
+        assertEquals(1, anillo.getDescartados());
+
+        // Con lugar libre el evento se publica aunque el consumidor esté detenido
+        assertEquals(4, anillo.drenar((marca, operacion, exito, username) -> { }, 10));
+        assertTrue(anillo.publicar(6, OperacionAuditoria.OBTENER, true, "dora", 0));
+    }
+
+    private static AnilloAuditoria llenar(AnilloAuditoria anillo) {
+        for (int i = 0; i < anillo.getCapacidad(); i++) {
+            assertTrue(anillo.publicar(i, OperacionAuditoria.OBTENER, true, "usuario" + i, 0));
+        }
+        return anillo;
+    }
+
+    @Test
+    public void testPreasignaElSegmento() throws Exception {
+        Path segmento = directorio.resolve("preasignado.seg");
+        SegmentosAuditoria.mapearEscritura(segmento, 1024 * 1024);
+        assertEquals(1024 * 1024, Files.size(segmento));
+
+        // Un segmento preasignado a medias se completa al volver a abrirlo
+        Path incompleto = directorio.resolve("incompleto.seg");
+        Files.write(incompleto, new byte[1000]);
+        SegmentosAuditoria.mapearEscritura(incompleto, 200_000);
+        assertEquals(200_000, Files.size(incompleto));
+    }
+
+    @Test
+    public void testElDirectorioAdmiteUnSoloEscritor() throws Exception {
+        AuditoriaUsuarios auditoria = crear(1);
+        assertThrows(IllegalStateException.class, () -> crear(1));
+        auditoria.detener();
+
+        // Al detener se libera el bloqueo
+        crear(1).detener();
+    }
+}
@@ -0,0 +1,197 @@
+package com.sistema.examenes.carga;
+
+import com.sistema.examenes.admision.FiltroAdmision;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Prueba de sobrecarga del control de admisión ({@link FiltroAdmision}) sobre {@code /usuarios}.
+ *
+ * Con un pool de solo 4 conexiones, primero mide una carga base de lecturas y registros y luego la
+ * misma mezcla con {@code carga.admision.factor-sobrecarga} veces más trabajadores (10 por
+ * defecto). Comprueba que el p99 de las solicitudes admitidas sigue acotado por
+ * {@code slo.admision.p99-ms}, que los rechazos son rápidos y llevan {@code Retry-After}, y que
+ * las lecturas se rechazan en menor proporción que los registros.
+ *
+ * Se ejecuta con {@code mvn test -Pcarga -Dtest=AdmisionUsuariosCarga}.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.hikari.maximum-pool-size=4",
+        "sistema.admision.habilitado=true",
+        "sistema.admision.lectura.latencia-objetivo-ms=20",
+        "sistema.admision.registro.latencia-objetivo-ms=50"
+})
+@ActiveProfiles("h2")
+public class AdmisionUsuariosCarga {
+
+    private static final int PORCENTAJE_LECTURAS = 80;
+
+    @LocalServerPort
+    private int puerto;
+
+    private final HttpClient cliente = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final AtomicLong secuencia = new AtomicLong();
+    private final AtomicLong rechazosSinRetryAfter = new AtomicLong();
+
+    @Test
+    public void sobrecargaDiezVeces() throws Exception {
+        ConfiguracionCarga configuracion = ConfiguracionCarga.cargar();
+        int base = configuracion.entero("carga.admision.trabajadores-base", 8);
+        int factor = configuracion.entero("carga.admision.factor-sobrecarga", 10);
+        int duracion = configuracion.entero("carga.admision.duracion-segundos", 10);
+
+        List<String> precargados = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            String username = "admision-" + i;
+            if (registrar(username).statusCode() == 201) {
+                precargados.add(username);
+            }
+        }
+
+        ResultadoCarga resultadoBase = ejecutar("admision-base", base, duracion, precargados);
+        ResultadoCarga sobrecarga = ejecutar("admision-sobrecarga", base * factor, duracion, precargados);
+
+        System.out.printf("%nCarga base: %d trabajadores%n", base);
+        resultadoBase.reportar();
+        System.out.printf("%nSobrecarga x%d: %d trabajadores%n", factor, base * factor);
+        sobrecarga.reportar();
+
+        double rechazoLecturas = porcentajeRechazo(sobrecarga, "obtener");
+        double rechazoRegistros = porcentajeRechazo(sobrecarga, "registrar");
+        System.out.printf(Locale.ROOT, "Rechazadas en sobrecarga: lecturas %.1f %%, registros %.1f %%%n",
+                rechazoLecturas, rechazoRegistros);
+
+        List<String> violaciones = new ArrayList<>();
+        Double p99Maximo = configuracion.decimal("slo.admision.p99-ms");
+        Double rechazoP99Maximo = configuracion.decimal("slo.admision.rechazo-p99-ms");
+        for (String endpoint : new String[]{"obtener", "registrar"}) {
+            double p99 = sobrecarga.latencias(endpoint).percentilMicros(99) / 1000.0;
+            if (p99Maximo != null && p99 > p99Maximo) {
+                violaciones.add(String.format(Locale.ROOT, "%s admitidas: p99 %.2f ms > %.2f ms", endpoint, p99, p99Maximo));
+            }
+            double p99Rechazo = sobrecarga.latencias(endpoint + "-503").percentilMicros(99) / 1000.0;
+            if (rechazoP99Maximo != null && p99Rechazo > rechazoP99Maximo) {
+                violaciones.add(String.format(Locale.ROOT, "%s rechazadas: p99 %.2f ms > %.2f ms", endpoint, p99Rechazo, rechazoP99Maximo));
+            }
+        }
+        if (rechazoLecturas > rechazoRegistros) {
+            violaciones.add("Las lecturas se rechazaron más que los registros");
+        }
+
+        assertEquals(0, rechazosSinRetryAfter.get(), "Respuestas 503 sin Retry-After");
+        assertTrue(violaciones.isEmpty(), "SLO incumplidos: " + String.join("; ", violaciones));
+    }
+
+    private static double porcentajeRechazo(ResultadoCarga resultado, String endpoint) {
+        long admitidas = resultado.latencias(endpoint).getTotal();
+        long rechazadas = resultado.latencias(endpoint + "-503").getTotal();
+        return admitidas + rechazadas == 0 ? 0 : 100.0 * rechazadas / (admitidas + rechazadas);
+    }
+
+    /**
+     * Ejecuta la mezcla de lecturas y registros con la cantidad de trabajadores indicada. Las
+     * respuestas 503 se registran aparte, en los endpoints {@code obtener-503} y
+     * {@code registrar-503}.
+     */
+    private ResultadoCarga ejecutar(String nombre, int trabajadores, int segundos, List<String> precargados) throws Exception {
+        ExecutorService ejecutor = Executors.newFixedThreadPool(trabajadores);
+        CountDownLatch inicio = new CountDownLatch(1);
+        long fin = System.nanoTime() + Duration.ofSeconds(segundos).toNanos();
+        List<Future<HistogramaLatencia[]>> futuros = new ArrayList<>();
+        long[][] errores = new long[trabajadores][2];
+
+        for (int t = 0; t < trabajadores; t++) {
+            long[] erroresTrabajador = errores[t];
+            futuros.add(ejecutor.submit(() -> {
+                // obtener, registrar, obtener-503, registrar-503
+                HistogramaLatencia[] latencias = {
+                        new HistogramaLatencia(), new HistogramaLatencia(), new HistogramaLatencia(), new HistogramaLatencia()
+                };
+                inicio.await();
+                ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+                while (System.nanoTime() < fin) {
+                    boolean lectura = aleatorio.nextInt(100) < PORCENTAJE_LECTURAS;
+                    int operacion = lectura ? 0 : 1;
+                    long comienzo = System.nanoTime();
+                    try {
+                        HttpResponse<Void> respuesta = lectura
+                                ? obtener(precargados.get(aleatorio.nextInt(precargados.size())))
+                                : registrar("admision-" + nombre + "-" + secuencia.incrementAndGet());
+                        long latencia = System.nanoTime() - comienzo;
+                        if (respuesta.statusCode() == 503) {
+                            if (respuesta.headers().firstValue("Retry-After").isEmpty()) {
+                                rechazosSinRetryAfter.incrementAndGet();
+                            }
+                            latencias[operacion + 2].registrar(latencia);
+                        } else if (respuesta.statusCode() < 300) {
+                            latencias[operacion].registrar(latencia);
+                        } else {
+                            erroresTrabajador[operacion]++;
+                        }
+                    } catch (Exception e) {
+                        erroresTrabajador[operacion]++;
+                    }
+                }
+                return latencias;
+            }));
+        }
+
+        inicio.countDown();
+        ResultadoCarga resultado = new ResultadoCarga(nombre, segundos);
+        String[] endpoints = {"obtener", "registrar", "obtener-503", "registrar-503"};
+        for (int t = 0; t < trabajadores; t++) {
+            HistogramaLatencia[] latencias = futuros.get(t).get();
+            for (int i = 0; i < endpoints.length; i++) {
+                resultado.agregar(endpoints[i], latencias[i], i < 2 ? errores[t][i] : 0);
+            }
+        }
+        ejecutor.shutdown();
+        return resultado;
+    }
+
+    private HttpResponse<Void> registrar(String username) throws Exception {
+        String cuerpo = "{\"username\":\"" + username + "\",\"password\":\"clave\",\"nombre\":\"Carga\","
+                + "\"apellido\":\"Admision\",\"telefono\":\"3000000000\"}";
+        HttpRequest solicitud = HttpRequest.newBuilder(URI.create("http://localhost:" + puerto + "/usuarios/"))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(30))
+                .POST(HttpRequest.BodyPublishers.ofString(cuerpo))
+                .build();
+        return cliente.send(solicitud, HttpResponse.BodyHandlers.discarding());
+    }
+
+    private HttpResponse<Void> obtener(String username) throws Exception {
+        HttpRequest solicitud = HttpRequest.newBuilder(URI.create("http://localhost:" + puerto + "/usuarios/" + username))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+        return cliente.send(solicitud, HttpResponse.BodyHandlers.discarding());
+    }
+}
@@ -0,0 +1,65 @@
+package com.sistema.examenes.carga;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Properties;
+
+/**
+ * Parámetros de las pruebas de carga y umbrales de SLO.
+ *
+ * Los valores por defecto se leen de {@code carga.properties} en el classpath de pruebas y cada uno
+ * puede sobrescribirse con una propiedad del sistema del mismo nombre, por ejemplo
+ * {@code mvn test -Pcarga -Dcarga.trabajadores=64 -Dslo.obtener.p99-ms=20}.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+public class ConfiguracionCarga {
+
+    private final Properties propiedades = new Properties();
+
+    private ConfiguracionCarga() {
+    }
+
+    /**
+     * Carga la configuración desde {@code carga.properties} y las propiedades del sistema.
+     *
+     * @return La configuración.
+     */
+    public static ConfiguracionCarga cargar() {
+        ConfiguracionCarga configuracion = new ConfiguracionCarga();
+        try (InputStream entrada = ConfiguracionCarga.class.getResourceAsStream("/carga.properties")) {
+            if (entrada != null) {
+                configuracion.propiedades.load(entrada);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        for (String nombre : System.getProperties().stringPropertyNames()) {
+            if (nombre.startsWith("carga.") || nombre.startsWith("slo.")) {
+                configuracion.propiedades.setProperty(nombre, System.getProperty(nombre));
+            }
+        }
+        return configuracion;
+    }
+
+    /**
+     * @param nombre El nombre de la propiedad.
+     * @param porDefecto El valor si la propiedad no está definida.
+     * @return El valor entero de la propiedad.
+     */
+    public int entero(String nombre, int porDefecto) {
+        String valor = propiedades.getProperty(nombre);
+        return valor == null || valor.isBlank() ? porDefecto : Integer.parseInt(valor.trim());
+    }
+
+    /**
+     * @param nombre El nombre de la propiedad.
+     * @return El valor decimal de la propiedad, o {@code null} si no está definida (sin umbral).
+     */
+    public Double decimal(String nombre) {
+        String valor = propiedades.getProperty(nombre);
+        return valor == null || valor.isBlank() ? null : Double.parseDouble(valor.trim());
+    }
+}
@@ -0,0 +1,140 @@
+package com.sistema.examenes.carga;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Resultados de una prueba de carga por endpoint: latencias, solicitudes y errores.
+ *
+ * Imprime un resumen, lo guarda en {@code target/carga/} para comparar ejecuciones y evalúa los
+ * umbrales de SLO de {@link ConfiguracionCarga} con las claves
+ * {@code slo.<endpoint>.p50-ms}, {@code p99-ms}, {@code p999-ms}, {@code errores-porcentaje} y
+ * {@code slo.<endpoint>.throughput-minimo} (solicitudes por segundo).
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+public class ResultadoCarga {
+
+    private final String nombre;
+    private final double segundos;
+    private final Map<String, HistogramaLatencia> latencias = new LinkedHashMap<>();
+    private final Map<String, Long> errores = new LinkedHashMap<>();
+
+    /**
+     * @param nombre El nombre de la prueba, usado para el archivo de resultados.
+     * @param segundos La duración de la medición.
+     */
+    public ResultadoCarga(String nombre, double segundos) {
+        this.nombre = nombre;
+        this.segundos = segundos;
+    }
+
+    /**
+     * Agrega las mediciones de un trabajador para un endpoint.
+     *
+     * @param endpoint El nombre del endpoint.
+     * @param histograma Las latencias de las solicitudes exitosas.
+     * @param fallidas La cantidad de solicitudes fallidas.
+     */
+    public void agregar(String endpoint, HistogramaLatencia histograma, long fallidas) {
+        latencias.computeIfAbsent(endpoint, e -> new HistogramaLatencia()).agregar(histograma);
+        errores.merge(endpoint, fallidas, Long::sum);
+    }
+
+    public HistogramaLatencia latencias(String endpoint) {
+        return latencias.getOrDefault(endpoint, new HistogramaLatencia());
+    }
+
+    /**
+     * @param endpoint El nombre del endpoint.
+     * @return Las solicitudes exitosas por segundo.
+     */
+    public double throughput(String endpoint) {
+        return latencias(endpoint).getTotal() / segundos;
+    }
+
+    /**
+     * @param endpoint El nombre del endpoint.
+     * @return El porcentaje de solicitudes fallidas.
+     */
+    public double porcentajeErrores(String endpoint) {
+        long fallidas = errores.getOrDefault(endpoint, 0L);
+        long total = latencias(endpoint).getTotal() + fallidas;
+        return total == 0 ? 0 : 100.0 * fallidas / total;
+    }
+
+    /**
+     * Imprime el resumen y lo guarda en {@code target/carga/<nombre>.properties}.
+     */
+    public void reportar() {
+        Properties salida = new Properties();
+        System.out.printf("%n%-10s %10s %10s %9s %9s %9s %9s %8s%n",
+                "Endpoint", "Solicitudes", "Sol/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "Errores");
+        for (String endpoint : latencias.keySet()) {
+            HistogramaLatencia histograma = latencias(endpoint);
+            System.out.printf(Locale.ROOT, "%-10s %10d %10.1f %9.2f %9.2f %9.2f %9.2f %7.2f%%%n",
+                    endpoint, histograma.getTotal(), throughput(endpoint),
+                    histograma.percentilMicros(50) / 1000.0, histograma.percentilMicros(99) / 1000.0,
+                    histograma.percentilMicros(99.9) / 1000.0, histograma.getMaximoMicros() / 1000.0,
+                    porcentajeErrores(endpoint));
+
+            salida.setProperty(endpoint + ".solicitudes", Long.toString(histograma.getTotal()));
+            salida.setProperty(endpoint + ".throughput", String.format(Locale.ROOT, "%.1f", throughput(endpoint)));
+            salida.setProperty(endpoint + ".p50-ms", String.format(Locale.ROOT, "%.3f", histograma.percentilMicros(50) / 1000.0));
+            salida.setProperty(endpoint + ".p99-ms", String.format(Locale.ROOT, "%.3f", histograma.percentilMicros(99) / 1000.0));
+            salida.setProperty(endpoint + ".p999-ms", String.format(Locale.ROOT, "%.3f", histograma.percentilMicros(99.9) / 1000.0));
+            salida.setProperty(endpoint + ".errores-porcentaje", String.format(Locale.ROOT, "%.3f", porcentajeErrores(endpoint)));
+        }
+
+        try {
+            Path directorio = Path.of("target", "carga");
+            Files.createDirectories(directorio);
+            try (Writer escritor = Files.newBufferedWriter(directorio.resolve(nombre + ".properties"))) {
+                salida.store(escritor, "Resultados de la prueba de carga " + nombre);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Evalúa los umbrales de SLO configurados.
+     *
+     * @param configuracion La configuración con los umbrales.
+     * @return La descripción de cada umbral incumplido; vacía si se cumplen todos.
+     */
+    public List<String> violacionesSlo(ConfiguracionCarga configuracion) {
+        List<String> violaciones = new ArrayList<>();
+        for (String endpoint : latencias.keySet()) {
+            HistogramaLatencia histograma = latencias(endpoint);
+            verificarMaximo(violaciones, configuracion, endpoint, "p50-ms", histograma.percentilMicros(50) / 1000.0);
+            verificarMaximo(violaciones, configuracion, endpoint, "p99-ms", histograma.percentilMicros(99) / 1000.0);
+            verificarMaximo(violaciones, configuracion, endpoint, "p999-ms", histograma.percentilMicros(99.9) / 1000.0);
+            verificarMaximo(violaciones, configuracion, endpoint, "errores-porcentaje", porcentajeErrores(endpoint));
+
+            Double minimo = configuracion.decimal("slo." + endpoint + ".throughput-minimo");
+            if (minimo != null && throughput(endpoint) < minimo) {
+                violaciones.add(String.format(Locale.ROOT, "%s: throughput %.1f sol/s < %.1f", endpoint, throughput(endpoint), minimo));
+            }
+        }
+        return violaciones;
+    }
+
+    private static void verificarMaximo(List<String> violaciones, ConfiguracionCarga configuracion,
+                                        String endpoint, String metrica, double valor) {
+        Double maximo = configuracion.decimal("slo." + endpoint + "." + metrica);
+        if (maximo != null && valor > maximo) {
+            violaciones.add(String.format(Locale.ROOT, "%s: %s %.2f > %.2f", endpoint, metrica, valor, maximo));
+        }
+    }
+}
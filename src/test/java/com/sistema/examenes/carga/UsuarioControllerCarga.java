@@ -0,0 +1,240 @@
+package com.sistema.examenes.carga;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Prueba de carga HTTP de {@code /usuarios}: registro, consulta por username y eliminación.
+ *
+ * Levanta la aplicación completa en un puerto aleatorio contra la base H2 embebida, por lo que no
+ * necesita MySQL ni red. La carga es de lazo cerrado: cada trabajador envía una solicitud, espera
+ * la respuesta y envía la siguiente, eligiendo la operación según los pesos de
+ * {@code carga.mezcla.*}. Las consultas usan usuarios precargados y los creados por el propio
+ * trabajador, que también son los únicos que elimina, así que los trabajadores no compiten por los
+ * mismos registros.
+ *
+ * Tras un calentamiento que no se mide, reporta throughput y p50/p99/p999 por endpoint y falla si
+ * se incumple algún umbral de {@code carga.properties}. Se ejecuta con {@code mvn test -Pcarga}.
+ *
+ * El control de admisión se deshabilita: esta prueba mide la capacidad de los endpoints, y una
+ * respuesta 503 contaría como error contra los umbrales {@code slo.*.errores-porcentaje}. El comportamiento bajo
+ * sobrecarga, con los rechazos medidos aparte, lo cubre {@link AdmisionUsuariosCarga}.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "sistema.admision.habilitado=false")
+@ActiveProfiles("h2")
+public class UsuarioControllerCarga {
+
+    private static final String[] ENDPOINTS = {"registrar", "obtener", "eliminar"};
+    private static final int REGISTRAR = 0;
+    private static final int OBTENER = 1;
+    private static final int ELIMINAR = 2;
+
+    @LocalServerPort
+    private int puerto;
+
+    private final HttpClient cliente = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    @Test
+    public void cargaMixtaDeUsuarios() throws Exception {
+        ConfiguracionCarga configuracion = ConfiguracionCarga.cargar();
+        int trabajadores = configuracion.entero("carga.trabajadores", 16);
+        int calentamiento = configuracion.entero("carga.calentamiento-segundos", 5);
+        int duracion = configuracion.entero("carga.duracion-segundos", 20);
+        int[] pesos = {
+                configuracion.entero("carga.mezcla.registrar", 20),
+                configuracion.entero("carga.mezcla.obtener", 70),
+                configuracion.entero("carga.mezcla.eliminar", 10)
+        };
+
+        List<String> precargados = new ArrayList<>();
+        for (int i = 0; i < configuracion.entero("carga.usuarios-iniciales", 500); i++) {
+            String username = "precargado-" + i;
+            if (registrar(username) != 201) {
+                throw new IllegalStateException("No se pudo precargar el usuario " + username);
+            }
+            precargados.add(username);
+        }
+
+        ExecutorService ejecutor = Executors.newFixedThreadPool(trabajadores);
+        try {
+            ejecutar(ejecutor, trabajadores, calentamiento, pesos, precargados, "calentamiento");
+            ResultadoCarga resultado = ejecutar(ejecutor, trabajadores, duracion, pesos, precargados, "medicion");
+
+            System.out.printf("%nCarga mixta: %d trabajadores, %d s, mezcla registrar/obtener/eliminar = %d/%d/%d%n",
+                    trabajadores, duracion, pesos[REGISTRAR], pesos[OBTENER], pesos[ELIMINAR]);
+            resultado.reportar();
+
+            List<String> violaciones = resultado.violacionesSlo(configuracion);
+            assertTrue(violaciones.isEmpty(), "SLO incumplidos: " + String.join("; ", violaciones));
+        } finally {
+            ejecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Ejecuta la mezcla de tráfico durante el tiempo indicado y combina las mediciones de todos
+     * los trabajadores.
+     */
+    private ResultadoCarga ejecutar(ExecutorService ejecutor, int trabajadores, int segundos, int[] pesos,
+                                    List<String> precargados, String fase) throws Exception {
+        CountDownLatch inicio = new CountDownLatch(1);
+        long[] fin = new long[1];
+        List<Future<Trabajador>> futuros = new ArrayList<>();
+        for (int t = 0; t < trabajadores; t++) {
+            Trabajador trabajador = new Trabajador(fase + "-" + t, pesos, precargados);
+            futuros.add(ejecutor.submit(() -> {
+                inicio.await();
+                trabajador.ejecutarHasta(fin[0]);
+                return trabajador;
+            }));
+        }
+
+        long comienzo = System.nanoTime();
+        fin[0] = comienzo + Duration.ofSeconds(segundos).toNanos();
+        inicio.countDown();
+
+        List<Trabajador> terminados = new ArrayList<>();
+        for (Future<Trabajador> futuro : futuros) {
+            terminados.add(futuro.get());
+        }
+
+        ResultadoCarga resultado = new ResultadoCarga("usuarios", (System.nanoTime() - comienzo) / 1e9);
+        for (Trabajador trabajador : terminados) {
+            for (int i = 0; i < ENDPOINTS.length; i++) {
+                resultado.agregar(ENDPOINTS[i], trabajador.latencias[i], trabajador.errores[i]);
+            }
+        }
+        return resultado;
+    }
+
+    private int registrar(String username) throws Exception {
+        String cuerpo = "{\"username\":\"" + username + "\",\"password\":\"clave\",\"nombre\":\"Carga\","
+                + "\"apellido\":\"Prueba\",\"telefono\":\"3000000000\"}";
+        HttpRequest solicitud = HttpRequest.newBuilder(uri("/usuarios/"))
+                .header("Content-Type", "application/json")
+                .timeout(Duration.ofSeconds(10))
+                .POST(HttpRequest.BodyPublishers.ofString(cuerpo))
+                .build();
+        return cliente.send(solicitud, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private int obtener(String username) throws Exception {
+        HttpRequest solicitud = HttpRequest.newBuilder(uri("/usuarios/" + username))
+                .timeout(Duration.ofSeconds(10))
+                .GET()
+                .build();
+        return cliente.send(solicitud, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private int eliminar(String username) throws Exception {
+        HttpRequest solicitud = HttpRequest.newBuilder(uri("/usuarios/" + username))
+                .timeout(Duration.ofSeconds(10))
+                .DELETE()
+                .build();
+        return cliente.send(solicitud, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private URI uri(String ruta) {
+        return URI.create("http://localhost:" + puerto + ruta);
+    }
+
+    /**
+     * Un cliente de lazo cerrado con sus propios histogramas, de modo que no se comparte estado
+     * mutable entre hilos durante la medición.
+     */
+    private class Trabajador {
+
+        private final String prefijo;
+        private final int[] pesos;
+        private final int pesoTotal;
+        private final List<String> precargados;
+        private final List<String> propios = new ArrayList<>();
+        private final HistogramaLatencia[] latencias = {
+                new HistogramaLatencia(), new HistogramaLatencia(), new HistogramaLatencia()
+        };
+        private final long[] errores = new long[ENDPOINTS.length];
+        private long secuencia;
+
+        private Trabajador(String prefijo, int[] pesos, List<String> precargados) {
+            this.prefijo = prefijo;
+            this.pesos = pesos;
+            this.pesoTotal = pesos[REGISTRAR] + pesos[OBTENER] + pesos[ELIMINAR];
+            this.precargados = precargados;
+        }
+
+        private void ejecutarHasta(long fin) {
+            ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+            while (System.nanoTime() < fin) {
+                int operacion = elegirOperacion(aleatorio.nextInt(pesoTotal));
+                if (operacion == ELIMINAR && propios.isEmpty()
+                        || operacion == OBTENER && propios.isEmpty() && precargados.isEmpty()) {
+                    operacion = REGISTRAR;
+                }
+
+                long inicio = System.nanoTime();
+                boolean exito;
+                try {
+                    exito = switch (operacion) {
+                        case REGISTRAR -> {
+                            String username = prefijo + "-" + secuencia++;
+                            boolean creado = registrar(username) == 201;
+                            if (creado) {
+                                propios.add(username);
+                            }
+                            yield creado;
+                        }
+                        case OBTENER -> obtener(elegirUsername(aleatorio)) == 200;
+                        default -> eliminar(propios.remove(propios.size() - 1)) == 204;
+                    };
+                } catch (Exception e) {
+                    exito = false;
+                }
+                long latencia = System.nanoTime() - inicio;
+
+                if (exito) {
+                    latencias[operacion].registrar(latencia);
+                } else {
+                    errores[operacion]++;
+                }
+            }
+        }
+
+        private int elegirOperacion(int valor) {
+            if (valor < pesos[REGISTRAR]) {
+                return REGISTRAR;
+            }
+            return valor < pesos[REGISTRAR] + pesos[OBTENER] ? OBTENER : ELIMINAR;
+        }
+
+        private String elegirUsername(ThreadLocalRandom aleatorio) {
+            int indice = aleatorio.nextInt(precargados.size() + propios.size());
+            return indice < precargados.size()
+                    ? precargados.get(indice)
+                    : propios.get(indice - precargados.size());
+        }
+    }
+}
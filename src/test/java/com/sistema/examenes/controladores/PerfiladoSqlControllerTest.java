@@ -0,0 +1,62 @@
+package com.sistema.examenes.controladores;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Verifica que los endpoints de {@link PerfiladoSqlController} solo se atiendan desde la propia
+ * máquina y no a través de un proxy.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+public class PerfiladoSqlControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    public void testPerfiladoDesdeLoopback() throws Exception {
+        mockMvc.perform(get("/perfilado/sql/sentencias").with(desde("127.0.0.1")))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/perfilado/sql/solicitudes").with(desde("::1")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void testPerfiladoDesdeOtraMaquinaSeRechaza() throws Exception {
+        mockMvc.perform(get("/perfilado/sql/sentencias").with(desde("10.0.0.5")))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(delete("/perfilado/sql/").with(desde("10.0.0.5")))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    public void testPerfiladoReenviadoPorUnProxyLocalSeRechaza() throws Exception {
+        mockMvc.perform(get("/perfilado/sql/sentencias").with(desde("127.0.0.1"))
+                        .header("X-Forwarded-For", "203.0.113.7"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(get("/perfilado/sql/sentencias").with(desde("127.0.0.1"))
+                        .header("Forwarded", "for=203.0.113.7"))
+                .andExpect(status().isForbidden());
+    }
+
+    private static RequestPostProcessor desde(String direccion) {
+        return solicitud -> {
+            solicitud.setRemoteAddr(direccion);
+            return solicitud;
+        };
+    }
+}
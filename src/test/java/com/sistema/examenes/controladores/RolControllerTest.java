@@ -0,0 +1,120 @@
+package com.sistema.examenes.controladores;
+
+import com.sistema.examenes.servicios.AsignacionRolService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Clase de prueba para {@link RolController}, que verifica que las asignaciones y revocaciones
+ * masivas se delegan por lista de usuarios o por filtro y que un rol inexistente o una solicitud
+ * sin criterios responde 400.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+public class RolControllerTest {
+
+    @Mock
+    private AsignacionRolService asignacionRolService;
+
+    @InjectMocks
+    private RolController rolController;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        mockMvc = MockMvcBuilders.standaloneSetup(rolController).build();
+    }
+
+    @Test
+    public void asignarRolPorUsernamesTest() throws Exception {
+        when(asignacionRolService.asignarRol(2L, List.of("ana", "luis"))).thenReturn(2);
+
+        mockMvc.perform(post("/roles/{rolId}/usuarios", 2L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"usernames\": [\"ana\", \"luis\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.usuariosAfectados").value(2));
+
+        verify(asignacionRolService, never()).asignarRol(anyLong(), any(), any());
+    }
+
+    @Test
+    public void asignarRolPorFiltroTest() throws Exception {
+        when(asignacionRolService.asignarRol(2L, "ESTUDIANTE", true)).thenReturn(40);
+
+        mockMvc.perform(post("/roles/{rolId}/usuarios", 2L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"perfil\": \"ESTUDIANTE\", \"enable\": true}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.usuariosAfectados").value(40));
+    }
+
+    @Test
+    public void revocarRolTest() throws Exception {
+        when(asignacionRolService.revocarRol(2L, List.of("ana"))).thenReturn(1);
+        when(asignacionRolService.revocarRol(2L, null, false)).thenReturn(7);
+
+        mockMvc.perform(post("/roles/{rolId}/usuarios/revocar", 2L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"usernames\": [\"ana\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.usuariosAfectados").value(1));
+        mockMvc.perform(post("/roles/{rolId}/usuarios/revocar", 2L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"enable\": false}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.usuariosAfectados").value(7));
+    }
+
+    @Test
+    public void rolInexistenteTest() throws Exception {
+        when(asignacionRolService.asignarRol(eq(99L), anyList())).thenThrow(new IllegalArgumentException("El rol 99 no existe."));
+
+        mockMvc.perform(post("/roles/{rolId}/usuarios", 99L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"usernames\": [\"ana\"]}"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void solicitudSinCriterioTest() throws Exception {
+        for (String cuerpo : List.of("{}", "{\"username\": [\"ana\"]}", "{\"usernames\": [\"ana\"], \"perfil\": \"ESTUDIANTE\"}")) {
+            mockMvc.perform(post("/roles/{rolId}/usuarios", 2L)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(cuerpo))
+                    .andExpect(status().isBadRequest());
+            mockMvc.perform(post("/roles/{rolId}/usuarios/revocar", 2L)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(cuerpo))
+                    .andExpect(status().isBadRequest());
+        }
+
+        verifyNoInteractions(asignacionRolService);
+    }
+
+    @Test
+    public void listaVaciaTest() throws Exception {
+        mockMvc.perform(post("/roles/{rolId}/usuarios/revocar", 2L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"usernames\": []}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.usuariosAfectados").value(0));
+
+        verifyNoInteractions(asignacionRolService);
+    }
+}
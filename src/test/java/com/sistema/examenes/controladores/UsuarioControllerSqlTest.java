@@ -0,0 +1,87 @@
+package com.sistema.examenes.controladores;
+
+import com.sistema.examenes.modelos.Usuario;
+import com.sistema.examenes.repositorios.UsuarioRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static com.sistema.examenes.perfilado.AfirmacionesSql.afirmarSql;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Presupuesto de sentencias SQL de los endpoints de {@link UsuarioController}, medido con el
+ * perfilador sobre la base H2 embebida. Si un cambio agrega consultas a un endpoint, esta prueba
+ * lo señala con las huellas ejecutadas.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("h2")
+public class UsuarioControllerSqlTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Test
+    public void testObtenerUsuarioEjecutaComoMaximoDosSentencias() throws Exception {
+        Usuario usuario = new Usuario();
+        usuario.setUsername("perfilado-sql");
+        usuario.setPassword("123456");
+        usuario.setNombre("Ana");
+        usuarioRepository.save(usuario);
+
+        MvcResult resultado = mockMvc.perform(get("/usuarios/{username}", "perfilado-sql"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.username").value("perfilado-sql"))
+                .andReturn();
+
+        afirmarSql(resultado).ejecutaComoMaximo(2).sinNMasUno();
+    }
+
+    @Test
+    public void testActualizarUsuarioEjecutaUnSoloUpdateDeLosCamposIndicados() throws Exception {
+        Usuario usuario = new Usuario();
+        usuario.setUsername("perfilado-patch");
+        usuario.setPassword("123456");
+        usuario.setTelefono("3000000000");
+        usuarioRepository.save(usuario);
+
+        MvcResult resultado = mockMvc.perform(patch("/usuarios/{username}", "perfilado-patch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"telefono\": \"3001234567\", \"enable\": false, \"version\": 0}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(1))
+                .andReturn();
+
+        afirmarSql(resultado).ejecutaSolo(
+                "update usuarios set telefono = ?, enable = ?, version = version + ? where username = ? and version = ?");
+        Usuario actualizado = usuarioRepository.findByUsername("perfilado-patch");
+        assertEquals("3001234567", actualizado.getTelefono());
+        assertEquals(false, actualizado.getEnable());
+        assertEquals(1L, actualizado.getVersion());
+
+        mockMvc.perform(patch("/usuarios/{username}", "perfilado-patch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nombre\": \"Ana\", \"version\": 0}"))
+                .andExpect(status().isConflict());
+        mockMvc.perform(patch("/usuarios/{username}", "no-existe")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"nombre\": \"Ana\", \"version\": 0}"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,65 @@
+package com.sistema.examenes.outbox;
+
+import com.sistema.examenes.modelos.EventoOutbox;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Destino en memoria usado en las pruebas en lugar del LMS o del servicio de notificaciones.
+ *
+ * Guarda los eventos recibidos y descarta los que ya procesó según su identificador global, tal
+ * como debe hacerlo un destino real. Puede configurarse para fallar en las
+ * primeras entregas y así simular una caída del sistema externo.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+public class DestinoEventosEnMemoria implements DestinoEventos {
+
+    private final List<EventoOutbox> recibidos = new ArrayList<>();
+    private final Set<Long> procesados = new HashSet<>();
+    private int entregas = 0;
+    private int duplicados = 0;
+    private int fallosPendientes = 0;
+
+    @Override
+    public synchronized void entregar(List<EventoOutbox> eventos) throws Exception {
+        entregas++;
+        if (fallosPendientes > 0) {
+            fallosPendientes--;
+            throw new Exception("Destino no disponible");
+        }
+        for (EventoOutbox evento : eventos) {
+            if (procesados.add(evento.getIdGlobal())) {
+                recibidos.add(evento);
+            } else {
+                duplicados++;
+            }
+        }
+    }
+
+    /**
+     * Hace que las siguientes {@code fallos} entregas lancen una excepción.
+     */
+    public synchronized void fallarProximasEntregas(int fallos) {
+        this.fallosPendientes = fallos;
+    }
+
+    public synchronized List<EventoOutbox> getRecibidos() {
+        return new ArrayList<>(recibidos);
+    }
+
+    /**
+     * @return Cantidad de eventos recibidos más de una vez y descartados.
+     */
+    public synchronized int getDuplicados() {
+        return duplicados;
+    }
+
+    public synchronized int getEntregas() {
+        return entregas;
+    }
+}
@@ -0,0 +1,94 @@
+package com.sistema.examenes.outbox;
+
+import com.sistema.examenes.modelos.TipoEventoUsuario;
+import com.sistema.examenes.repositorios.EventoOutboxRepository;
+import com.sistema.examenes.sharding.EnrutadorShards;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Benchmark de {@link RelayOutbox}: mide cuántos eventos por segundo publica el relay contra una
+ * base de datos H2 embebida, para distintos tamaños de lote.
+ *
+ * Se ejecuta solo con el perfil de Maven {@code benchmark}:
+ * {@code mvn test -Pbenchmark -Dtest=RelayOutboxBenchmark}.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({RelayOutbox.class, EnrutadorShards.class, RelayOutboxBenchmark.Configuracion.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class RelayOutboxBenchmark {
+
+    private static final int EVENTOS = 100_000;
+
+    @Autowired
+    private RelayOutbox relayOutbox;
+
+    @Autowired
+    private EventoOutboxRepository eventoOutboxRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DestinoEventosEnMemoria destinoEventos;
+
+    @TestConfiguration
+    static class Configuracion {
+
+        @Bean
+        DestinoEventosEnMemoria destinoEventos() {
+            return new DestinoEventosEnMemoria();
+        }
+    }
+
+    @Test
+    public void publicarEventos() {
+        int entregados = 0;
+        for (int tamanoLote : new int[]{100, 500, 2000}) {
+            eventoOutboxRepository.deleteAllInBatch();
+            registrarEventos();
+            ReflectionTestUtils.setField(relayOutbox, "tamanoLote", tamanoLote);
+
+            long inicio = System.nanoTime();
+            relayOutbox.publicarPendientes();
+            long nanos = System.nanoTime() - inicio;
+
+            entregados += EVENTOS;
+            assertEquals(entregados, destinoEventos.getRecibidos().size());
+            System.out.printf("Lote de %d: %d eventos en %.1f ms (%.0f eventos/s)%n",
+                    tamanoLote, EVENTOS, nanos / 1e6, EVENTOS / (nanos / 1e9));
+        }
+    }
+
+    private void registrarEventos() {
+        Timestamp ahora = new Timestamp(System.currentTimeMillis());
+        List<Object[]> filas = new ArrayList<>(EVENTOS);
+        for (int i = 0; i < EVENTOS; i++) {
+            TipoEventoUsuario tipo = i % 2 == 0 ? TipoEventoUsuario.USUARIO_CREADO : TipoEventoUsuario.USUARIO_ELIMINADO;
+            filas.add(new Object[]{tipo.name(), (long) i / 2, "usuario" + i / 2, ahora});
+        }
+        jdbcTemplate.batchUpdate("insert into outbox_eventos (tipo, usuario_id, username, fecha_creacion, enviado) "
+                + "values (?, ?, ?, ?, false)", filas);
+    }
+}
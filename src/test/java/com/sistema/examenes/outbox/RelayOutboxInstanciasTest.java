@@ -0,0 +1,154 @@
+package com.sistema.examenes.outbox;
+
+import com.sistema.examenes.modelos.EventoOutbox;
+import com.sistema.examenes.modelos.TipoEventoUsuario;
+import com.sistema.examenes.repositorios.EventoOutboxRepository;
+import com.sistema.examenes.sharding.EnrutadorShards;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Prueba de {@link RelayOutbox} contra la base de datos H2 embebida con dos relays independientes,
+ * como los de dos instancias de la aplicación: cada uno tiene su propio monitor, así que solo el
+ * reclamo de los lotes en la base de datos evita que entreguen el mismo evento o se adelanten uno
+ * al otro. También verifica que la entrega ocurre fuera de toda transacción, con el reclamo ya
+ * confirmado.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(EnrutadorShards.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class RelayOutboxInstanciasTest {
+
+    private static final int EVENTOS = 400;
+    private static final int USUARIOS = 10;
+
+    @Autowired
+    private EventoOutboxRepository eventoOutboxRepository;
+
+    @Autowired
+    private EnrutadorShards enrutadorShards;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final DestinoEventosEnMemoria destinoEventos = new DestinoEventosEnMemoria();
+
+    @Test
+    public void dosInstanciasEntreganCadaEventoUnaVezYEnOrden() throws Exception {
+        eventoOutboxRepository.deleteAllInBatch();
+        registrarEventos();
+        // La entrega es lenta para que los dos relays coincidan sobre los mismos pendientes
+        DestinoEventos destinoLento = eventos -> {
+            Thread.sleep(2);
+            destinoEventos.entregar(eventos);
+        };
+        List<RelayOutbox> instancias = List.of(crearRelay(destinoLento), crearRelay(destinoLento));
+
+        ExecutorService executor = Executors.newFixedThreadPool(instancias.size());
+        List<Future<?>> tareas = new ArrayList<>();
+        for (RelayOutbox relay : instancias) {
+            tareas.add(executor.submit(() -> {
+                for (int ciclo = 0; ciclo < 500 && pendientes() > 0; ciclo++) {
+                    relay.publicarPendientes();
+                }
+            }));
+        }
+        for (Future<?> tarea : tareas) {
+            tarea.get();
+        }
+        executor.shutdown();
+
+        List<EventoOutbox> recibidos = destinoEventos.getRecibidos();
+        assertEquals(0, destinoEventos.getDuplicados());
+        assertEquals(EVENTOS, recibidos.size());
+        assertEquals(0, pendientes());
+        Map<Long, Long> ultimoPorUsuario = new HashMap<>();
+        for (EventoOutbox evento : recibidos) {
+            Long anterior = ultimoPorUsuario.put(evento.getUsuarioId(), evento.getId());
+            if (anterior != null) {
+                assertTrue(anterior < evento.getId(), "Eventos del usuario " + evento.getUsuarioId() + " fuera de orden");
+            }
+        }
+    }
+
+    /**
+     * Durante la entrega no debe haber una transacción abierta y el reclamo del lote debe ser
+     * visible desde otra conexión; después de la entrega el lote queda marcado como enviado.
+     */
+    @Test
+    public void entregaFueraDeTransaccionTest() throws Exception {
+        eventoOutboxRepository.deleteAllInBatch();
+        registrarEventos();
+        List<Boolean> transaccionActiva = new ArrayList<>();
+        List<Long> reclamados = new ArrayList<>();
+        DestinoEventos destinoVerificador = eventos -> {
+            transaccionActiva.add(TransactionSynchronizationManager.isActualTransactionActive());
+            reclamados.add(jdbcTemplate.queryForObject(
+                    "select count(*) from outbox_eventos where enviado = false and reclamo is not null", Long.class));
+            destinoEventos.entregar(eventos);
+        };
+
+        RelayOutbox relay = crearRelay(destinoVerificador);
+        assertEquals(20, relay.publicarLote());
+
+        assertEquals(List.of(false), transaccionActiva);
+        assertEquals(List.of(20L), reclamados);
+        assertEquals(EVENTOS - 20, pendientes());
+    }
+
+    private RelayOutbox crearRelay(DestinoEventos destino) {
+        RelayOutbox relay = new RelayOutbox();
+        ReflectionTestUtils.setField(relay, "eventoOutboxRepository", eventoOutboxRepository);
+        ReflectionTestUtils.setField(relay, "destinoEventos", destino);
+        ReflectionTestUtils.setField(relay, "enrutadorShards", enrutadorShards);
+        ReflectionTestUtils.setField(relay, "transactionTemplate", transactionTemplate);
+        ReflectionTestUtils.setField(relay, "tamanoLote", 20);
+        ReflectionTestUtils.setField(relay, "duracionReclamoMs", 60_000L);
+        return relay;
+    }
+
+    private long pendientes() {
+        return jdbcTemplate.queryForObject("select count(*) from outbox_eventos where enviado = false", Long.class);
+    }
+
+    private void registrarEventos() {
+        Timestamp ahora = new Timestamp(System.currentTimeMillis());
+        List<Object[]> filas = new ArrayList<>(EVENTOS);
+        for (int i = 0; i < EVENTOS; i++) {
+            TipoEventoUsuario tipo = i % 2 == 0 ? TipoEventoUsuario.USUARIO_CREADO : TipoEventoUsuario.USUARIO_ELIMINADO;
+            filas.add(new Object[]{tipo.name(), (long) i % USUARIOS, "usuario" + i % USUARIOS, ahora});
+        }
+        jdbcTemplate.batchUpdate("insert into outbox_eventos (tipo, usuario_id, username, fecha_creacion, enviado) "
+                + "values (?, ?, ?, ?, false)", filas);
+    }
+}
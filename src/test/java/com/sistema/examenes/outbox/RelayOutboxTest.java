@@ -0,0 +1,295 @@
+package com.sistema.examenes.outbox;
+
+import com.sistema.examenes.modelos.EventoOutbox;
+import com.sistema.examenes.modelos.TipoEventoUsuario;
+import com.sistema.examenes.repositorios.EventoOutboxRepository;
+import com.sistema.examenes.sharding.EnrutadorShards;
+import com.sistema.examenes.sharding.IdentificadorGlobal;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+
+/**
+ * Clase de prueba para {@link RelayOutbox}, que verifica que cada evento se entrega exactamente una
+ * vez y que los eventos de cada usuario llegan en el orden en que fueron registrados, incluso si el
+ * destino falla o varios hilos ejecutan el relay a la vez.
+ *
+ * El repositorio se simula con una lista en memoria que respeta la semántica de las consultas del
+ * outbox: devuelve los pendientes en orden de identificador, reclama solo los que no tienen un
+ * reclamo vigente, libera los reclamos y marca como enviados los indicados.
+ * El reclamo de los lotes en la base de datos entre varias instancias se prueba en
+ * {@link RelayOutboxInstanciasTest}.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+public class RelayOutboxTest {
+
+    @Mock
+    private EventoOutboxRepository eventoOutboxRepository;
+
+    @Mock
+    private EnrutadorShards enrutadorShards;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final DestinoEventosEnMemoria destinoEventos = new DestinoEventosEnMemoria();
+
+    @InjectMocks
+    private RelayOutbox relayOutbox;
+
+    private final List<EventoOutbox> tabla = new ArrayList<>();
+
+    private final List<EventoOutbox> tablaShard1 = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(relayOutbox, "destinoEventos", destinoEventos);
+        ReflectionTestUtils.setField(relayOutbox, "tamanoLote", 4);
+        ReflectionTestUtils.setField(relayOutbox, "duracionReclamoMs", 60_000L);
+        ReflectionTestUtils.setField(relayOutbox, "transactionTemplate", new TransactionTemplate(transactionManager));
+        when(enrutadorShards.getNumeroShards()).thenReturn(1);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        when(eventoOutboxRepository.findByEnviadoFalseOrderByIdAsc(any(Pageable.class))).thenAnswer(invocacion -> {
+            Pageable pagina = invocacion.getArgument(0);
+            List<EventoOutbox> tabla = tablaActual();
+            synchronized (tabla) {
+                return tabla.stream()
+                        .filter(evento -> !evento.getEnviado())
+                        .limit(pagina.getPageSize())
+                        .map(RelayOutboxTest::copiar)
+                        .toList();
+            }
+        });
+        when(eventoOutboxRepository.reclamar(anyCollection(), anyString(), any(LocalDateTime.class), any(LocalDateTime.class))).thenAnswer(invocacion -> {
+            Collection<Long> ids = invocacion.getArgument(0);
+            LocalDateTime ahora = invocacion.getArgument(3);
+            List<EventoOutbox> tabla = tablaActual();
+            synchronized (tabla) {
+                List<EventoOutbox> libres = tabla.stream()
+                        .filter(evento -> ids.contains(evento.getId()) && !evento.getEnviado())
+                        .filter(evento -> evento.getReclamoHasta() == null || evento.getReclamoHasta().isBefore(ahora))
+                        .toList();
+                for (EventoOutbox evento : libres) {
+                    evento.setReclamo(invocacion.getArgument(1));
+                    evento.setReclamoHasta(invocacion.getArgument(2));
+                }
+                return libres.size();
+            }
+        });
+        when(eventoOutboxRepository.liberarReclamo(anyString())).thenAnswer(invocacion -> {
+            String reclamo = invocacion.getArgument(0);
+            List<EventoOutbox> tabla = tablaActual();
+            synchronized (tabla) {
+                List<EventoOutbox> reclamados = tabla.stream()
+                        .filter(evento -> reclamo.equals(evento.getReclamo()) && !evento.getEnviado())
+                        .toList();
+                for (EventoOutbox evento : reclamados) {
+                    evento.setReclamo(null);
+                    evento.setReclamoHasta(null);
+                }
+                return reclamados.size();
+            }
+        });
+        when(eventoOutboxRepository.marcarEnviados(anyCollection(), any(LocalDateTime.class))).thenAnswer(invocacion -> {
+            Collection<Long> ids = invocacion.getArgument(0);
+            List<EventoOutbox> tabla = tablaActual();
+            synchronized (tabla) {
+                tabla.stream().filter(evento -> ids.contains(evento.getId())).forEach(evento -> evento.setEnviado(true));
+            }
+            return ids.size();
+        });
+    }
+
+    /**
+     * Registra eventos intercalados de varios usuarios entre ciclos del relay, con un destino que
+     * falla en la primera entrega, y verifica que cada evento llegó una sola vez y en orden.
+     */
+    @Test
+    public void entregaUnicaYOrdenadaPorUsuarioTest() {
+        registrarEventos(10);
+        destinoEventos.fallarProximasEntregas(1);
+
+        relayOutbox.publicarPendientes();
+        assertTrue(destinoEventos.getRecibidos().isEmpty());
+
+        relayOutbox.publicarPendientes();
+        registrarEventos(7);
+        relayOutbox.publicarPendientes();
+        relayOutbox.publicarPendientes();
+
+        verificarEntregaUnicaYOrdenada(17);
+    }
+
+    /**
+     * Verifica que el relay no se adelanta a otra instancia que tiene reclamados los eventos más
+     * antiguos, y que los retoma cuando ese reclamo vence.
+     */
+    @Test
+    public void reclamoDeOtraInstanciaTest() {
+        registrarEventos(6);
+        synchronized (tabla) {
+            tabla.get(0).setReclamo("otra-instancia");
+            tabla.get(0).setReclamoHasta(LocalDateTime.now().plusMinutes(1));
+        }
+
+        relayOutbox.publicarPendientes();
+        assertTrue(destinoEventos.getRecibidos().isEmpty());
+        synchronized (tabla) {
+            assertTrue(tabla.stream().skip(1).allMatch(evento -> evento.getReclamo() == null));
+            tabla.get(0).setReclamoHasta(LocalDateTime.now().minusSeconds(1));
+        }
+
+        relayOutbox.publicarPendientes();
+        verificarEntregaUnicaYOrdenada(6);
+    }
+
+    /**
+     * Ejecuta el relay desde varios hilos a la vez mientras se registran eventos y verifica que
+     * ningún evento se entrega dos veces ni fuera de orden.
+     */
+    @Test
+    public void relayConcurrenteTest() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<?>> tareas = new ArrayList<>();
+        for (int h = 0; h < 4; h++) {
+            tareas.add(executor.submit(() -> {
+                for (int i = 0; i < 50; i++) {
+                    if (i % 5 == 0) {
+                        registrarEventos(3);
+                    }
+                    relayOutbox.publicarPendientes();
+                }
+            }));
+        }
+        for (Future<?> tarea : tareas) {
+            tarea.get();
+        }
+        executor.shutdown();
+        relayOutbox.publicarPendientes();
+
+        verificarEntregaUnicaYOrdenada(4 * 10 * 3);
+        assertEquals(0, destinoEventos.getDuplicados());
+    }
+
+    /**
+     * Registra eventos con los mismos identificadores locales, de los mismos usuarios locales, en
+     * dos shards y verifica que el destino recibe todos: ninguno se descarta como repetido.
+     */
+    @Test
+    public void variosShardsConLosMismosIdentificadoresTest() {
+        when(enrutadorShards.getNumeroShards()).thenReturn(2);
+        registrarEventos(6);
+        registrarEventos(tablaShard1, 6);
+
+        relayOutbox.publicarPendientes();
+
+        List<EventoOutbox> recibidos = destinoEventos.getRecibidos();
+        assertEquals(12, recibidos.size());
+        assertEquals(0, destinoEventos.getDuplicados());
+        assertEquals(12, recibidos.stream().map(EventoOutbox::getIdGlobal).distinct().count());
+        assertEquals(6, recibidos.stream().filter(evento -> evento.getShard() == 1).count());
+        for (EventoOutbox evento : recibidos) {
+            assertEquals((int) evento.getShard(), IdentificadorGlobal.shard(evento.getIdGlobal()));
+            assertEquals((long) evento.getId(), IdentificadorGlobal.idLocal(evento.getIdGlobal()));
+            assertEquals((int) evento.getShard(), IdentificadorGlobal.shard(evento.getUsuarioIdGlobal()));
+        }
+        synchronized (tablaShard1) {
+            assertTrue(tablaShard1.stream().allMatch(EventoOutbox::getEnviado));
+        }
+        verificarEntregaUnicaYOrdenada(12);
+    }
+
+    /**
+     * Tabla simulada del shard del hilo actual.
+     */
+    private List<EventoOutbox> tablaActual() {
+        return IdentificadorGlobal.shardActual() == 1 ? tablaShard1 : tabla;
+    }
+
+    /**
+     * Agrega eventos a la tabla simulada, repartidos entre tres usuarios y alternando creación y
+     * eliminación.
+     */
+    private void registrarEventos(int cantidad) {
+        registrarEventos(tabla, cantidad);
+    }
+
+    private static void registrarEventos(List<EventoOutbox> tabla, int cantidad) {
+        synchronized (tabla) {
+            for (int i = 0; i < cantidad; i++) {
+                long id = tabla.size() + 1;
+                tabla.add(EventoOutbox.builder()
+                        .id(id)
+                        .tipo(id % 2 == 0 ? TipoEventoUsuario.USUARIO_ELIMINADO : TipoEventoUsuario.USUARIO_CREADO)
+                        .usuarioId(id % 3)
+                        .username("usuario" + (id % 3))
+                        .fechaCreacion(LocalDateTime.now())
+                        .enviado(false)
+                        .build());
+            }
+        }
+    }
+
+    /**
+     * Copia un evento, como lo haría una consulta que devuelve entidades nuevas.
+     */
+    private static EventoOutbox copiar(EventoOutbox evento) {
+        return EventoOutbox.builder()
+                .id(evento.getId())
+                .tipo(evento.getTipo())
+                .usuarioId(evento.getUsuarioId())
+                .username(evento.getUsername())
+                .fechaCreacion(evento.getFechaCreacion())
+                .enviado(evento.getEnviado())
+                .reclamo(evento.getReclamo())
+                .reclamoHasta(evento.getReclamoHasta())
+                .build();
+    }
+
+    private void verificarEntregaUnicaYOrdenada(int esperados) {
+        List<EventoOutbox> recibidos = destinoEventos.getRecibidos();
+        assertEquals(esperados, recibidos.size());
+
+        Set<Long> ids = new HashSet<>();
+        Map<Long, Long> ultimoPorUsuario = new HashMap<>();
+        for (EventoOutbox evento : recibidos) {
+            assertTrue(ids.add(evento.getIdGlobal()), "Evento entregado dos veces: " + evento.getIdGlobal());
+            Long anterior = ultimoPorUsuario.put(evento.getUsuarioIdGlobal(), evento.getIdGlobal());
+            if (anterior != null) {
+                assertTrue(anterior < evento.getIdGlobal(), "Eventos del usuario " + evento.getUsuarioIdGlobal() + " fuera de orden");
+            }
+        }
+        synchronized (tabla) {
+            assertTrue(tabla.stream().allMatch(EventoOutbox::getEnviado));
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.sistema.examenes.perfilado;
+
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Afirmaciones sobre las sentencias SQL de una solicitud, para fijar en las pruebas cuántas
+ * sentencias ejecuta cada endpoint:
+ *
+ * <pre>
+ * MvcResult resultado = mockMvc.perform(get("/usuarios/{username}", "ana")).andReturn();
+ * AfirmacionesSql.afirmarSql(resultado).ejecutaComoMaximo(2).sinNMasUno();
+ * </pre>
+ *
+ * Los mensajes de error incluyen las huellas ejecutadas para ver de inmediato qué cambió.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+public final class AfirmacionesSql {
+
+    private final PerfilSolicitud perfil;
+
+    private AfirmacionesSql(PerfilSolicitud perfil) {
+        this.perfil = perfil;
+    }
+
+    /**
+     * @param resultado El resultado de una solicitud de MockMvc que pasó por {@link FiltroPerfiladoSql}.
+     * @return Las afirmaciones sobre su perfil.
+     */
+    public static AfirmacionesSql afirmarSql(MvcResult resultado) {
+        Object perfil = resultado.getRequest().getAttribute(FiltroPerfiladoSql.ATRIBUTO_PERFIL);
+        if (!(perfil instanceof PerfilSolicitud perfilSolicitud)) {
+            throw new AssertionError("La solicitud no fue perfilada; ¿está activo sistema.perfilado-sql.habilitado?");
+        }
+        return new AfirmacionesSql(perfilSolicitud);
+    }
+
+    /**
+     * @param perfil Un perfil obtenido, por ejemplo, con {@link PerfiladorSql#medir(String, Runnable)}.
+     * @return Las afirmaciones sobre el perfil.
+     */
+    public static AfirmacionesSql afirmarSql(PerfilSolicitud perfil) {
+        return new AfirmacionesSql(perfil);
+    }
+
+    public AfirmacionesSql ejecutaComoMaximo(int maximo) {
+        if (perfil.getCantidadSentencias() > maximo) {
+            throw new AssertionError("Se esperaban como máximo " + maximo + " sentencias. " + perfil);
+        }
+        return this;
+    }
+
+    public AfirmacionesSql ejecutaExactamente(int cantidad) {
+        if (perfil.getCantidadSentencias() != cantidad) {
+            throw new AssertionError("Se esperaban exactamente " + cantidad + " sentencias. " + perfil);
+        }
+        return this;
+    }
+
+    public AfirmacionesSql sinNMasUno() {
+        Map<String, Integer> repeticiones = perfil.getRepeticiones();
+        if (!repeticiones.isEmpty()) {
+            throw new AssertionError("Sentencias repetidas (posible N+1): " + repeticiones + ". " + perfil);
+        }
+        return this;
+    }
+
+    public AfirmacionesSql sinSentenciasLentas() {
+        if (!perfil.getSentenciasLentas().isEmpty()) {
+            throw new AssertionError("Sentencias lentas: " + perfil.getSentenciasLentas() + ". " + perfil);
+        }
+        return this;
+    }
+
+    /**
+     * @param fragmento Un fragmento de huella, en minúsculas, por ejemplo {@code "update usuarios set"}.
+     * @return Estas afirmaciones, si alguna sentencia lo contiene.
+     */
+    public AfirmacionesSql ejecuta(String fragmento) {
+        boolean encontrada = perfil.getSentencias().stream().anyMatch(s -> s.getHuella().contains(fragmento));
+        if (!encontrada) {
+            throw new AssertionError("Ninguna sentencia contiene '" + fragmento + "'. " + perfil);
+        }
+        return this;
+    }
+
+    public AfirmacionesSql noEjecuta(String fragmento) {
+        boolean encontrada = perfil.getSentencias().stream().anyMatch(s -> s.getHuella().contains(fragmento));
+        if (encontrada) {
+            throw new AssertionError("Se ejecutó una sentencia con '" + fragmento + "'. " + perfil);
+        }
+        return this;
+    }
+
+    /**
+     * @param huellas Las huellas completas esperadas, en orden de ejecución.
+     * @return Estas afirmaciones, si se ejecutaron exactamente esas sentencias.
+     */
+    public AfirmacionesSql ejecutaSolo(String... huellas) {
+        List<String> ejecutadas = perfil.getSentencias().stream().map(SentenciaEjecutada::getHuella).toList();
+        if (!ejecutadas.equals(List.of(huellas))) {
+            throw new AssertionError("Se esperaban las sentencias " + List.of(huellas) + ". " + perfil);
+        }
+        return this;
+    }
+}
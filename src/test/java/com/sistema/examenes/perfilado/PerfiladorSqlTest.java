@@ -0,0 +1,120 @@
+package com.sistema.examenes.perfilado;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.UUID;
+
+import static com.sistema.examenes.perfilado.AfirmacionesSql.afirmarSql;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clase de prueba para el perfilado de sentencias SQL.
+ *
+ * Verifica la normalización de huellas, la detección de N+1 y de sentencias lentas, y que
+ * {@link DataSourcePerfilado} informa cada sentencia ejecutada sobre una base H2 en memoria.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+public class PerfiladorSqlTest {
+
+    private PerfiladorSql perfiladorSql;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        perfiladorSql = new PerfiladorSql();
+        ReflectionTestUtils.setField(perfiladorSql, "umbralLentaMs", 100L);
+        ReflectionTestUtils.setField(perfiladorSql, "umbralRepeticiones", 3);
+        ReflectionTestUtils.setField(perfiladorSql, "tamanoHistorial", 2);
+
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL("jdbc:h2:mem:perfilado-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(new DataSourcePerfilado(h2, perfiladorSql));
+        jdbcTemplate.execute("CREATE TABLE usuarios (id BIGINT PRIMARY KEY, username VARCHAR(255))");
+    }
+
+    @Test
+    public void testHuellaIgnoraValoresYEspacios() {
+        assertEquals("select * from usuarios where username = ? and id > ?",
+                HuellaSql.de("SELECT *  FROM usuarios\n WHERE username = 'o''brien' AND id > 42"));
+        assertEquals("select u1_0.id from usuarios u1_0 where u1_0.id in (?...)",
+                HuellaSql.de("select u1_0.id from usuarios u1_0 where u1_0.id in (?, ?, ?) /* carga */"));
+        assertEquals("insert into usuarios (id, username) values (?...), ...",
+                HuellaSql.de("insert into usuarios (id, username) values (1, 'a'), (2, 'b'), (3, 'c')"));
+    }
+
+    @Test
+    public void testRegistraSentenciasDeLaAccionMedida() {
+        PerfilSolicitud perfil = perfiladorSql.medir("insertar y contar", () -> {
+            jdbcTemplate.update("INSERT INTO usuarios VALUES (?, ?)", 1L, "ana");
+            jdbcTemplate.queryForObject("SELECT COUNT(*) FROM usuarios", Long.class);
+        });
+
+        afirmarSql(perfil).ejecutaExactamente(2).sinNMasUno()
+                .ejecuta("insert into usuarios values (?...)")
+                .ejecuta("select count(*) from usuarios");
+        assertEquals(1, perfiladorSql.getRecientes().size());
+        assertEquals(3, perfiladorSql.getEstadisticas().size(), "La creación de la tabla también se acumula");
+    }
+
+    @Test
+    public void testDetectaNMasUno() {
+        for (long i = 1; i <= 5; i++) {
+            jdbcTemplate.update("INSERT INTO usuarios VALUES (?, ?)", i, "usuario" + i);
+        }
+
+        PerfilSolicitud perfil = perfiladorSql.medir("N+1", () -> {
+            for (long i = 1; i <= 5; i++) {
+                jdbcTemplate.queryForObject("SELECT username FROM usuarios WHERE id = " + i, String.class);
+            }
+        });
+
+        assertTrue(perfil.isNMasUno());
+        assertEquals(5, perfil.getRepeticiones().get("select username from usuarios where id = ?"));
+        assertThrows(AssertionError.class, () -> afirmarSql(perfil).sinNMasUno());
+        assertThrows(AssertionError.class, () -> afirmarSql(perfil).ejecutaComoMaximo(2));
+    }
+
+    @Test
+    public void testDetectaSentenciasLentas() {
+        PerfilSolicitud perfil = perfiladorSql.iniciar("lenta");
+        perfiladorSql.registrar("SELECT 1", 150_000_000L);
+        perfiladorSql.registrar("SELECT 2", 1_000_000L);
+        perfiladorSql.terminar();
+
+        assertEquals(1, perfil.getSentenciasLentas().size());
+        assertEquals(150.0, perfil.getSentenciasLentas().get(0).getTiempoMs(), 1e-9);
+        assertThrows(AssertionError.class, () -> afirmarSql(perfil).sinSentenciasLentas());
+    }
+
+    @Test
+    public void testSinPerfilActivoSoloAcumulaEstadisticas() {
+        jdbcTemplate.queryForObject("SELECT COUNT(*) FROM usuarios", Long.class);
+        jdbcTemplate.queryForObject("SELECT COUNT(*) FROM usuarios", Long.class);
+
+        assertTrue(perfiladorSql.getRecientes().isEmpty());
+        EstadisticaSentencia conteo = perfiladorSql.getEstadisticas().stream()
+                .filter(e -> e.getHuella().equals("select count(*) from usuarios"))
+                .findFirst().orElseThrow();
+        assertEquals(2, conteo.getEjecuciones());
+    }
+
+    @Test
+    public void testHistorialAcotado() {
+        for (int i = 0; i < 5; i++) {
+            perfiladorSql.medir("solicitud " + i, () -> jdbcTemplate.execute("SELECT 1"));
+        }
+
+        assertEquals(2, perfiladorSql.getRecientes().size());
+        assertEquals("solicitud 4", perfiladorSql.getRecientes().get(0).getDescripcion());
+
+        perfiladorSql.limpiar();
+        assertTrue(perfiladorSql.getRecientes().isEmpty());
+        assertTrue(perfiladorSql.getEstadisticas().isEmpty());
+    }
+}
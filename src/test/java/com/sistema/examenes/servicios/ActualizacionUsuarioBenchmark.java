@@ -0,0 +1,122 @@
+package com.sistema.examenes.servicios;
+
+import com.sistema.examenes.modelos.ActualizacionUsuario;
+import com.sistema.examenes.modelos.Usuario;
+import com.sistema.examenes.perfilado.PerfilSolicitud;
+import com.sistema.examenes.perfilado.PerfiladoSqlConfig;
+import com.sistema.examenes.perfilado.PerfiladorSql;
+import com.sistema.examenes.repositorios.UsuarioRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Benchmark de la actualización parcial de usuarios: compara la sentencia única de
+ * {@link UsuarioRepository#actualizarParcial} con cargar el {@link Usuario}, modificarlo y
+ * guardarlo, para 10.000 usuarios con tres roles cada uno en una base de datos H2 embebida.
+ * Reporta el tiempo, las operaciones por segundo y las sentencias SQL de cada variante.
+ *
+ * Se ejecuta solo con el perfil de Maven {@code benchmark}:
+ * {@code mvn test -Pbenchmark -Dtest=ActualizacionUsuarioBenchmark}.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({PerfiladoSqlConfig.class, PerfiladorSql.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ActualizacionUsuarioBenchmark {
+
+    private static final int USUARIOS = 10_000;
+    private static final int ROLES_POR_USUARIO = 3;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private PerfiladorSql perfiladorSql;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void actualizarTelefono() {
+        List<String> usernames = registrarUsuarios();
+
+        // Cargar, modificar y guardar: lee el usuario y sus roles y reescribe todas las columnas
+        long inicio = System.nanoTime();
+        for (int i = 0; i < USUARIOS; i++) {
+            cargarModificarGuardar(usernames.get(i), "3100000000");
+        }
+        imprimir("Cargar, modificar y guardar", inicio);
+
+        // Sentencia única: solo la columna indicada, condicionada a la versión (ahora 1)
+        inicio = System.nanoTime();
+        int actualizados = 0;
+        for (int i = 0; i < USUARIOS; i++) {
+            actualizados += usuarioRepository.actualizarParcial(usernames.get(i), telefono("3200000000", 1L));
+        }
+        imprimir("Actualización parcial", inicio);
+        assertEquals(USUARIOS, actualizados);
+
+        PerfilSolicitud completa = perfiladorSql.medir("cargar, modificar y guardar",
+                () -> cargarModificarGuardar(usernames.get(0), "3300000000"));
+        PerfilSolicitud parcial = perfiladorSql.medir("actualización parcial",
+                () -> usuarioRepository.actualizarParcial(usernames.get(1), telefono("3300000000", 2L)));
+        System.out.println("Sentencias por operación: " + completa);
+        System.out.println("Sentencias por operación: " + parcial);
+        assertEquals(1, parcial.getCantidadSentencias());
+    }
+
+    private void cargarModificarGuardar(String username, String telefono) {
+        transactionTemplate.executeWithoutResult(estado -> {
+            Usuario usuario = usuarioRepository.findByUsername(username);
+            usuario.setTelefono(telefono);
+            usuarioRepository.save(usuario);
+        });
+    }
+
+    private static ActualizacionUsuario telefono(String telefono, long version) {
+        return ActualizacionUsuario.builder().telefono(telefono).version(version).build();
+    }
+
+    private List<String> registrarUsuarios() {
+        List<String> usernames = new ArrayList<>(USUARIOS);
+        List<Object[]> filas = new ArrayList<>(USUARIOS);
+        for (int i = 0; i < USUARIOS; i++) {
+            String username = "usuario" + i;
+            usernames.add(username);
+            filas.add(new Object[]{username, "clave", "Nombre", "Apellido", "3000000000", true, "ESTUDIANTE"});
+        }
+        jdbcTemplate.batchUpdate("insert into usuarios (username, password, nombre, apellido, telefono, enable, perfil) "
+                + "values (?, ?, ?, ?, ?, ?, ?)", filas);
+        for (long rolId = 1; rolId <= ROLES_POR_USUARIO; rolId++) {
+            jdbcTemplate.update("insert into roles (rol_id, nombre) values (?, ?)", rolId, "ROL" + rolId);
+        }
+        jdbcTemplate.update("insert into usuario_rol (usuario_id, rol_rol_id) select u.id, r.rol_id from usuarios u cross join roles r");
+        return usernames;
+    }
+
+    private static void imprimir(String operacion, long inicio) {
+        long nanos = System.nanoTime() - inicio;
+        System.out.printf("%s: %d usuarios en %.1f ms (%.0f operaciones/s)%n",
+                operacion, USUARIOS, nanos / 1e6, USUARIOS / (nanos / 1e9));
+    }
+}
@@ -0,0 +1,105 @@
+package com.sistema.examenes.servicios;
+
+import com.sistema.examenes.modelos.Rol;
+import com.sistema.examenes.repositorios.RolRepository;
+import com.sistema.examenes.servicios.impl.AsignacionRolServiceImpl;
+import com.sistema.examenes.sharding.EnrutadorShards;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Benchmark de {@link AsignacionRolServiceImpl}: asigna y revoca un rol a 100.000 usuarios en una
+ * base de datos H2 embebida, por lista de nombres de usuario y por filtro.
+ *
+ * Se ejecuta solo con el perfil de Maven {@code benchmark}:
+ * {@code mvn test -Pbenchmark -Dtest=AsignacionRolBenchmark}.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+@DataJpaTest
+@ActiveProfiles("h2")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({AsignacionRolServiceImpl.class, EnrutadorShards.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class AsignacionRolBenchmark {
+
+    private static final int USUARIOS = 100_000;
+    private static final long ROL_ID = 2L;
+
+    @Autowired
+    private AsignacionRolService asignacionRolService;
+
+    @Autowired
+    private RolRepository rolRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void asignarYRevocarRol() {
+        rolRepository.save(Rol.builder().rolId(ROL_ID).nombre("DOCENTE").build());
+        List<String> usernames = registrarUsuarios();
+
+        long inicio = System.nanoTime();
+        int asignados = asignacionRolService.asignarRol(ROL_ID, usernames);
+        imprimir("Asignar por usernames", asignados, inicio);
+        assertEquals(USUARIOS, asignados);
+
+        inicio = System.nanoTime();
+        int repetidos = asignacionRolService.asignarRol(ROL_ID, usernames);
+        imprimir("Asignar por usernames (ya asignados)", repetidos, inicio);
+        assertEquals(0, repetidos);
+
+        inicio = System.nanoTime();
+        int revocados = asignacionRolService.revocarRol(ROL_ID, usernames);
+        imprimir("Revocar por usernames", revocados, inicio);
+        assertEquals(USUARIOS, revocados);
+
+        inicio = System.nanoTime();
+        int habilitados = asignacionRolService.asignarRol(ROL_ID, "ESTUDIANTE", true);
+        imprimir("Asignar por filtro (perfil y enable)", habilitados, inicio);
+        assertEquals(USUARIOS / 2, habilitados);
+
+        inicio = System.nanoTime();
+        int todos = asignacionRolService.asignarRol(ROL_ID, null, null);
+        imprimir("Asignar por filtro (todos, mitad ya asignados)", todos, inicio);
+        assertEquals(USUARIOS / 2, todos);
+
+        inicio = System.nanoTime();
+        revocados = asignacionRolService.revocarRol(ROL_ID, null, null);
+        imprimir("Revocar por filtro (todos)", revocados, inicio);
+        assertEquals(USUARIOS, revocados);
+    }
+
+    private List<String> registrarUsuarios() {
+        List<String> usernames = new ArrayList<>(USUARIOS);
+        List<Object[]> filas = new ArrayList<>(USUARIOS);
+        for (int i = 0; i < USUARIOS; i++) {
+            String username = "usuario" + i;
+            usernames.add(username);
+            filas.add(new Object[]{username, "clave", "Nombre", "Apellido", "3000000000", i % 2 == 0, "ESTUDIANTE"});
+        }
+        jdbcTemplate.batchUpdate("insert into usuarios (username, password, nombre, apellido, telefono, enable, perfil) "
+                + "values (?, ?, ?, ?, ?, ?, ?)", filas);
+        return usernames;
+    }
+
+    private static void imprimir(String operacion, int filas, long inicio) {
+        long nanos = System.nanoTime() - inicio;
+        System.out.printf("%s: %d filas en %.1f ms (%.0f filas/s)%n",
+                operacion, filas, nanos / 1e6, filas / (nanos / 1e9));
+    }
+}
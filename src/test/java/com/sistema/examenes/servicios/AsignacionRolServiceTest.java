@@ -0,0 +1,137 @@
+package com.sistema.examenes.servicios;
+
+import com.sistema.examenes.repositorios.RolRepository;
+import com.sistema.examenes.repositorios.UsuarioRepository;
+import com.sistema.examenes.repositorios.UsuarioRolRepository;
+import com.sistema.examenes.servicios.impl.AsignacionRolServiceImpl;
+import com.sistema.examenes.sharding.EnrutadorShards;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Clase de prueba para {@link AsignacionRolServiceImpl}, que verifica que las asignaciones y
+ * revocaciones masivas se dividen en bloques acotados y que los filtros se traducen correctamente
+ * a los parámetros de las sentencias.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+public class AsignacionRolServiceTest {
+
+    @Mock
+    private UsuarioRolRepository usuarioRolRepository;
+
+    @Mock
+    private UsuarioRepository usuarioRepository;
+
+    @Mock
+    private RolRepository rolRepository;
+
+    @Mock
+    private EnrutadorShards enrutadorShards;
+
+    @InjectMocks
+    private AsignacionRolServiceImpl asignacionRolService;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(asignacionRolService, "bloqueUsernames", 1000);
+        ReflectionTestUtils.setField(asignacionRolService, "bloqueIds", 5000);
+        when(rolRepository.existsById(2L)).thenReturn(true);
+        when(enrutadorShards.getNumeroShards()).thenReturn(1);
+        when(enrutadorShards.shardsDeUsernames(anyCollection())).thenAnswer(invocacion -> {
+            Map<String, Integer> shards = new HashMap<>();
+            invocacion.<Collection<String>>getArgument(0).forEach(username -> shards.put(username, 0));
+            return shards;
+        });
+    }
+
+    /**
+     * Verifica que 2500 nombres de usuario, con repetidos, se asignan en tres sentencias y que se
+     * suman las filas afectadas de cada una.
+     */
+    @Test
+    public void asignarRolPorUsernamesTest() {
+        List<String> usernames = new ArrayList<>();
+        for (int i = 0; i < 2500; i++) {
+            usernames.add("usuario" + i);
+        }
+        usernames.add("usuario0");
+        when(usuarioRolRepository.asignarRolPorUsernames(eq(2L), anyCollection()))
+                .thenAnswer(invocacion -> invocacion.<List<String>>getArgument(1).size());
+
+        int afectados = asignacionRolService.asignarRol(2L, usernames);
+
+        assertEquals(2500, afectados);
+        verify(usuarioRolRepository, times(2)).asignarRolPorUsernames(eq(2L), argThat(bloque -> bloque.size() == 1000));
+        verify(usuarioRolRepository, times(1)).asignarRolPorUsernames(eq(2L), argThat(bloque -> bloque.size() == 500));
+    }
+
+    /**
+     * Verifica que un bloque que choca con la clave única de {@code usuario_rol} por una asignación
+     * concurrente se repite una vez.
+     */
+    @Test
+    public void asignarRolReintentaSiHayDuplicadoTest() {
+        when(usuarioRolRepository.asignarRolPorUsernames(eq(2L), anyCollection()))
+                .thenThrow(new DataIntegrityViolationException("uk_usuario_rol_usuario_rol"))
+                .thenReturn(1);
+
+        assertEquals(1, asignacionRolService.asignarRol(2L, List.of("usuario0", "usuario1")));
+        verify(usuarioRolRepository, times(2)).asignarRolPorUsernames(eq(2L), anyCollection());
+    }
+
+    /**
+     * Verifica que la revocación por filtro recorre la tabla por rangos de identificadores y que
+     * un criterio nulo no filtra.
+     */
+    @Test
+    public void revocarRolPorFiltroTest() {
+        when(usuarioRepository.findMinId()).thenReturn(1L);
+        when(usuarioRepository.findMaxId()).thenReturn(12_000L);
+        when(usuarioRolRepository.revocarRolPorFiltro(anyLong(), anyLong(), anyLong(), anyBoolean(), anyString(), anyBoolean(), anyBoolean()))
+                .thenReturn(10);
+
+        int afectados = asignacionRolService.revocarRol(2L, null, true);
+
+        assertEquals(30, afectados);
+        verify(usuarioRolRepository).revocarRolPorFiltro(2L, 1L, 5001L, false, "", true, true);
+        verify(usuarioRolRepository).revocarRolPorFiltro(2L, 5001L, 10_001L, false, "", true, true);
+        verify(usuarioRolRepository).revocarRolPorFiltro(2L, 10_001L, 15_001L, false, "", true, true);
+    }
+
+    /**
+     * Verifica que no se ejecuta ninguna sentencia si el rol no existe.
+     */
+    @Test
+    public void rolInexistenteTest() {
+        assertThrows(IllegalArgumentException.class, () -> asignacionRolService.asignarRol(9L, List.of("usuario0")));
+        verifyNoInteractions(usuarioRolRepository);
+    }
+
+    /**
+     * Verifica que un filtro sin criterios se rechace en lugar de aplicarse a todos los usuarios.
+     */
+    @Test
+    public void filtroSinCriteriosTest() {
+        assertThrows(IllegalArgumentException.class, () -> asignacionRolService.asignarRol(2L, null, null));
+        assertThrows(IllegalArgumentException.class, () -> asignacionRolService.revocarRol(2L, null, null));
+        verifyNoInteractions(usuarioRolRepository);
+    }
+}
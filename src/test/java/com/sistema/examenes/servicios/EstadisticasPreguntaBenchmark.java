@@ -0,0 +1,49 @@
+package com.sistema.examenes.servicios;
+
+import com.sistema.examenes.servicios.impl.EstadisticasPreguntaServiceImpl;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Benchmark de {@link EstadisticasPreguntaServiceImpl}: mide cuántas respuestas por segundo se
+ * pueden registrar calificando envíos de 40 preguntas en paralelo sobre un banco de 200.
+ *
+ * Se ejecuta solo con el perfil de Maven {@code benchmark}:
+ * {@code mvn test -Pbenchmark -Dtest=EstadisticasPreguntaBenchmark}.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+public class EstadisticasPreguntaBenchmark {
+
+    private static final int ENVIOS = 500_000;
+    private static final int PREGUNTAS_POR_ENVIO = 40;
+    private static final int RONDAS = 5;
+
+    @Test
+    public void registrarEnviosEnParalelo() {
+        EstadisticasPreguntaServiceImpl estadisticasPreguntaService = new EstadisticasPreguntaServiceImpl();
+
+        for (int ronda = 1; ronda <= RONDAS; ronda++) {
+            long inicio = System.nanoTime();
+
+            IntStream.range(0, ENVIOS).parallel().forEach(envio -> {
+                ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+                long[] preguntaIds = new long[PREGUNTAS_POR_ENVIO];
+                boolean[] correctas = new boolean[PREGUNTAS_POR_ENVIO];
+                for (int i = 0; i < PREGUNTAS_POR_ENVIO; i++) {
+                    preguntaIds[i] = aleatorio.nextInt(200);
+                    correctas[i] = aleatorio.nextBoolean();
+                }
+                estadisticasPreguntaService.registrarEnvio(preguntaIds, correctas);
+            });
+
+            long nanos = System.nanoTime() - inicio;
+            long respuestas = (long) ENVIOS * PREGUNTAS_POR_ENVIO;
+            System.out.printf("Ronda %d: %d respuestas en %.1f ms (%.1f millones de respuestas/s)%n",
+                    ronda, respuestas, nanos / 1e6, respuestas / (nanos / 1e3));
+        }
+    }
+}
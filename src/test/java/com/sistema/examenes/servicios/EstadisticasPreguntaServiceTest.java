@@ -0,0 +1,149 @@
+package com.sistema.examenes.servicios;
+
+import com.sistema.examenes.modelos.EstadisticaPregunta;
+import com.sistema.examenes.repositorios.EstadisticaPreguntaRepository;
+import com.sistema.examenes.servicios.impl.EstadisticasPreguntaServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Clase de prueba para {@link EstadisticasPreguntaServiceImpl}, que verifica que los contadores
+ * por pregunta son exactos cuando varios hilos califican envíos en paralelo y que los índices de
+ * dificultad y discriminación se calculan correctamente.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+public class EstadisticasPreguntaServiceTest {
+
+    @Mock
+    private EstadisticaPreguntaRepository estadisticaPreguntaRepository;
+
+    @InjectMocks
+    private EstadisticasPreguntaServiceImpl estadisticasPreguntaService;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    /**
+     * Califica 8 x 20.000 envíos en paralelo sobre las mismas 4 preguntas y verifica que los
+     * contadores coinciden exactamente con lo registrado.
+     *
+     * Los envíos del hilo {@code h} aciertan la pregunta 1 siempre, la pregunta 2 en los envíos
+     * pares y nunca las preguntas 3 y 4, de modo que los totales esperados se pueden calcular.
+     */
+    @Test
+    public void registrarEnvioConcurrenteTest() throws Exception {
+        int hilos = 8;
+        int enviosPorHilo = 20_000;
+        long[] preguntaIds = {1L, 2L, 3L, 4L};
+
+        ExecutorService executor = Executors.newFixedThreadPool(hilos);
+        CountDownLatch inicio = new CountDownLatch(1);
+        List<Future<?>> tareas = new ArrayList<>();
+        for (int h = 0; h < hilos; h++) {
+            tareas.add(executor.submit(() -> {
+                inicio.await();
+                for (int i = 0; i < enviosPorHilo; i++) {
+                    boolean par = i % 2 == 0;
+                    estadisticasPreguntaService.registrarEnvio(preguntaIds, new boolean[]{true, par, false, false});
+                }
+                return null;
+            }));
+        }
+        inicio.countDown();
+        for (Future<?> tarea : tareas) {
+            tarea.get();
+        }
+        executor.shutdown();
+
+        long total = (long) hilos * enviosPorHilo;
+        EstadisticaPregunta pregunta1 = estadisticasPreguntaService.obtenerEstadisticas(1L);
+        EstadisticaPregunta pregunta2 = estadisticasPreguntaService.obtenerEstadisticas(2L);
+        EstadisticaPregunta pregunta3 = estadisticasPreguntaService.obtenerEstadisticas(3L);
+
+        assertEquals(total, pregunta1.getRespuestas());
+        assertEquals(total, pregunta1.getAciertos());
+        assertEquals(total / 2, pregunta2.getAciertos());
+        assertEquals(0L, pregunta3.getAciertos());
+
+        // La mitad de los envíos obtiene 5000 puntos básicos (2 de 4) y la otra mitad 2500 (1 de 4)
+        assertEquals(total / 2 * 5000 + total / 2 * 2500,
+                pregunta1.getSumaPuntajeAciertos() + pregunta1.getSumaPuntajeFallos());
+        assertEquals(total / 2 * 5000, pregunta2.getSumaPuntajeAciertos());
+        assertEquals(total / 2 * 2500, pregunta2.getSumaPuntajeFallos());
+    }
+
+    /**
+     * Verifica los índices: la pregunta que solo aciertan los mejores envíos discrimina
+     * perfectamente, y la que aciertan todos no tiene discriminación definida.
+     */
+    @Test
+    public void indicesTest() {
+        estadisticasPreguntaService.registrarEnvio(new long[]{1L, 2L}, new boolean[]{true, true});
+        estadisticasPreguntaService.registrarEnvio(new long[]{1L, 2L}, new boolean[]{true, false});
+
+        EstadisticaPregunta pregunta1 = estadisticasPreguntaService.obtenerEstadisticas(1L);
+        EstadisticaPregunta pregunta2 = estadisticasPreguntaService.obtenerEstadisticas(2L);
+
+        assertEquals(1.0, pregunta1.getDificultad());
+        assertNull(pregunta1.getDiscriminacion());
+        assertEquals(0.5, pregunta2.getDificultad());
+        assertEquals(1.0, pregunta2.getDiscriminacion(), 1e-9);
+        assertNull(estadisticasPreguntaService.obtenerEstadisticas(3L));
+    }
+
+    /**
+     * Verifica que solo se guardan las preguntas que cambiaron y que se envía la diferencia con el
+     * último guardado, no el total acumulado.
+     */
+    @Test
+    public void guardarInstantaneasTest() {
+        estadisticasPreguntaService.registrarEnvio(new long[]{1L}, new boolean[]{true});
+        estadisticasPreguntaService.guardarInstantaneas();
+        estadisticasPreguntaService.guardarInstantaneas();
+        estadisticasPreguntaService.registrarEnvio(new long[]{1L}, new boolean[]{false});
+        estadisticasPreguntaService.guardarInstantaneas();
+
+        ArgumentCaptor<List<EstadisticaPregunta>> diferencias = ArgumentCaptor.forClass(List.class);
+        verify(estadisticaPreguntaRepository, times(2)).sumar(diferencias.capture());
+        EstadisticaPregunta segunda = diferencias.getAllValues().get(1).get(0);
+        assertEquals(1L, segunda.getRespuestas());
+        assertEquals(0L, segunda.getAciertos());
+    }
+
+    /**
+     * Verifica que si el guardado falla, la diferencia se conserva y se envía en el siguiente intento.
+     */
+    @Test
+    public void guardarInstantaneasReintentaTrasFalloTest() {
+        estadisticasPreguntaService.registrarEnvio(new long[]{1L}, new boolean[]{true});
+        doThrow(new IllegalStateException("sin conexión")).doNothing()
+                .when(estadisticaPreguntaRepository).sumar(anyList());
+
+        assertThrows(IllegalStateException.class, () -> estadisticasPreguntaService.guardarInstantaneas());
+        estadisticasPreguntaService.guardarInstantaneas();
+        estadisticasPreguntaService.guardarInstantaneas();
+
+        ArgumentCaptor<List<EstadisticaPregunta>> diferencias = ArgumentCaptor.forClass(List.class);
+        verify(estadisticaPreguntaRepository, times(2)).sumar(diferencias.capture());
+        assertEquals(1L, diferencias.getAllValues().get(1).get(0).getRespuestas());
+    }
+}
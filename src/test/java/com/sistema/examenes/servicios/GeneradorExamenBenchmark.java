@@ -0,0 +1,74 @@
+package com.sistema.examenes.servicios;
+
+import com.sistema.examenes.modelos.Examen;
+import com.sistema.examenes.repositorios.ExamenRepository;
+import com.sistema.examenes.repositorios.PreguntaRepository;
+import com.sistema.examenes.servicios.impl.GeneradorExamenServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+/**
+ * Benchmark de {@link GeneradorExamenServiceImpl}: genera 100.000 exámenes en paralelo sobre un
+ * banco de 1.000 preguntas, simulando que todos los estudiantes comienzan al mismo tiempo.
+ *
+ * Se ejecuta solo con el perfil de Maven {@code benchmark}:
+ * {@code mvn test -Pbenchmark -Dtest=GeneradorExamenBenchmark}.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+public class GeneradorExamenBenchmark {
+
+    private static final int EXAMENES = 100_000;
+    private static final int RONDAS = 5;
+
+    @Mock
+    private ExamenRepository examenRepository;
+
+    @Mock
+    private PreguntaRepository preguntaRepository;
+
+    @InjectMocks
+    private GeneradorExamenServiceImpl generadorExamenService;
+
+    @Test
+    public void generarExamenesEnParalelo() {
+        MockitoAnnotations.openMocks(this);
+
+        Examen examen = new Examen();
+        examen.setExamenId(1L);
+        examen.setNumeroDePreguntas(40);
+        List<Long> preguntaIds = new ArrayList<>();
+        for (long id = 1; id <= 1_000; id++) {
+            preguntaIds.add(id);
+        }
+        when(examenRepository.findById(1L)).thenReturn(Optional.of(examen));
+        when(preguntaRepository.findPreguntaIdsByExamenId(1L)).thenReturn(preguntaIds);
+
+        for (int ronda = 1; ronda <= RONDAS; ronda++) {
+            LongAdder generadas = new LongAdder();
+            long inicio = System.nanoTime();
+
+            LongStream.rangeClosed(1, EXAMENES).parallel().forEach(usuarioId -> {
+                long[] preguntas = generadorExamenService.generarPreguntas(1L, usuarioId);
+                generadas.add(preguntas.length);
+            });
+
+            long nanos = System.nanoTime() - inicio;
+            assertEquals((long) EXAMENES * 40, generadas.sum());
+            System.out.printf("Ronda %d: %d exámenes en %.1f ms (%.0f exámenes/s, %.0f ns/examen)%n",
+                    ronda, EXAMENES, nanos / 1e6, EXAMENES / (nanos / 1e9), (double) nanos / EXAMENES);
+        }
+    }
+}
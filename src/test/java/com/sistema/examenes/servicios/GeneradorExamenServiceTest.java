@@ -0,0 +1,141 @@
+package com.sistema.examenes.servicios;
+
+import com.sistema.examenes.modelos.Examen;
+import com.sistema.examenes.repositorios.ExamenRepository;
+import com.sistema.examenes.repositorios.PreguntaRepository;
+import com.sistema.examenes.servicios.impl.GeneradorExamenServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Clase de prueba para {@link GeneradorExamenServiceImpl}, que verifica que las preguntas de cada
+ * estudiante se derivan de forma determinista del banco del examen y que el banco se carga una
+ * sola vez.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+public class GeneradorExamenServiceTest {
+
+    @Mock
+    private ExamenRepository examenRepository;
+
+    @Mock
+    private PreguntaRepository preguntaRepository;
+
+    @InjectMocks
+    private GeneradorExamenServiceImpl generadorExamenService;
+
+    /**
+     * Configura un examen con un banco de 50 preguntas del cual cada estudiante recibe 10.
+     */
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+
+        Examen examen = new Examen();
+        examen.setExamenId(7L);
+        examen.setNumeroDePreguntas(10);
+
+        List<Long> preguntaIds = new ArrayList<>();
+        for (long id = 100; id < 150; id++) {
+            preguntaIds.add(id);
+        }
+
+        when(examenRepository.findById(7L)).thenReturn(Optional.of(examen));
+        when(preguntaRepository.findPreguntaIdsByExamenId(7L)).thenReturn(preguntaIds);
+    }
+
+    /**
+     * Verifica que un mismo usuario recibe siempre las mismas preguntas, sin repetidas y tomadas
+     * del banco del examen.
+     */
+    @Test
+    public void generarPreguntasDeterministaTest() {
+        long[] primera = generadorExamenService.generarPreguntas(7L, 42L);
+        long[] segunda = generadorExamenService.generarPreguntas(7L, 42L);
+
+        assertEquals(10, primera.length);
+        assertArrayEquals(primera, segunda);
+
+        Set<Long> distintas = new HashSet<>();
+        for (long id : primera) {
+            assertTrue(id >= 100 && id < 150);
+            distintas.add(id);
+        }
+        assertEquals(10, distintas.size());
+    }
+
+    /**
+     * Verifica que usuarios distintos reciben exámenes distintos y que el banco se consulta una
+     * sola vez para todos ellos.
+     */
+    @Test
+    public void generarPreguntasPorUsuarioTest() {
+        Set<String> examenes = new HashSet<>();
+        long[] destino = new long[10];
+        for (long usuarioId = 1; usuarioId <= 100; usuarioId++) {
+            assertEquals(10, generadorExamenService.generarPreguntas(7L, usuarioId, destino));
+            examenes.add(Arrays.toString(destino));
+        }
+
+        assertTrue(examenes.size() > 95);
+        verify(examenRepository, times(1)).findById(7L);
+        verify(preguntaRepository, times(1)).findPreguntaIdsByExamenId(7L);
+    }
+
+    /**
+     * Verifica que invalidar el banco obliga a cargarlo de nuevo.
+     */
+    @Test
+    public void invalidarBancoTest() {
+        generadorExamenService.generarPreguntas(7L, 1L);
+        generadorExamenService.invalidarBanco(7L);
+        generadorExamenService.generarPreguntas(7L, 1L);
+
+        verify(preguntaRepository, times(2)).findPreguntaIdsByExamenId(7L);
+    }
+
+    /**
+     * Verifica que la caché no supera su tamaño máximo y descarta primero el banco más antiguo.
+     */
+    @Test
+    public void cacheAcotadaTest() {
+        ReflectionTestUtils.setField(generadorExamenService, "maximoBancos", 1);
+        Examen otro = new Examen();
+        otro.setExamenId(8L);
+        when(examenRepository.findById(8L)).thenReturn(Optional.of(otro));
+        when(preguntaRepository.findPreguntaIdsByExamenId(8L)).thenReturn(List.of(200L, 201L));
+
+        generadorExamenService.generarPreguntas(7L, 1L);
+        generadorExamenService.generarPreguntas(8L, 1L);
+        generadorExamenService.generarPreguntas(7L, 1L);
+
+        verify(preguntaRepository, times(2)).findPreguntaIdsByExamenId(7L);
+        verify(preguntaRepository, times(1)).findPreguntaIdsByExamenId(8L);
+    }
+
+    /**
+     * Verifica que un examen inexistente produce una {@link IllegalArgumentException}.
+     */
+    @Test
+    public void examenInexistenteTest() {
+        when(examenRepository.findById(99L)).thenReturn(Optional.empty());
+
+        assertThrows(IllegalArgumentException.class, () -> generadorExamenService.generarPreguntas(99L, 1L));
+    }
+}
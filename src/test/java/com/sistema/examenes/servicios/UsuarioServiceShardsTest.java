@@ -0,0 +1,177 @@
+package com.sistema.examenes.servicios;
+
+import com.sistema.examenes.modelos.Usuario;
+import com.sistema.examenes.perfilado.PerfilSolicitud;
+import com.sistema.examenes.perfilado.PerfiladorSql;
+import com.sistema.examenes.sharding.IdentificadorGlobal;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static com.sistema.examenes.perfilado.AfirmacionesSql.afirmarSql;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Prueba de {@link UsuarioService} con la fragmentación habilitada sobre dos bases H2 embebidas.
+ *
+ * La institución "norte" se asigna al shard 0 y "sur" al shard 1. Cada prueba guarda, obtiene y
+ * elimina usuarios a través del servicio y verifica directamente en cada base de datos en qué
+ * shard quedó la fila y qué registra el directorio de usuarios del shard 0. El listado se mide
+ * además con {@link PerfiladorSql}.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+@SpringBootTest(properties = {
+        "sistema.sharding.habilitado=true",
+        "sistema.sharding.shards[0].url=" + UsuarioServiceShardsTest.URL_SHARD_0,
+        "sistema.sharding.shards[1].url=" + UsuarioServiceShardsTest.URL_SHARD_1
+                + ";INIT=RUNSCRIPT FROM 'classpath:sharding/esquema-shard.sql'",
+        "sistema.sharding.instituciones.norte=0",
+        "sistema.sharding.instituciones.sur=1"
+})
+@ActiveProfiles("h2")
+public class UsuarioServiceShardsTest {
+
+    static final String URL_SHARD_0 = "jdbc:h2:mem:usuarios-shard0;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    static final String URL_SHARD_1 = "jdbc:h2:mem:usuarios-shard1;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private UsuarioService usuarioService;
+
+    @Autowired
+    private PerfiladorSql perfiladorSql;
+
+    /**
+     * Verifica que un usuario se guarde solo en el shard de su institución, que se obtenga desde
+     * ahí, que su nombre no pueda repetirse en otro shard y que su baja lo quite del shard y del
+     * directorio.
+     */
+    @Test
+    public void altaConsultaYBajaEnElShardDeLaInstitucionTest() throws Exception {
+        usuarioService.guardarUsuario(crearUsuario("ana-sur", "sur", "3000000000"), new HashSet<>());
+
+        assertEquals(0, contarUsuarios(URL_SHARD_0, "ana-sur"));
+        assertEquals(1, contarUsuarios(URL_SHARD_1, "ana-sur"));
+        assertEquals(Integer.valueOf(1), shardEnDirectorio("ana-sur"));
+
+        Usuario obtenido = usuarioService.obtenerUsuario("ana-sur");
+        assertNotNull(obtenido);
+        assertEquals("sur", obtenido.getInstitucion());
+
+        // El mismo nombre de usuario en otra institución no puede guardarse en el shard 0
+        assertThrows(Exception.class,
+                () -> usuarioService.guardarUsuario(crearUsuario("ana-sur", "norte", "3000000000"), new HashSet<>()));
+        assertEquals(0, contarUsuarios(URL_SHARD_0, "ana-sur"));
+
+        usuarioService.eliminarUsuario("ana-sur");
+
+        assertEquals(0, contarUsuarios(URL_SHARD_1, "ana-sur"));
+        assertNull(shardEnDirectorio("ana-sur"));
+        assertNull(usuarioService.obtenerUsuario("ana-sur"));
+    }
+
+    /**
+     * Verifica que un alta revertida libere la reserva del nombre de usuario en el directorio, de
+     * modo que un alta posterior con el mismo nombre se guarde.
+     */
+    @Test
+    public void altaRevertidaLiberaLaReservaTest() throws Exception {
+        // Un teléfono más largo que la columna hace fallar el INSERT dentro de la transacción
+        assertThrows(Exception.class,
+                () -> usuarioService.guardarUsuario(crearUsuario("beto-sur", "sur", "9".repeat(300)), new HashSet<>()));
+        assertEquals(0, contarUsuarios(URL_SHARD_1, "beto-sur"));
+        assertNull(shardEnDirectorio("beto-sur"));
+
+        usuarioService.guardarUsuario(crearUsuario("beto-sur", "sur", "3000000000"), new HashSet<>());
+        assertEquals(1, contarUsuarios(URL_SHARD_1, "beto-sur"));
+        assertEquals(Integer.valueOf(1), shardEnDirectorio("beto-sur"));
+    }
+
+    /**
+     * Verifica que un usuario de una institución del shard 0 se guarde y se obtenga ahí.
+     */
+    @Test
+    public void altaEnElShardCeroTest() throws Exception {
+        usuarioService.guardarUsuario(crearUsuario("carla-norte", "norte", "3000000000"), new HashSet<>());
+
+        assertEquals(1, contarUsuarios(URL_SHARD_0, "carla-norte"));
+        assertEquals(0, contarUsuarios(URL_SHARD_1, "carla-norte"));
+        assertEquals(Integer.valueOf(0), shardEnDirectorio("carla-norte"));
+        assertEquals("norte", usuarioService.obtenerUsuario("carla-norte").getInstitucion());
+    }
+
+    /**
+     * Verifica que el listado fusione los usuarios de ambos shards en orden y que cada página
+     * cargue los usuarios con sus roles en una sola consulta, sin una consulta de roles por usuario.
+     */
+    @Test
+    public void listadoSinNMasUnoTest() throws Exception {
+        List<String> nuevos = List.of("lista-a-norte", "lista-b-sur", "lista-c-norte", "lista-d-sur", "lista-e-sur");
+        for (String username : nuevos) {
+            usuarioService.guardarUsuario(crearUsuario(username, username.endsWith("sur") ? "sur" : "norte", "3000000000"),
+                    new HashSet<>());
+        }
+
+        List<String> listados = new ArrayList<>();
+        PerfilSolicitud perfil = perfiladorSql.medir("listarUsuarios",
+                () -> usuarioService.listarUsuarios().forEach(usuario -> listados.add(usuario.getUsername())));
+
+        assertEquals(nuevos, listados.stream().filter(username -> username.startsWith("lista-")).toList());
+        // Una página por shard: sus nombres de usuario y luego esos usuarios con sus roles
+        afirmarSql(perfil).ejecutaComoMaximo(4).sinNMasUno();
+    }
+
+    /**
+     * Verifica que el identificador global de un usuario lleve el shard donde está guardado, de
+     * modo que dos usuarios con el mismo identificador local en shards distintos no se confundan.
+     */
+    @Test
+    public void identificadorGlobalPorShardTest() throws Exception {
+        usuarioService.guardarUsuario(crearUsuario("gil-norte", "norte", "3000000000"), new HashSet<>());
+        usuarioService.guardarUsuario(crearUsuario("gil-sur", "sur", "3000000000"), new HashSet<>());
+
+        Usuario norte = usuarioService.obtenerUsuario("gil-norte");
+        Usuario sur = usuarioService.obtenerUsuario("gil-sur");
+
+        assertEquals(0, IdentificadorGlobal.shard(norte.getIdGlobal()));
+        assertEquals(1, IdentificadorGlobal.shard(sur.getIdGlobal()));
+        assertEquals((long) norte.getId(), (long) norte.getIdGlobal());
+        assertEquals((long) sur.getId(), IdentificadorGlobal.idLocal(sur.getIdGlobal()));
+        assertNotEquals(norte.getIdGlobal(), sur.getIdGlobal());
+        assertNotEquals(IdentificadorGlobal.componer(0, sur.getId()), (long) sur.getIdGlobal());
+    }
+
+    private Usuario crearUsuario(String username, String institucion, String telefono) {
+        Usuario usuario = new Usuario();
+        usuario.setUsername(username);
+        usuario.setPassword("123456");
+        usuario.setNombre("Nombre");
+        usuario.setTelefono(telefono);
+        usuario.setInstitucion(institucion);
+        return usuario;
+    }
+
+    private int contarUsuarios(String url, String username) {
+        return conectar(url).queryForObject("SELECT COUNT(*) FROM usuarios WHERE username = ?", Integer.class, username);
+    }
+
+    private Integer shardEnDirectorio(String username) {
+        return conectar(URL_SHARD_0).query("SELECT shard FROM directorio_usuarios WHERE username = ?",
+                rs -> rs.next() ? rs.getInt(1) : null, username);
+    }
+
+    private JdbcTemplate conectar(String url) {
+        JdbcDataSource h2 = new JdbcDataSource();
+        h2.setURL(url);
+        h2.setUser("sa");
+        return new JdbcTemplate(h2);
+    }
+}
@@ -1,16 +1,30 @@
 package com.sistema.examenes.servicios;
 
+import com.sistema.examenes.auditoria.AuditoriaUsuarios;
+import com.sistema.examenes.auditoria.OperacionAuditoria;
+import com.sistema.examenes.modelos.ActualizacionUsuario;
 import com.sistema.examenes.modelos.Rol;
 import com.sistema.examenes.modelos.Usuario;
+import com.sistema.examenes.modelos.EventoOutbox;
+import com.sistema.examenes.modelos.TipoEventoUsuario;
 import com.sistema.examenes.modelos.UsuarioRol;
+import com.sistema.examenes.repositorios.EventoOutboxRepository;
 import com.sistema.examenes.repositorios.RolRepository;
 import com.sistema.examenes.repositorios.UsuarioRepository;
 import com.sistema.examenes.servicios.impl.UsuarioServiceImpl;
+import com.sistema.examenes.sharding.EnrutadorShards;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.dao.IncorrectUpdateSemanticsDataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -37,6 +51,15 @@ public class UsuarioServiceTest {
     @Mock
     private RolRepository rolRepository;
 
+    @Mock
+    private EventoOutboxRepository eventoOutboxRepository;
+
+    @Mock
+    private EnrutadorShards enrutadorShards;
+
+    @Mock
+    private AuditoriaUsuarios auditoriaUsuarios;
+
     @InjectMocks
     private UsuarioServiceImpl usuarioService;
 
@@ -56,6 +79,8 @@ public class UsuarioServiceTest {
     @BeforeEach
     public void setUp() {
         MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(usuarioService, "transactionTemplate", new TransactionTemplate(mock(PlatformTransactionManager.class)));
+        when(enrutadorShards.reservar(anyString(), anyInt())).thenReturn(true);
 
         // Crear e inicializar un usuario con valores de prueba
         usuario = new Usuario();
@@ -107,6 +132,41 @@ public class UsuarioServiceTest {
         // Verificar las interacciones con los repositorios
         verify(rolRepository, times(1)).save(any());
         verify(usuarioRepository, times(1)).save(usuario);
+        verify(eventoOutboxRepository, times(1)).save(argThat((EventoOutbox evento) ->
+                evento.getTipo() == TipoEventoUsuario.USUARIO_CREADO && "usuarioprueba".equals(evento.getUsername())));
+        verify(auditoriaUsuarios).registrar(OperacionAuditoria.GUARDAR, "usuarioprueba", true);
+        verify(enrutadorShards).registrar("usuarioprueba", 0);
+    }
+
+    /**
+     * Verifica que no se guarde un usuario cuyo nombre ya está reservado en el directorio de
+     * shards, y que el intento fallido quede auditado.
+     */
+    @Test
+    public void guardarUsuarioReservadoEnOtroShardTest() {
+        when(enrutadorShards.reservar("usuarioprueba", 0)).thenReturn(false);
+
+        assertThrows(Exception.class, () -> usuarioService.guardarUsuario(usuario, usuarioRoles));
+
+        verify(usuarioRepository, never()).save(any());
+        verify(enrutadorShards, never()).registrar(any(), anyInt());
+        verify(auditoriaUsuarios).registrar(OperacionAuditoria.GUARDAR, "usuarioprueba", false);
+    }
+
+    /**
+     * Verifica que, si el guardado falla dentro de la transacción, se libere la reserva del nombre
+     * de usuario y el intento quede auditado como fallido.
+     */
+    @Test
+    public void guardarUsuarioFallidoLiberaReservaTest() {
+        when(usuarioRepository.save(any(Usuario.class))).thenThrow(new IllegalStateException("Fallo de prueba"));
+
+        assertThrows(IllegalStateException.class, () -> usuarioService.guardarUsuario(usuario, usuarioRoles));
+
+        verify(enrutadorShards).olvidar("usuarioprueba", 0);
+        verify(enrutadorShards, never()).registrar(any(), anyInt());
+        verify(auditoriaUsuarios).registrar(OperacionAuditoria.GUARDAR, "usuarioprueba", false);
+        verify(auditoriaUsuarios, never()).registrar(OperacionAuditoria.GUARDAR, "usuarioprueba", true);
     }
 
     /**
@@ -131,6 +191,7 @@ public class UsuarioServiceTest {
 
         // Verificar las interacciones con el repositorio
         verify(usuarioRepository, times(1)).findByUsername(usuario.getUsername());
+        verify(auditoriaUsuarios).registrar(OperacionAuditoria.OBTENER, "usuarioprueba", true);
     }
 
     /**
@@ -161,6 +222,83 @@ public class UsuarioServiceTest {
 
         // Verificar que el repositorio de usuarios ha llamado al método delete con el usuario
         verify(usuarioRepository, times(1)).delete(usuario);
+        verify(eventoOutboxRepository, times(1)).save(argThat((EventoOutbox evento) ->
+                evento.getTipo() == TipoEventoUsuario.USUARIO_ELIMINADO && "usuarioprueba".equals(evento.getUsername())));
+        verify(auditoriaUsuarios).registrar(OperacionAuditoria.ELIMINAR, "usuarioprueba", true);
+        verify(enrutadorShards).olvidar("usuarioprueba", 0);
     }
-}
 
+    /**
+     * Verifica que la actualización parcial se delegue en una única sentencia del repositorio, sin
+     * cargar al usuario, y que devuelva la versión siguiente.
+     */
+    @Test
+    public void actualizarUsuarioTest() {
+        ActualizacionUsuario cambios = ActualizacionUsuario.builder().telefono("3001234567").version(3L).build();
+        when(usuarioRepository.actualizarParcial("usuarioprueba", cambios)).thenReturn(1);
+
+        Long version = usuarioService.actualizarUsuario("usuarioprueba", cambios);
+
+        assertEquals(4L, version);
+        verify(usuarioRepository, never()).findByUsername(any());
+        verify(usuarioRepository, never()).existsByUsername(any());
+        verify(auditoriaUsuarios).registrar(OperacionAuditoria.ACTUALIZAR, "usuarioprueba", true);
+    }
+
+    /**
+     * Verifica que una versión desactualizada produzca un conflicto y que un usuario inexistente
+     * devuelva {@code null}.
+     */
+    @Test
+    public void actualizarUsuarioConVersionDesactualizadaTest() {
+        ActualizacionUsuario cambios = ActualizacionUsuario.builder().nombre("Otro").version(1L).build();
+        when(usuarioRepository.actualizarParcial(any(), eq(cambios))).thenReturn(0);
+        when(usuarioRepository.existsByUsername("usuarioprueba")).thenReturn(true);
+
+        assertThrows(OptimisticLockingFailureException.class,
+                () -> usuarioService.actualizarUsuario("usuarioprueba", cambios));
+        assertNull(usuarioService.actualizarUsuario("inexistente", cambios));
+        assertThrows(IllegalArgumentException.class,
+                () -> usuarioService.actualizarUsuario("usuarioprueba", ActualizacionUsuario.builder().version(1L).build()));
+        verify(auditoriaUsuarios).registrar(OperacionAuditoria.ACTUALIZAR, "usuarioprueba", false);
+    }
+
+    /**
+     * Verifica que una actualización que afecta a más de una fila falle, para que la transacción se
+     * revierta, y quede auditada como fallida.
+     */
+    @Test
+    public void actualizarUsuarioConVariasFilasTest() {
+        ActualizacionUsuario cambios = ActualizacionUsuario.builder().telefono("3001234567").version(3L).build();
+        when(usuarioRepository.actualizarParcial("usuarioprueba", cambios)).thenReturn(2);
+
+        assertThrows(IncorrectUpdateSemanticsDataAccessException.class,
+                () -> usuarioService.actualizarUsuario("usuarioprueba", cambios));
+        verify(auditoriaUsuarios).registrar(OperacionAuditoria.ACTUALIZAR, "usuarioprueba", false);
+        verify(auditoriaUsuarios, never()).registrar(OperacionAuditoria.ACTUALIZAR, "usuarioprueba", true);
+    }
+
+    /**
+     * Verifica que la baja se audite al terminar la transacción y no antes: si la transacción se
+     * revierte después de ejecutar el método, la auditoría la registra como fallida y el usuario
+     * sigue en el directorio.
+     */
+    @Test
+    public void eliminarUsuarioRevertidoTest() {
+        when(usuarioRepository.findByUsername(usuario.getUsername())).thenReturn(usuario);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            usuarioService.eliminarUsuario(usuario.getUsername());
+            verify(auditoriaUsuarios, never()).registrar(any(), any(), anyBoolean());
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sincronizacion -> sincronizacion.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(auditoriaUsuarios).registrar(OperacionAuditoria.ELIMINAR, "usuarioprueba", false);
+        verify(enrutadorShards, never()).olvidar(any(), anyInt());
+    }
+}
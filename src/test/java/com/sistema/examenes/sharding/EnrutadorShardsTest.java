@@ -0,0 +1,307 @@
+package com.sistema.examenes.sharding;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Clase de prueba para la fragmentación de usuarios, usando tres bases de datos H2 en memoria como
+ * shards.
+ *
+ * Verifica que {@link DataSourceEnrutado} dirige cada operación al shard de {@link ContextoShard},
+ * que {@link EnrutadorShards} resuelve y reserva nombres de usuario solo con el pool del
+ * directorio, sin consultar los shards, que el listado entre shards se fusiona en orden y que los
+ * pools se cierran con {@link DataSourcesShards}.
+ *
+ * @author Jairo Bastidas
+ * @since 19/10/2026
+ */
+public class EnrutadorShardsTest {
+
+    private static final int SHARDS = 3;
+
+    private final List<DataSourceContado> dataSources = new ArrayList<>();
+    private DataSourceContado directorio;
+    private JdbcTemplate enrutado;
+    private EnrutadorShards enrutadorShards;
+
+    /**
+     * Crea los shards, la tabla {@code usuarios} en cada uno a través del data source enrutado, el
+     * directorio en el shard 0 con un data source propio y un enrutador con la institución
+     * "central" asignada explícitamente al shard 2.
+     */
+    @BeforeEach
+    public void setUp() {
+        String prueba = UUID.randomUUID().toString();
+        for (int i = 0; i < SHARDS; i++) {
+            JdbcDataSource h2 = new JdbcDataSource();
+            h2.setURL("jdbc:h2:mem:shard" + i + "-" + prueba + ";DB_CLOSE_DELAY=-1");
+            dataSources.add(new DataSourceContado(h2));
+        }
+        enrutado = new JdbcTemplate(ShardingConfig.crearDataSourceEnrutado(new ArrayList<>(dataSources)));
+        for (int i = 0; i < SHARDS; i++) {
+            ContextoShard.ejecutarEn(i, () -> {
+                enrutado.execute("CREATE TABLE usuarios (id BIGINT AUTO_INCREMENT PRIMARY KEY, username VARCHAR(255), institucion VARCHAR(255))");
+                return null;
+            });
+        }
+
+        JdbcDataSource h2Directorio = new JdbcDataSource();
+        h2Directorio.setURL("jdbc:h2:mem:shard0-" + prueba + ";DB_CLOSE_DELAY=-1");
+        directorio = new DataSourceContado(h2Directorio);
+        new JdbcTemplate(directorio).execute("CREATE TABLE directorio_usuarios (username VARCHAR(255) PRIMARY KEY, shard INT NOT NULL, fecha_reserva TIMESTAMP(6) NOT NULL)");
+
+        PropiedadesSharding propiedades = new PropiedadesSharding();
+        propiedades.setHabilitado(true);
+        propiedades.setInstituciones(Map.of("central", 2));
+        propiedades.getDirectorio().setTamanoCache(10);
+
+        enrutadorShards = new EnrutadorShards();
+        ReflectionTestUtils.setField(enrutadorShards, "dataSourcesShards", new DataSourcesShards(new ArrayList<>(dataSources), directorio));
+        ReflectionTestUtils.setField(enrutadorShards, "propiedades", propiedades);
+        enrutadorShards.inicializar();
+    }
+
+    /**
+     * Verifica que una fila insertada a través del data source enrutado queda solo en su shard.
+     */
+    @Test
+    public void enrutamientoTest() {
+        insertar(1, "ana", "norte");
+
+        assertEquals(0, contar(0));
+        assertEquals(1, contar(1));
+        assertEquals(0, contar(2));
+    }
+
+    /**
+     * Verifica que establecer un shard dentro de una operación ya dirigida a otro restaure el
+     * shard exterior al terminar, en lugar de dejar el hilo sin shard.
+     */
+    @Test
+    public void contextoAnidadoTest() {
+        ContextoShard.ejecutarEn(2, () -> {
+            Integer anterior = ContextoShard.establecer(1);
+            try {
+                assertEquals(1, ContextoShard.actual());
+            } finally {
+                ContextoShard.restaurar(anterior);
+            }
+            assertEquals(2, ContextoShard.actual());
+            return null;
+        });
+        assertNull(ContextoShard.actual());
+    }
+
+    /**
+     * Verifica la asignación de instituciones a shards: explícita o por hash, siempre en rango.
+     */
+    @Test
+    public void shardDeInstitucionTest() {
+        assertEquals(SHARDS, enrutadorShards.getNumeroShards());
+        assertEquals(2, enrutadorShards.shardDeInstitucion("central"));
+        assertEquals(0, enrutadorShards.shardDeInstitucion(null));
+
+        int shard = enrutadorShards.shardDeInstitucion("universidad-del-sur");
+        assertTrue(shard >= 0 && shard < SHARDS);
+        assertEquals(shard, enrutadorShards.shardDeInstitucion("universidad-del-sur"));
+    }
+
+    /**
+     * Verifica que la reserva de un nombre de usuario sea única entre shards, que la búsqueda de un
+     * usuario consulte solo el directorio y, una vez en caché, nada, y que olvidar al usuario libere
+     * el nombre.
+     */
+    @Test
+    public void directorioTest() {
+        assertTrue(enrutadorShards.reservar("ana", 0));
+        assertTrue(enrutadorShards.reservar("beto", 1));
+        assertFalse(enrutadorShards.reservar("ana", 2));
+        assertEquals(0, conexiones());
+
+        // Un usuario reservado por otra instancia de la aplicación se resuelve desde el directorio
+        directorio.reiniciar();
+        assertEquals(1, enrutadorShards.shardDeUsername("beto"));
+        assertEquals(1, directorio.getConexiones());
+        assertEquals(1, enrutadorShards.shardDeUsername("beto"));
+        assertEquals(1, directorio.getConexiones());
+
+        assertEquals(EnrutadorShards.SIN_SHARD, enrutadorShards.shardDeUsername("nadie"));
+        assertEquals(Map.of("ana", 0, "beto", 1), enrutadorShards.shardsDeUsernames(List.of("ana", "beto", "nadie")));
+
+        enrutadorShards.olvidar("ana", 0);
+        assertEquals(EnrutadorShards.SIN_SHARD, enrutadorShards.shardDeUsername("ana"));
+        assertTrue(enrutadorShards.reservar("ana", 2));
+        assertEquals(0, conexiones());
+    }
+
+    /**
+     * Verifica que una reserva vencida cuyo usuario no existe en su shard se reutilice, y que una
+     * reserva vencida de un usuario existente no.
+     */
+    @Test
+    public void reservaAbandonadaTest() {
+        assertTrue(enrutadorShards.reservar("ana", 0));
+        assertTrue(enrutadorShards.reservar("beto", 1));
+        insertar(1, "beto", "sur");
+        new JdbcTemplate(directorio).update("UPDATE directorio_usuarios SET fecha_reserva = ?",
+                Timestamp.valueOf(LocalDateTime.now().minusHours(1)));
+
+        assertTrue(enrutadorShards.reservar("ana", 2));
+        assertEquals(2, enrutadorShards.shardDeUsername("ana"));
+        assertFalse(enrutadorShards.reservar("beto", 2));
+        assertEquals(1, enrutadorShards.shardDeUsername("beto"));
+    }
+
+    /**
+     * Verifica que la reconstrucción agregue al directorio los usuarios que no estaban en él y que
+     * la caché no supere su tamaño máximo.
+     */
+    @Test
+    public void reconstruirDirectorioTest() {
+        assertTrue(enrutadorShards.reservar("ana", 0));
+        insertar(0, "ana", "norte");
+        for (int i = 0; i < 30; i++) {
+            insertar(i % SHARDS, "usuario" + i, "institucion" + i);
+        }
+
+        assertEquals(30, enrutadorShards.reconstruirDirectorio());
+        assertEquals(0, enrutadorShards.reconstruirDirectorio());
+        for (int i = 0; i < 30; i++) {
+            assertEquals(i % SHARDS, enrutadorShards.shardDeUsername("usuario" + i));
+        }
+        assertTrue(enrutadorShards.getTamanoCache() <= 10);
+    }
+
+    /**
+     * Verifica que el listado entre shards, leído por páginas de dos usuarios, devuelve todos los
+     * usuarios en orden alfabético.
+     */
+    @Test
+    public void listadoFusionadoTest() {
+        String[][] usuariosPorShard = {
+                {"ana", "dora", "gael", "ivan"},
+                {"beto", "elsa"},
+                {"carla", "fede", "hugo", "jose", "karen"}
+        };
+        List<String> esperados = new ArrayList<>();
+        for (int shard = 0; shard < SHARDS; shard++) {
+            for (String username : usuariosPorShard[shard]) {
+                insertar(shard, username, "institucion" + shard);
+                esperados.add(username);
+            }
+        }
+        esperados.sort(String::compareTo);
+
+        List<Iterator<String>> fuentes = new ArrayList<>();
+        for (int shard = 0; shard < SHARDS; shard++) {
+            fuentes.add(new PaginadorShard<String, String>(shard, "",
+                    (ultimo, tamano) -> enrutado.queryForList(
+                            "SELECT username FROM usuarios WHERE username > ? ORDER BY username LIMIT ?",
+                            String.class, ultimo, tamano),
+                    username -> username, 2));
+        }
+
+        List<String> listados = FusionOrdenada.fusionar(fuentes, String::compareTo).collect(Collectors.toList());
+        assertEquals(esperados, listados);
+    }
+
+    /**
+     * Verifica que el listado por claves avance según las claves leídas: si los elementos de una
+     * página completa se eliminaron entre la lectura de sus claves y su carga, el recorrido sigue
+     * con la página siguiente.
+     */
+    @Test
+    public void listadoPorClavesTest() {
+        for (String username : List.of("ana", "beto", "carla", "dora", "elsa", "fede")) {
+            insertar(0, username, "institucion0");
+        }
+        Set<String> eliminados = Set.of("carla", "dora");
+
+        Iterator<String> paginador = PaginadorShard.<String, String>porClaves(0, "",
+                (ultimo, tamano) -> enrutado.queryForList(
+                        "SELECT username FROM usuarios WHERE username > ? ORDER BY username LIMIT ?",
+                        String.class, ultimo, tamano),
+                claves -> claves.stream().filter(username -> !eliminados.contains(username)).toList(), 2);
+
+        List<String> listados = new ArrayList<>();
+        paginador.forEachRemaining(listados::add);
+        assertEquals(List.of("ana", "beto", "elsa", "fede"), listados);
+    }
+
+    /**
+     * Verifica que cerrar {@link DataSourcesShards} cierre los pools de los shards y del directorio.
+     */
+    @Test
+    public void cierreDeLosPoolsTest() {
+        List<HikariDataSource> pools = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            HikariDataSource pool = new HikariDataSource();
+            pool.setJdbcUrl("jdbc:h2:mem:pool" + i + "-" + UUID.randomUUID());
+            pools.add(pool);
+        }
+
+        new DataSourcesShards(List.of(pools.get(0), pools.get(1)), pools.get(2)).close();
+
+        assertTrue(pools.stream().allMatch(HikariDataSource::isClosed));
+    }
+
+    private void insertar(int shard, String username, String institucion) {
+        ContextoShard.ejecutarEn(shard, () -> enrutado.update(
+                "INSERT INTO usuarios (username, institucion) VALUES (?, ?)", username, institucion));
+    }
+
+    private int contar(int shard) {
+        return new JdbcTemplate(dataSources.get(shard)).queryForObject("SELECT COUNT(*) FROM usuarios", Integer.class);
+    }
+
+    private int conexiones() {
+        return dataSources.stream().mapToInt(DataSourceContado::getConexiones).sum();
+    }
+
+    /**
+     * Data source que cuenta las conexiones abiertas, para verificar a qué shards se consultó.
+     */
+    private static final class DataSourceContado extends DelegatingDataSource {
+
+        private final AtomicInteger conexiones = new AtomicInteger();
+
+        private DataSourceContado(DataSource destino) {
+            super(destino);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            conexiones.incrementAndGet();
+            return super.getConnection();
+        }
+
+        private int getConexiones() {
+            return conexiones.get();
+        }
+
+        private void reiniciar() {
+            conexiones.set(0);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+-- Esquema de las tablas de usuarios para los shards de prueba distintos del shard 0, sobre los
+-- que spring.jpa.hibernate.ddl-auto no actúa. Se ejecuta en cada conexión (INIT de H2), por eso
+-- cada sentencia es idempotente.
+CREATE TABLE IF NOT EXISTS usuarios (
+    id          BIGINT NOT NULL AUTO_INCREMENT,
+    username    VARCHAR(255),
+    password    VARCHAR(255),
+    nombre      VARCHAR(255),
+    apellido    VARCHAR(255),
+    telefono    VARCHAR(255),
+    enable      BIT,
+    perfil      VARCHAR(255),
+    institucion VARCHAR(255),
+    version     BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_usuarios_username UNIQUE (username)
+);
+
+CREATE TABLE IF NOT EXISTS roles (
+    rol_id BIGINT NOT NULL,
+    nombre VARCHAR(255),
+    PRIMARY KEY (rol_id)
+);
+
+CREATE TABLE IF NOT EXISTS usuario_rol (
+    usuario_rol_id BIGINT NOT NULL AUTO_INCREMENT,
+    usuario_id     BIGINT,
+    rol_rol_id     BIGINT,
+    PRIMARY KEY (usuario_rol_id),
+    CONSTRAINT uk_usuario_rol_usuario_rol UNIQUE (usuario_id, rol_rol_id),
+    CONSTRAINT fk_usuario_rol_usuario FOREIGN KEY (usuario_id) REFERENCES usuarios (id),
+    CONSTRAINT fk_usuario_rol_rol FOREIGN KEY (rol_rol_id) REFERENCES roles (rol_id)
+);
+
+CREATE TABLE IF NOT EXISTS outbox_eventos (
+    id             BIGINT NOT NULL AUTO_INCREMENT,
+    tipo           VARCHAR(40) NOT NULL,
+    usuario_id     BIGINT,
+    username       VARCHAR(255),
+    fecha_creacion DATETIME(6),
+    enviado        BIT,
+    fecha_envio    DATETIME(6),
+    reclamo        VARCHAR(36),
+    reclamo_hasta  DATETIME(6),
+    PRIMARY KEY (id)
+);